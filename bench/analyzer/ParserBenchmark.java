@@ -0,0 +1,228 @@
+package analyzer;
+
+import common.Log;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for Parser.statistic on a synthetic GameController log. The
+ * statistics are written into a writer that discards them. The baseline is a
+ * copy of Parser.statistic before its matchers were precompiled, i.e. with a
+ * SimpleDateFormat and a linear search over the actions per line and a
+ * pattern compiled per line, so the speedup can be measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    private static final String OUT_SEP = ",";
+
+    private static final SimpleDateFormat baselineTimeFormat = new SimpleDateFormat("yyyy-MM-dd kk:mm:ss");
+
+    private static final ThreadLocal<SimpleDateFormat> baselineTimestampFormat =
+            ThreadLocal.withInitial(() -> (SimpleDateFormat) Log.timestampFormat.clone());
+
+    /**
+     * The actions of Parser.statistic.
+     */
+    private static final String[] baselineActions = {
+        "Global Game Stuck",
+        "Goal Kick for",
+        "Pushing Free Kick for",
+        "Corner Kick for",
+        "Kick In for",
+        "Penalty Kick for",
+        "Goal Kick Complete",
+        "Pushing Free Kick Complete",
+        "Corner Kick Complete",
+        "Kick In Complete",
+        "Penalty Kick Complete",
+        "Goal for",
+        "Goal decrease for",
+        "Referee Timeout",
+        "Timeout",
+        "Illegal Ball Contact",
+        "Player Pushing",
+        "Illegal Motion in Set",
+        "Inactive Player",
+        "Illegal Position",
+        "Leaving the Field",
+        "Request for PickUp",
+        "Local Game Stuck",
+        "Unpenalised",
+        "Substituted",
+        "Finished",
+        "Initial",
+        "Playing",
+        "Ready",
+        "Set",
+        "Message Budget Exceeded by",
+    };
+
+    private static final String[] ACTIONS = {
+        "Ready", "Set", "Playing", "Goal for black", "Goal for blue",
+        "Player Pushing black %d", "Illegal Ball Contact blue %d",
+        "Inactive Player black %d", "Leaving the Field blue %d",
+        "Request for PickUp black %d", "Unpenalised black %d", "Unpenalised blue %d",
+        "Substituted black %d by 6", "Kick In for blue", "Kick In Complete",
+        "Corner Kick for black", "Corner Kick Complete", "Global Game Stuck",
+        "Timeout blue", "Referee Timeout", "Dropped Ball", "2nd Half", "Finished"
+    };
+
+    /**
+     * Number of lines of the synthetic log.
+     */
+    @Param("100000")
+    public int lines;
+
+    private File file;
+    private LogInfo log;
+
+    @Setup
+    public void setup() throws IOException {
+        file = File.createTempFile("benchmark", ".txt");
+        final Random random = new Random(0);
+        long time = System.currentTimeMillis();
+        try (final PrintWriter out = new PrintWriter(file, "UTF-8")) {
+            out.println(Log.timestampFormat.format(new Date(time)) + ": GameController");
+            out.println(Log.timestampFormat.format(new Date(time)) + ": League = SPL");
+            out.println(Log.timestampFormat.format(new Date(time)) + ": B-Human (black) vs HULKs (blue)");
+            for (int i = 3; i < lines; i++) {
+                time += random.nextInt(3) * 1000;
+                out.println(Log.timestampFormat.format(new Date(time)) + ": " + String.format(ACTIONS[random.nextInt(ACTIONS.length)], 1 + random.nextInt(5)));
+            }
+        }
+        log = new LogInfo(file);
+        LogAnalyzer.writer = new BufferedWriter(new Writer() {
+            @Override
+            public void write(final char[] cbuf, final int off, final int len) {
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public void statistic() {
+        Parser.statistic(log);
+    }
+
+    @Benchmark
+    public void baseline() {
+        baselineStatistic(log);
+    }
+
+    /**
+     * Parser.statistic as it was before its matchers were precompiled.
+     *
+     * @param log the log to write the statistics of
+     */
+    private static void baselineStatistic(final LogInfo log) {
+        Date rawTime;
+        String time;
+        String raw, action = "";
+        String team;
+        String player;
+        String substitute;
+        String[] teams = new String[2];
+        if (log.team.length >= 2) {
+            teams[0] = log.team[0];
+            teams[1] = log.team[1];
+        } else {
+            teams[0] = "unknown";
+            teams[1] = "unknown";
+        }
+        int i = 0;
+        for (String line : log.lines) {
+            i++;
+            if (log.undone.get(i - 1)) {
+                continue;
+            }
+            int divPos = line.indexOf(": ") + 2;
+            try {
+                rawTime = baselineTimestampFormat.get().parse(line.substring(0, divPos - 2));
+            } catch (ParseException e) {
+                Log.error("Cannot parse time in line " + i + " of " + log.file);
+                return;
+            }
+            raw = line.substring(divPos);
+
+            time = baselineTimeFormat.format(rawTime);
+
+            boolean actionMatch = false;
+            for (String a : baselineActions) {
+                if (raw.startsWith(a)) {
+                    action = a;
+                    actionMatch = true;
+                    break;
+                }
+            }
+            if (!actionMatch) {
+                continue;
+            }
+
+            if (raw.contains(log.color[0])) {
+                team = teams[0];
+            } else if (raw.contains(log.color[1])) {
+                team = teams[1];
+            } else {
+                team = "";
+            }
+
+            player = "";
+            substitute = "";
+            String pattern = "(" + log.color[0] + "|" + log.color[1] + ")\\s*(\\d+)\\s*(by.*)?$";
+            Matcher matcher = Pattern.compile(pattern).matcher(raw);
+            if (matcher.find()) {
+                if (matcher.groupCount() >= 2) {
+                    player = matcher.group(2);
+                }
+                if (action.equals("Substituted") && matcher.groupCount() >= 3) {
+                    substitute = matcher.group(3).replaceAll("[^\\d.]", "");
+                }
+            }
+            try {
+                LogAnalyzer.writer.write(time + OUT_SEP + action + OUT_SEP + team + OUT_SEP + player + OUT_SEP + substitute + OUT_SEP + teams[0] + OUT_SEP + teams[1] + "\n");
+            } catch (IOException e) {
+                Log.error("cannot write to file " + LogAnalyzer.stats);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package common.net.logging;
+
+import common.net.GameControlReturnDataPackage;
+import common.net.SPLStandardMessagePackage;
+import data.GameControlData;
+import data.Packets;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for logging each type of record the TeamCommunicationMonitor
+ * writes. Every iteration logs into a new file, which is deleted afterwards.
+ * Each record is decoded into a new object as in the TCM, because the
+ * ObjectOutputStream only writes a reference for objects it has already
+ * written.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerBenchmark {
+
+    private static final String LOG_NAME = "benchmark";
+
+    private final Logger logger = Logger.getInstance();
+    private byte[] splStandardMessage;
+    private byte[] gameControlReturnData;
+    private byte[] gameControlData;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0);
+        splStandardMessage = Packets.splStandardMessage(5, 3, null, random);
+        gameControlReturnData = Packets.gameControlReturnData(5, 3, random);
+        gameControlData = Packets.gameControlData(5, 24).toByteArray().array();
+    }
+
+    @Setup(Level.Iteration)
+    public void createLogfile() {
+        logger.createLogfile(LOG_NAME);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteLogfile() {
+        logger.closeLogfile();
+        final File[] files = new File("logs_teamcomm").listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                if (file.getName().endsWith("_" + LOG_NAME + ".log")) {
+                    file.delete();
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void logSPLStandardMessage() {
+        logger.log(new SPLStandardMessagePackage("10.0.5.3", 5, splStandardMessage.clone()));
+    }
+
+    @Benchmark
+    public void logGameControlReturnData() {
+        logger.log(new GameControlReturnDataPackage("10.0.5.3", gameControlReturnData.clone()));
+    }
+
+    @Benchmark
+    public void logGameControlData() {
+        final GameControlData data = new GameControlData();
+        data.fromByteArray(ByteBuffer.wrap(gameControlData));
+        logger.log(data);
+    }
+
+    @Benchmark
+    public void logGameControlDataTimeout() {
+        logger.log(GameControlData.class, null);
+    }
+}
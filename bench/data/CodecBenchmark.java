@@ -0,0 +1,74 @@
+package data;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for encoding and decoding the packets exchanged between the
+ * GameController, the robots and the TeamCommunicationMonitor.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    private AdvancedData gameControlData;
+    private byte[] rawGameControlData;
+    private byte[] rawSPLStandardMessage;
+    private byte[] rawGameControlReturnData;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0);
+        gameControlData = Packets.gameControlData(5, 24);
+        rawGameControlData = gameControlData.toByteArray().array();
+        rawSPLStandardMessage = Packets.splStandardMessage(5, 3, null, random);
+        rawGameControlReturnData = Packets.gameControlReturnData(5, 3, random);
+    }
+
+    @Benchmark
+    public ByteBuffer gameControlDataToByteArray() {
+        return gameControlData.toByteArray();
+    }
+
+    @Benchmark
+    public GameControlData gameControlDataFromByteArray() {
+        final GameControlData data = new GameControlData();
+        data.fromByteArray(ByteBuffer.wrap(rawGameControlData));
+        return data;
+    }
+
+    @Benchmark
+    public SPLStandardMessage splStandardMessageFromByteArray() {
+        final SPLStandardMessage message = new SPLStandardMessage();
+        message.fromByteArray(ByteBuffer.wrap(rawSPLStandardMessage));
+        return message;
+    }
+
+    @Benchmark
+    public GameControlReturnData gameControlReturnDataFromByteArray() {
+        final GameControlReturnData data = new GameControlReturnData();
+        data.fromByteArray(ByteBuffer.wrap(rawGameControlReturnData));
+        return data;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object advancedDataClone() {
+        return gameControlData.clone();
+    }
+}
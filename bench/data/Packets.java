@@ -0,0 +1,84 @@
+package data;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+/**
+ * Creates well-formed raw packets for the benchmarks.
+ */
+public class Packets {
+
+    private Packets() {
+    }
+
+    /**
+     * Creates an SPLStandardMessage.
+     *
+     * @param team team number
+     * @param player player number
+     * @param payload custom data or null for random data of random length
+     * @param random source of the random values
+     * @return the raw message
+     */
+    public static byte[] splStandardMessage(final int team, final int player, final byte[] payload, final Random random) {
+        final SPLStandardMessage message = new SPLStandardMessage();
+        message.header = SPLStandardMessage.SPL_STANDARD_MESSAGE_STRUCT_HEADER;
+        message.version = SPLStandardMessage.SPL_STANDARD_MESSAGE_STRUCT_VERSION;
+        message.playerNum = (byte) player;
+        message.teamNum = (byte) team;
+        message.pose = new float[]{(random.nextFloat() - 0.5f) * 9000, (random.nextFloat() - 0.5f) * 6000, random.nextFloat()};
+        message.ballAge = random.nextFloat();
+        message.ball = new float[]{random.nextFloat() * 1000, random.nextFloat() * 1000};
+        if (payload != null) {
+            message.data = payload;
+        } else {
+            message.data = new byte[random.nextInt(SPLStandardMessage.SPL_STANDARD_MESSAGE_DATA_SIZE + 1)];
+            random.nextBytes(message.data);
+        }
+        return message.toByteArray();
+    }
+
+    /**
+     * Creates GameControlReturnData.
+     *
+     * @param team team number
+     * @param player player number
+     * @param random source of the random values
+     * @return the raw message
+     */
+    public static byte[] gameControlReturnData(final int team, final int player, final Random random) {
+        final ByteBuffer buffer = ByteBuffer.allocate(GameControlReturnData.SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(GameControlReturnData.GAMECONTROLLER_RETURN_STRUCT_HEADER.getBytes());
+        buffer.put(GameControlReturnData.GAMECONTROLLER_RETURN_STRUCT_VERSION);
+        buffer.put((byte) player);
+        buffer.put((byte) team);
+        buffer.put((byte) 0);
+        buffer.putFloat((random.nextFloat() - 0.5f) * 9000);
+        buffer.putFloat((random.nextFloat() - 0.5f) * 6000);
+        buffer.putFloat(random.nextFloat());
+        buffer.putFloat(random.nextFloat());
+        buffer.putFloat(random.nextFloat() * 1000);
+        buffer.putFloat(random.nextFloat() * 1000);
+        return buffer.array();
+    }
+
+    /**
+     * Creates the game state of a running game between two teams.
+     *
+     * @param team0 number of the first team
+     * @param team1 number of the second team
+     * @return the game state
+     */
+    public static AdvancedData gameControlData(final int team0, final int team1) {
+        final AdvancedData data = new AdvancedData();
+        data.team[0].teamNumber = (byte) team0;
+        data.team[1].teamNumber = (byte) team1;
+        data.gameState = GameControlData.STATE_PLAYING;
+        data.team[0].score = 2;
+        data.team[1].score = 1;
+        data.team[1].player[2].penalty = PlayerInfo.PENALTY_SPL_PLAYER_PUSHING;
+        data.team[1].player[2].secsTillUnpenalised = 30;
+        return data;
+    }
+}
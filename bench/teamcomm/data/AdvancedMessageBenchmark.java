@@ -0,0 +1,153 @@
+package teamcomm.data;
+
+import common.net.SPLStandardMessagePackage;
+import data.Packets;
+import data.SPLStandardMessage;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import teamcomm.PluginLoader;
+
+/**
+ * Benchmark for the parsing of the custom data of the plugins of B-Human and
+ * HULKs in AdvancedMessage.init. The messages of the team are either read from
+ * a log file of the TeamCommunicationMonitor or synthetic ones that only
+ * contain the team's standard message struct. The plugins are loaded by the
+ * PluginLoader from the directory plugins in the working directory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdvancedMessageBenchmark {
+
+    private static final int TEAM_BHUMAN = 5;
+
+    /**
+     * Size of the compressed part of the B-Human standard message if all
+     * values in it are zero.
+     */
+    private static final int BHUMAN_COMPRESSED_SIZE = 90;
+
+    /**
+     * Size of the B-HULKs message struct.
+     */
+    private static final int BHULKS_SIZE = 35;
+
+    /**
+     * Size of the HULKs message struct if all values in it are zero.
+     */
+    private static final int HULKS_SIZE = 111;
+
+    /**
+     * Number of the team whose plugin is benchmarked.
+     */
+    @Param({"5", "24"})
+    public int team;
+
+    /**
+     * Path of a log file to take the messages of the team from. If empty,
+     * synthetic messages are used.
+     */
+    @Param("")
+    public String log;
+
+    private AdvancedMessage[] messages;
+    private int next = 0;
+
+    @Setup
+    public void setup() throws Exception {
+        PluginLoader.getInstance().update(team);
+        final Class<? extends SPLStandardMessage> cls = PluginLoader.getInstance().getMessageClass(team);
+        if (!AdvancedMessage.class.isAssignableFrom(cls)) {
+            throw new IllegalStateException("No message plugin for team " + team + " in " + new File("plugins").getAbsolutePath());
+        }
+        final List<byte[]> raw = log.isEmpty() ? synthesizeMessages() : readMessages();
+        if (raw.isEmpty()) {
+            throw new IllegalStateException("No messages of team " + team + " in " + log);
+        }
+
+        messages = new AdvancedMessage[raw.size()];
+        for (int i = 0; i < messages.length; ++i) {
+            messages[i] = (AdvancedMessage) cls.getDeclaredConstructor().newInstance();
+            messages[i].fromByteArray(ByteBuffer.wrap(raw.get(i)));
+        }
+    }
+
+    private List<byte[]> readMessages() throws IOException, ClassNotFoundException {
+        final List<byte[]> raw = new ArrayList<>();
+        try (final ObjectInputStream stream = new ObjectInputStream(new BufferedInputStream(new FileInputStream(log)))) {
+            while (true) {
+                stream.readLong();
+                if (!stream.readBoolean()) {
+                    stream.readInt();
+                    continue;
+                }
+                final Object o = stream.readObject();
+                if (o instanceof SPLStandardMessagePackage && ((SPLStandardMessagePackage) o).team == team
+                        && SPLStandardMessage.isHeaderAndVersionValid(((SPLStandardMessagePackage) o).message)) {
+                    raw.add(((SPLStandardMessagePackage) o).message);
+                }
+            }
+        } catch (EOFException e) {
+            return raw;
+        }
+    }
+
+    private List<byte[]> synthesizeMessages() {
+        final Random random = new Random(0);
+        final List<byte[]> raw = new ArrayList<>();
+        for (int player = 1; player <= 5; player++) {
+            final ByteBuffer payload;
+            if (team == TEAM_BHUMAN) {
+                // Standard message in which all compressed values are zero,
+                // followed by an empty message queue
+                payload = ByteBuffer.allocate(4 + 1 + 12 + BHUMAN_COMPRESSED_SIZE + 4 + 1 + 8).order(ByteOrder.LITTLE_ENDIAN);
+                payload.put("BHUM".getBytes()).put((byte) 15);
+                payload.put((byte) 0).putInt(random.nextInt(100000)).putInt(random.nextInt(100000)).put((byte) 0).putShort((short) BHUMAN_COMPRESSED_SIZE);
+                payload.position(payload.position() + BHUMAN_COMPRESSED_SIZE);
+                payload.put("BHUA".getBytes()).put((byte) 0);
+                payload.putInt(0).putInt(0);
+            } else {
+                // B-HULKs message in which all values are zero, followed by
+                // a HULKs message in which all values are zero
+                payload = ByteBuffer.allocate(4 + 1 + BHULKS_SIZE + HULKS_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                payload.put("BHLK".getBytes()).put((byte) 9);
+                payload.putInt(random.nextInt(100000));
+                payload.put(4 + 1 + BHULKS_SIZE, (byte) 4);
+            }
+            raw.add(Packets.splStandardMessage(team, player, payload.array(), random));
+        }
+        return raw;
+    }
+
+    @Benchmark
+    public AdvancedMessage init() {
+        final AdvancedMessage message = messages[next];
+        next = (next + 1) % messages.length;
+        message.init();
+        return message;
+    }
+}
@@ -0,0 +1,115 @@
+package teamcomm.net.logging;
+
+import common.net.GameControlReturnDataPackage;
+import common.net.SPLStandardMessagePackage;
+import data.GameControlData;
+import data.Packets;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.swing.event.EventListenerList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for reading the records of a log file of the
+ * TeamCommunicationMonitor with LogReplayTask.next. The log file is either
+ * given or a synthetic one of two teams with five robots each.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogReplayTaskBenchmark {
+
+    /**
+     * Path of the log file to read. If empty, a synthetic log is used.
+     */
+    @Param("")
+    public String log;
+
+    /**
+     * Length of the synthetic log in seconds.
+     */
+    @Param("60")
+    public int seconds;
+
+    private File file;
+    private boolean temporary;
+    private final EventListenerList listeners = new EventListenerList();
+
+    @Setup
+    public void setup() throws IOException {
+        if (!log.isEmpty()) {
+            file = new File(log);
+            return;
+        }
+
+        // Every 100 ms, each robot sends an SPLStandardMessage and every
+        // second GameControlReturnData, while the GameController sends
+        // GameControlData twice a second
+        file = File.createTempFile("teamcomm_benchmark", ".log");
+        temporary = true;
+        final Random random = new Random(0);
+        final byte[] gameControlData = Packets.gameControlData(5, 24).toByteArray().array();
+        try (final ObjectOutputStream stream = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            for (long time = 0; time < seconds * 1000L; time += 100) {
+                for (final int team : new int[]{5, 24}) {
+                    for (int player = 1; player <= 5; player++) {
+                        final String host = "10.0." + team + "." + player;
+                        write(stream, time, new SPLStandardMessagePackage(host, team, Packets.splStandardMessage(team, player, null, random)));
+                        if (time % 1000 == 0) {
+                            write(stream, time, new GameControlReturnDataPackage(host, Packets.gameControlReturnData(team, player, random)));
+                        }
+                    }
+                }
+                if (time % 500 == 0) {
+                    final GameControlData data = new GameControlData();
+                    data.fromByteArray(ByteBuffer.wrap(gameControlData));
+                    write(stream, time, data);
+                }
+            }
+        }
+    }
+
+    private static void write(final ObjectOutputStream stream, final long time, final Object object) throws IOException {
+        stream.writeLong(time);
+        stream.writeBoolean(true);
+        stream.writeObject(object);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (temporary) {
+            file.delete();
+        }
+    }
+
+    @Benchmark
+    public int next() throws IOException {
+        final LogReplayTask task = new LogReplayTask(file, listeners);
+        int records = 1;
+        while (task.next()) {
+            ++records;
+        }
+        task.close();
+        return records;
+    }
+}
@@ -0,0 +1,171 @@
+package analyzer;
+
+import common.Log;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the events of all logs parsed once in memory and in a file, so
+ * they do not have to be parsed again when the statistics are updated or
+ * the analyzer is started the next time. An entry
+ * is only used while the size and modification time of its log are
+ * unchanged.
+ */
+public class EventCache
+{
+    /* The file the cache is stored in. */
+    public final static String PATH = LogAnalyzer.PATH + "/events.cache";
+    /* Identifies the format of the file. */
+    private final static int MAGIC = 0x47434556;
+    private final static int VERSION = 1;
+
+    /**
+     * An entry of the cache.
+     */
+    private static class Entry
+    {
+        /* The size of the log file when it was parsed. */
+        long length;
+        /* The modification time of the log file when it was parsed. */
+        long lastModified;
+        /* The events of the log. */
+        EventStore events;
+    }
+
+    /* All entries by the names of their logs. Null until the file was read. */
+    private static Map<String, Entry> entries;
+
+    /**
+     * Returns the events of some logs. Logs which are not in the cache or
+     * which changed are parsed in parallel and added to the cache.
+     *
+     * @param logs  The logs.
+     * @return      The events of the logs in the same order.
+     */
+    public static synchronized EventStore load(List<LogInfo> logs)
+    {
+        if (entries == null) {
+            entries = read();
+        }
+        final Map<String, Entry> parsed = logs.parallelStream()
+                .filter(log -> !isValid(entries.get(log.file.getName()), log.file))
+                .collect(Collectors.toConcurrentMap(log -> log.file.getName(), EventCache::parse));
+        entries.putAll(parsed);
+
+        final EventStore store = new EventStore();
+        for (LogInfo log : logs) {
+            store.addAll(entries.get(log.file.getName()).events);
+        }
+        if (!parsed.isEmpty()) {
+            write();
+        }
+        return store;
+    }
+
+    /**
+     * Parses a log into a new entry.
+     *
+     * @param log   The log.
+     * @return      The entry.
+     */
+    private static Entry parse(LogInfo log)
+    {
+        final Entry entry = new Entry();
+        entry.length = log.file.length();
+        entry.lastModified = log.file.lastModified();
+        entry.events = new EventStore();
+        Parser.events(log, entry.events);
+        return entry;
+    }
+
+    /**
+     * Checks whether an entry is up to date.
+     *
+     * @param entry The entry or null if there is none.
+     * @param file  The log file of the entry.
+     * @return      True, if the entry can be used.
+     */
+    private static boolean isValid(Entry entry, File file)
+    {
+        return entry != null && entry.length == file.length() && entry.lastModified == file.lastModified();
+    }
+
+    /**
+     * Reads all entries from the cache file.
+     *
+     * @return  The entries by the names of their logs. Empty if the file
+     *          does not exist or is broken.
+     */
+    private static Map<String, Entry> read()
+    {
+        final Map<String, Entry> entries = new HashMap<String, Entry>();
+        final File file = new File(PATH);
+        if (!file.isFile()) {
+            return entries;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != getActionsHash()) {
+                return entries;
+            }
+            for (int n = in.readInt(); n > 0; n--) {
+                final Entry entry = new Entry();
+                entry.length = in.readLong();
+                entry.lastModified = in.readLong();
+                entry.events = new EventStore();
+                entry.events.readLog(in);
+                entries.put(entry.events.getLogName(0), entry);
+            }
+        } catch (IOException e) {
+            Log.error("ignoring broken cache " + PATH);
+            entries.clear();
+        }
+        return entries;
+    }
+
+    /**
+     * Writes all entries into the cache file. Entries of logs which do not
+     * exist anymore are dropped.
+     */
+    private static void write()
+    {
+        entries.keySet().removeIf(name -> !new File(LogAnalyzer.PATH + "/" + name).isFile());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(PATH)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(getActionsHash());
+            out.writeInt(entries.size());
+            for (Entry entry : entries.values()) {
+                out.writeLong(entry.length);
+                out.writeLong(entry.lastModified);
+                entry.events.writeLog(out, 0);
+            }
+        } catch (IOException e) {
+            Log.error("cannot write cache " + PATH);
+        }
+    }
+
+    /**
+     * Returns a hash of all actions extracted, so that the cache is dropped
+     * if they change.
+     *
+     * @return  The hash.
+     */
+    private static int getActionsHash()
+    {
+        int hash = 0;
+        for (int i = 0; i < Parser.getNumOfActions(); i++) {
+            hash = hash * 31 + Parser.getActionName(i).hashCode();
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,464 @@
+package analyzer;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * The actions of a number of logs, stored column by column in primitive
+ * arrays. All aggregate queries are simple loops over these arrays, so
+ * they are fast enough to be run interactively on the logs of a whole
+ * season.
+ *
+ * The events of every log are stored contiguously. Teams are stored as ids
+ * into a dictionary of team names, where 0 means that an action does not
+ * belong to a team.
+ */
+public class EventStore
+{
+    /* The columns that can be used to group events. */
+    public enum Key
+    {
+        ACTION, TEAM, HALF, PLAYER
+    }
+
+    /* The halves an event can happen in. */
+    public static final int HALF_FIRST = 1;
+    public static final int HALF_SECOND = 2;
+    public static final int HALF_FIRST_EXTRA = 3;
+    public static final int HALF_SECOND_EXTRA = 4;
+    public static final int HALF_PENALTY_SHOOTOUT = 5;
+    public static final String[] HALF_NAMES = {"", "1st Half", "2nd Half", "1st Half Extra Time", "2nd Half Extra Time", "Penalty Shoot-out"};
+
+    /* The initial capacity of the columns. */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /* The number of events. */
+    private int size;
+    /* The local time of each event in seconds since the epoch. */
+    private long[] time = new long[INITIAL_CAPACITY];
+    /* The index of each event's action in Parser's actions. */
+    private int[] action = new int[INITIAL_CAPACITY];
+    /* The team id of each event. */
+    private int[] team = new int[INITIAL_CAPACITY];
+    /* The player number of each event or 0 if there is none. */
+    private int[] player = new int[INITIAL_CAPACITY];
+    /* The number of the substitute of each event or 0 if there is none. */
+    private int[] substitute = new int[INITIAL_CAPACITY];
+    /* The half of each event. */
+    private int[] half = new int[INITIAL_CAPACITY];
+
+    /* The names of the logs. */
+    private final ArrayList<String> logNames = new ArrayList<String>();
+    /* The index of the first event of each log. */
+    private final ArrayList<Integer> logStarts = new ArrayList<Integer>();
+    /* The team ids of the two teams of each log. */
+    private final ArrayList<int[]> logTeams = new ArrayList<int[]>();
+
+    /* The dictionary of team names. */
+    private final ArrayList<String> teamNames = new ArrayList<String>();
+    private final HashMap<String, Integer> teamIds = new HashMap<String, Integer>();
+
+    /**
+     * Creates a new, empty EventStore.
+     */
+    public EventStore()
+    {
+        getTeamId("");
+    }
+
+    /**
+     * Starts a new log. All events added afterwards belong to it.
+     *
+     * @param name      The name of the log.
+     * @param team0     The name of the team on the first side.
+     * @param team1     The name of the team on the second side.
+     */
+    public void beginLog(String name, String team0, String team1)
+    {
+        logNames.add(name);
+        logStarts.add(size);
+        logTeams.add(new int[] {getTeamId(String.valueOf(team0)), getTeamId(String.valueOf(team1))});
+    }
+
+    /**
+     * Adds an event to the current log.
+     *
+     * @param time          The local time in seconds since the epoch.
+     * @param action        The index of the action in Parser's actions.
+     * @param side          The side of the team (0 or 1) or -1 if the action
+     *                      does not belong to a team.
+     * @param player        The player number or 0 if there is none.
+     * @param substitute    The number of the substitute or 0 if there is none.
+     * @param half          The half (see HALF_*).
+     */
+    public void add(long time, int action, int side, int player, int substitute, int half)
+    {
+        if (size == this.time.length) {
+            final int capacity = size * 2;
+            this.time = Arrays.copyOf(this.time, capacity);
+            this.action = Arrays.copyOf(this.action, capacity);
+            this.team = Arrays.copyOf(this.team, capacity);
+            this.player = Arrays.copyOf(this.player, capacity);
+            this.substitute = Arrays.copyOf(this.substitute, capacity);
+            this.half = Arrays.copyOf(this.half, capacity);
+        }
+        this.time[size] = time;
+        this.action[size] = action;
+        this.team[size] = side < 0 ? 0 : logTeams.get(logTeams.size() - 1)[side];
+        this.player[size] = player;
+        this.substitute[size] = substitute;
+        this.half[size] = half;
+        size++;
+    }
+
+    /**
+     * Appends all logs of another store to this one.
+     *
+     * @param other     The store to append.
+     */
+    public void addAll(EventStore other)
+    {
+        for (int log = 0; log < other.getNumOfLogs(); log++) {
+            beginLog(other.getLogName(log), other.getLogTeam(log, 0), other.getLogTeam(log, 1));
+            final int otherTeam0 = other.logTeams.get(log)[0];
+            for (int i = other.getLogStart(log); i < other.getLogEnd(log); i++) {
+                add(other.time[i], other.action[i], other.team[i] == 0 ? -1 : other.team[i] == otherTeam0 ? 0 : 1,
+                        other.player[i], other.substitute[i], other.half[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the id of a team name and adds it to the dictionary, if it is
+     * not part of it yet.
+     *
+     * @param name      The name of the team.
+     * @return          The id of the team.
+     */
+    private int getTeamId(String name)
+    {
+        Integer id = teamIds.get(name);
+        if (id == null) {
+            id = teamNames.size();
+            teamNames.add(name);
+            teamIds.put(name, id);
+        }
+        return id;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public int getNumOfLogs()
+    {
+        return logNames.size();
+    }
+
+    public String getLogName(int log)
+    {
+        return logNames.get(log);
+    }
+
+    public int getLogStart(int log)
+    {
+        return logStarts.get(log);
+    }
+
+    public int getLogEnd(int log)
+    {
+        return log + 1 < logStarts.size() ? logStarts.get(log + 1) : size;
+    }
+
+    public String getLogTeam(int log, int side)
+    {
+        return teamNames.get(logTeams.get(log)[side]);
+    }
+
+    public int getNumOfTeams()
+    {
+        return teamNames.size();
+    }
+
+    public String getTeamName(int id)
+    {
+        return teamNames.get(id);
+    }
+
+    /**
+     * Returns the number of different values a key can have. The values are
+     * 0 up to this number minus one.
+     *
+     * @param key   The key.
+     * @return      The number of different values.
+     */
+    public int getCardinality(Key key)
+    {
+        switch (key) {
+            case ACTION:
+                return Parser.getNumOfActions();
+            case TEAM:
+                return teamNames.size();
+            case HALF:
+                return HALF_NAMES.length;
+            default:
+                int max = 0;
+                for (int i = 0; i < size; i++) {
+                    max = Math.max(max, player[i]);
+                }
+                return max + 1;
+        }
+    }
+
+    /**
+     * Returns the column of a key.
+     *
+     * @param key   The key.
+     * @return      The column. Only the first size() entries are used.
+     */
+    private int[] getColumn(Key key)
+    {
+        switch (key) {
+            case ACTION:
+                return action;
+            case TEAM:
+                return team;
+            case HALF:
+                return half;
+            default:
+                return player;
+        }
+    }
+
+    /**
+     * Counts events grouped by two keys, e.g. the penalties per team and
+     * half.
+     *
+     * @param rows      The key of the first dimension of the result.
+     * @param columns   The key of the second dimension of the result.
+     * @param actions   The actions to count, indexed by their index in
+     *                  Parser's actions, or null to count all.
+     * @return          The number of events for each combination of values.
+     */
+    public int[][] count(Key rows, Key columns, boolean[] actions)
+    {
+        final int[][] counts = new int[getCardinality(rows)][getCardinality(columns)];
+        final int[] r = getColumn(rows);
+        final int[] c = getColumn(columns);
+        for (int i = 0; i < size; i++) {
+            if (actions == null || actions[action[i]]) {
+                counts[r[i]][c[i]]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Measures the durations from events with one action to the next event
+     * with another action in the same log, e.g. from "Ready" to "Set". If
+     * the first action happens again before the second, the earlier one is
+     * ignored.
+     *
+     * @param from      The index of the first action in Parser's actions.
+     * @param to        The index of the second action in Parser's actions.
+     * @return          The durations in seconds.
+     */
+    public long[] durations(int from, int to)
+    {
+        long[] durations = new long[16];
+        int n = 0;
+        for (int log = 0; log < getNumOfLogs(); log++) {
+            long start = Long.MIN_VALUE;
+            for (int i = getLogStart(log), end = getLogEnd(log); i < end; i++) {
+                if (action[i] == from) {
+                    start = time[i];
+                } else if (action[i] == to && start != Long.MIN_VALUE) {
+                    if (n == durations.length) {
+                        durations = Arrays.copyOf(durations, n * 2);
+                    }
+                    durations[n++] = time[i] - start;
+                    start = Long.MIN_VALUE;
+                }
+            }
+        }
+        return Arrays.copyOf(durations, n);
+    }
+
+    /**
+     * Measures when events with an action happened relative to the
+     * beginning of their half, i.e. the first "Playing" in that half,
+     * e.g. to get the timing of goals.
+     *
+     * @param action    The index of the action in Parser's actions.
+     * @return          The times in seconds.
+     */
+    public long[] offsetsInHalf(int action)
+    {
+        final int playing = Parser.getActionId("Playing");
+        long[] offsets = new long[16];
+        int n = 0;
+        for (int log = 0; log < getNumOfLogs(); log++) {
+            int currentHalf = 0;
+            long start = Long.MIN_VALUE;
+            for (int i = getLogStart(log), end = getLogEnd(log); i < end; i++) {
+                if (half[i] != currentHalf) {
+                    currentHalf = half[i];
+                    start = Long.MIN_VALUE;
+                }
+                if (this.action[i] == playing && start == Long.MIN_VALUE) {
+                    start = time[i];
+                } else if (this.action[i] == action && start != Long.MIN_VALUE) {
+                    if (n == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, n * 2);
+                    }
+                    offsets[n++] = time[i] - start;
+                }
+            }
+        }
+        return Arrays.copyOf(offsets, n);
+    }
+
+    /**
+     * Sorts values into bins of the same width.
+     *
+     * @param values    The values.
+     * @param binWidth  The width of each bin.
+     * @param bins      The number of bins. The last one also contains all
+     *                  larger values.
+     * @return          The number of values in each bin.
+     */
+    public static int[] histogram(long[] values, long binWidth, int bins)
+    {
+        final int[] histogram = new int[bins];
+        for (long value : values) {
+            histogram[(int) Math.max(0, Math.min(bins - 1, value / binWidth))]++;
+        }
+        return histogram;
+    }
+
+    /**
+     * Returns a percentile of some values (nearest rank).
+     *
+     * @param values    The values. They are not modified.
+     * @param p         The percentile in [0, 100].
+     * @return          The percentile or 0 if there are no values.
+     */
+    public static long percentile(long[] values, double p)
+    {
+        if (values.length == 0) {
+            return 0;
+        }
+        final long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, (int) Math.ceil(p / 100 * sorted.length) - 1))];
+    }
+
+    /**
+     * Returns the mean of some values.
+     *
+     * @param values    The values.
+     * @return          The mean or 0 if there are no values.
+     */
+    public static double mean(long[] values)
+    {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return values.length == 0 ? 0 : (double) sum / values.length;
+    }
+
+    /**
+     * Writes all events as rows of the statistics CSV.
+     *
+     * @param out       The writer to write to.
+     * @param separator The separator within a row.
+     * @throws IOException if the writer fails.
+     */
+    public void writeCsv(Writer out, String separator) throws IOException
+    {
+        long lastTime = Long.MIN_VALUE;
+        String formattedTime = null;
+        for (int log = 0; log < getNumOfLogs(); log++) {
+            final String teamsSuffix = separator + getLogTeam(log, 0) + separator + getLogTeam(log, 1) + "\n";
+            for (int i = getLogStart(log), end = getLogEnd(log); i < end; i++) {
+                if (time[i] != lastTime) {
+                    lastTime = time[i];
+                    formattedTime = Parser.timeFormat.format(LocalDateTime.ofEpochSecond(lastTime, 0, ZoneOffset.UTC));
+                }
+                out.append(formattedTime).append(separator)
+                        .append(Parser.getActionName(action[i])).append(separator)
+                        .append(teamNames.get(team[i])).append(separator)
+                        .append(player[i] == 0 ? "" : Integer.toString(player[i])).append(separator)
+                        .append(substitute[i] == 0 ? "" : Integer.toString(substitute[i]))
+                        .append(teamsSuffix);
+            }
+        }
+    }
+
+    /**
+     * Writes the events of a log in a compact binary form.
+     *
+     * @param out       The stream to write to.
+     * @param log       The log to write.
+     * @throws IOException if the stream fails.
+     */
+    public void writeLog(DataOutputStream out, int log) throws IOException
+    {
+        final int start = getLogStart(log);
+        final int end = getLogEnd(log);
+        final int[] teams = logTeams.get(log);
+        out.writeUTF(getLogName(log));
+        out.writeUTF(teamNames.get(teams[0]));
+        out.writeUTF(teamNames.get(teams[1]));
+        out.writeInt(end - start);
+        for (int i = start; i < end; i++) {
+            out.writeLong(time[i]);
+        }
+        for (int i = start; i < end; i++) {
+            out.writeByte(action[i]);
+            out.writeByte(team[i] == 0 ? -1 : team[i] == teams[0] ? 0 : 1);
+            out.writeByte(player[i]);
+            out.writeByte(substitute[i]);
+            out.writeByte(half[i]);
+        }
+    }
+
+    /**
+     * Reads the events of a log written by writeLog and appends them.
+     *
+     * @param in        The stream to read from.
+     * @throws IOException if the stream fails or its content is broken.
+     */
+    public void readLog(DataInputStream in) throws IOException
+    {
+        beginLog(in.readUTF(), in.readUTF(), in.readUTF());
+        final int n = in.readInt();
+        if (n < 0) {
+            throw new IOException("negative number of events");
+        }
+        final long[] times = new long[n];
+        for (int i = 0; i < n; i++) {
+            times[i] = in.readLong();
+        }
+        for (int i = 0; i < n; i++) {
+            final int action = in.readByte();
+            final int side = in.readByte();
+            final int player = in.readByte();
+            final int substitute = in.readByte();
+            final int half = in.readByte();
+            if (action < 0 || action >= Parser.getNumOfActions() || side < -1 || side > 1 || player < 0 || substitute < 0 || half < 0 || half >= HALF_NAMES.length) {
+                throw new IOException("broken event");
+            }
+            add(times[i], action, side, player, substitute, half);
+        }
+    }
+}
@@ -11,9 +11,13 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.DefaultListModel;
@@ -28,6 +32,7 @@ import javax.swing.JScrollPane;
 import javax.swing.ListCellRenderer;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
 import javax.swing.border.Border;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
@@ -51,6 +56,22 @@ public class GUI extends JFrame implements ListSelectionListener
     private final static Color LIST_HIGHLIGHT = new Color(150, 150, 255);
     private final static String CLEAN = "Clean";
     private final static String ANALYZE = "Analyze";
+    private final static String STATISTICS = "Statistics";
+    /* The actions counted as penalties in the statistics. */
+    private final static String[] PENALTIES = {
+        "Illegal Ball Contact",
+        "Player Pushing",
+        "Illegal Motion in Set",
+        "Inactive Player",
+        "Illegal Position",
+        "Leaving the Field",
+        "Request for PickUp",
+        "Local Game Stuck",
+    };
+    /* The width of the bins of the goal timing histogram in seconds. */
+    private final static int GOAL_BIN_WIDTH = 60;
+    /* The number of bins of the goal timing histogram. */
+    private final static int GOAL_BINS = 10;
     public final static String HTML = "<html>";
     public final static String HTML_LF = "<br>";
     public final static String HTML_RED = "<font color='red'>";
@@ -64,6 +85,11 @@ public class GUI extends JFrame implements ListSelectionListener
     private JLabel info;
     private JButton clean;
     private JButton analyze;
+    private JButton statistics;
+    /* If the statistics are shown instead of the information of a log. */
+    private boolean showingStatistics;
+    /* The number of the last request for statistics, so that only its result is shown. */
+    private int statisticsRequest;
 
     /**
      * Creates a new GUI.
@@ -128,10 +154,21 @@ public class GUI extends JFrame implements ListSelectionListener
                     }
                 }
         );
+        statistics = new JButton(STATISTICS);
+        statistics.addActionListener(new ActionListener()
+                {
+                    @Override
+                    public void actionPerformed(ActionEvent e)
+                    {
+                        statistics();
+                    }
+                }
+        );
         layout.add(.03, .03, .45, .94, scrollArea);
         layout.add(.52, .03, .45, .8, info);
-        layout.add(.52, .87, .175, .1, clean);
-        layout.add(.735, .87, .235, .1, analyze);
+        layout.add(.52, .87, .14, .1, clean);
+        layout.add(.675, .87, .14, .1, statistics);
+        layout.add(.83, .87, .14, .1, analyze);
 
         updateList();
         selection.addListSelectionListener(this);
@@ -151,6 +188,38 @@ public class GUI extends JFrame implements ListSelectionListener
         }
     }
 
+    /**
+     * Replaces the list of logs after logs were added, modified or removed.
+     * Logs which did not change keep their checkbox and selection, and the
+     * statistics are updated if they are shown.
+     *
+     * @param logs  The new list of logs.
+     */
+    public void update(ArrayList<LogInfo> logs)
+    {
+        // Logs which did not change are the same instances (see LogInfoCache).
+        HashMap<LogInfo, Boolean> checked = new HashMap<LogInfo, Boolean>();
+        for (int i = 0; i < list.size(); i++) {
+            checked.put(LogAnalyzer.logs.get(i), list.getElementAt(i).selected);
+        }
+        int i = selection.getMinSelectionIndex();
+        LogInfo selected = i >= 0 ? LogAnalyzer.logs.get(i) : null;
+        boolean statisticsShown = showingStatistics;
+
+        LogAnalyzer.logs = logs;
+        selection.clearSelection();
+        list.removeAllElements();
+        for (LogInfo log : logs) {
+            Boolean wasChecked = checked.get(log);
+            list.addElement(new CheckListItem(log+"", wasChecked != null ? wasChecked : log.isRealLog()));
+        }
+        if (statisticsShown) {
+            statistics();
+        } else if (logs.indexOf(selected) >= 0) {
+            listDisplay.setSelectedIndex(logs.indexOf(selected));
+        }
+    }
+
     /**
      * Moves all logs which are not seleted (unchecked) in the list to
      * another directory.
@@ -184,7 +253,7 @@ public class GUI extends JFrame implements ListSelectionListener
         LogAnalyzer.stats = fc.getSelectedFile();
         try {
             LogAnalyzer.stats.createNewFile();
-            LogAnalyzer.writer = new FileWriter(LogAnalyzer.stats);
+            LogAnalyzer.writer = new BufferedWriter(new FileWriter(LogAnalyzer.stats));
             LogAnalyzer.writer.write("datetime,action,team,player,substitute,blue,red\n");
         } catch (IOException e) {
             Log.error("Cannot create and open/write to file "+LogAnalyzer.stats);
@@ -205,12 +274,108 @@ public class GUI extends JFrame implements ListSelectionListener
         JOptionPane.showMessageDialog(null, "Done");
     }
 
+    /**
+     * Shows aggregate statistics over all logs which are selected (checked)
+     * in the list. The events are taken from the cache if possible. Logs
+     * which are not cached yet are parsed in the background, and the
+     * statistics are shown when they are done.
+     */
+    private void statistics()
+    {
+        final ArrayList<LogInfo> logs = new ArrayList<LogInfo>();
+        int i = 0;
+        for (LogInfo log : LogAnalyzer.logs) {
+            if (list.getElementAt(i++).selected) {
+                logs.add(log);
+            }
+        }
+
+        selection.clearSelection();
+        info.setText(HTML + "Loading " + logs.size() + " logs...");
+        showingStatistics = true;
+        final int request = ++statisticsRequest;
+        new SwingWorker<EventStore, Void>()
+        {
+            @Override
+            protected EventStore doInBackground()
+            {
+                return EventCache.load(logs);
+            }
+
+            @Override
+            protected void done()
+            {
+                // Ignore the result if other statistics or a log were requested meanwhile
+                if (request != statisticsRequest || !showingStatistics) {
+                    return;
+                }
+                try {
+                    showStatistics(get());
+                } catch (InterruptedException | ExecutionException e) {
+                    Log.error("Cannot load the events of the logs: " + e.getMessage());
+                    info.setText("");
+                    showingStatistics = false;
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Shows aggregate statistics over the events of some logs.
+     *
+     * @param events    The events of the logs.
+     */
+    private void showStatistics(EventStore events)
+    {
+        StringBuilder html = new StringBuilder(HTML);
+        html.append(events.getNumOfLogs()).append(" games, ").append(events.size()).append(" actions").append(HTML_LF);
+
+        // Penalties per team and half
+        boolean[] penalties = new boolean[Parser.getNumOfActions()];
+        for (String penalty : PENALTIES) {
+            penalties[Parser.getActionId(penalty)] = true;
+        }
+        int[][] counts = events.count(EventStore.Key.TEAM, EventStore.Key.HALF, penalties);
+        html.append(HTML_LF).append("Penalties per half").append("<table><tr><td></td>");
+        for (int half = EventStore.HALF_FIRST; half <= EventStore.HALF_SECOND; half++) {
+            html.append("<td>").append(EventStore.HALF_NAMES[half]).append("</td>");
+        }
+        html.append("</tr>");
+        for (int team = 1; team < events.getNumOfTeams(); team++) {
+            html.append("<tr><td>").append(events.getTeamName(team)).append("</td>");
+            for (int half = EventStore.HALF_FIRST; half <= EventStore.HALF_SECOND; half++) {
+                html.append("<td>").append(counts[team][half]).append("</td>");
+            }
+            html.append("</tr>");
+        }
+        html.append("</table>");
+
+        // Duration of the ready state
+        long[] ready = events.durations(Parser.getActionId("Ready"), Parser.getActionId("Set"));
+        html.append(HTML_LF).append("Ready state: ")
+                .append(String.format("%.1f", EventStore.mean(ready))).append(" s average, ")
+                .append(EventStore.percentile(ready, 50)).append(" s median, ")
+                .append(EventStore.percentile(ready, 90)).append(" s 90th percentile").append(HTML_LF);
+
+        // Timing of the goals
+        int[] goals = EventStore.histogram(events.offsetsInHalf(Parser.getActionId("Goal for")), GOAL_BIN_WIDTH, GOAL_BINS);
+        html.append(HTML_LF).append("Goals per minute of the half").append(HTML_LF);
+        for (int bin = 0; bin < goals.length; bin++) {
+            html.append(bin).append(bin == goals.length - 1 ? "+" : "").append(": ").append(goals[bin]).append(HTML_LF);
+        }
+
+        selection.clearSelection();
+        info.setText(html.toString());
+        showingStatistics = true;
+    }
+
     @Override
     public void valueChanged(ListSelectionEvent e)
     {
         int i = selection.getMinSelectionIndex();
         if (i >= 0) {
             info.setText(LogAnalyzer.logs.get(i).getInfo());
+            showingStatistics = false;
         } else {
             info.setText("");
         }
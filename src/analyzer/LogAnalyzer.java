@@ -1,9 +1,11 @@
 package analyzer;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.stream.Collectors;
+import javax.swing.SwingUtilities;
 
 /**
  * @author Michel Bartsch
@@ -18,22 +20,47 @@ public class LogAnalyzer
     /* Path where dropped logs will be moved to by the clean feature. */
     public final static String PATH_DROPPED = "logs/dropped";
 
+    private static final String HELP_TEMPLATE = "Usage: java -jar LogAnalyzer.jar {options}"
+            + "\n  (-h | --help)                   display help"
+            + "\n  (-w | --watch)                  update the list of logs when logs are added or modified"
+            + "\n";
+    private static final String COMMAND_WATCH = "--watch";
+    private static final String COMMAND_WATCH_SHORT = "-w";
+
     /* List of all logs */
-    public static LinkedList<LogInfo> logs;
+    public static ArrayList<LogInfo> logs;
     /* The output file to write the statistics into.*/
     public static File stats;
     /* Use this to write into the output file. */
-    public static FileWriter writer;
+    public static BufferedWriter writer;
 
     /**
      * The program starts here.
      *
-     * @param args  This is ignored.
+     * @param args  Command line options (see HELP_TEMPLATE).
      */
     public static void main(String[] args)
     {
+        boolean watch = false;
+
+        parsing:
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equalsIgnoreCase(COMMAND_WATCH_SHORT) || args[i].equalsIgnoreCase(COMMAND_WATCH)) {
+                watch = true;
+                continue parsing;
+            }
+            System.out.print(HELP_TEMPLATE);
+            System.exit(0);
+        }
+
         load();
-        new GUI();
+        final GUI gui = new GUI();
+        if (watch) {
+            new LogWatcher(() -> {
+                final ArrayList<LogInfo> newLogs = scan();
+                SwingUtilities.invokeLater(() -> gui.update(newLogs));
+            }).start();
+        }
     }
 
     /**
@@ -42,14 +69,26 @@ public class LogAnalyzer
      */
     public static void load()
     {
-        logs = new LinkedList<LogInfo>();
+        logs = scan();
+    }
+
+    /**
+     * Returns all the logs currently in the log directory, ordered by
+     * their file names. Only new or modified logs are parsed (see
+     * LogInfoCache), in parallel on the common fork-join pool.
+     *
+     * @return  The logs.
+     */
+    public static ArrayList<LogInfo> scan()
+    {
         File dir = new File(PATH);
         File[] files = dir.listFiles();
-        Arrays.sort(files);
-        for (File file: files) {
-            if (file.isFile() && file.getName().startsWith("log_")) {
-                logs.add(new LogInfo(file));
-            }
+        if (files == null) {
+            files = new File[0];
         }
+        Arrays.sort(files);
+        return LogInfoCache.load(Arrays.stream(files)
+                .filter(file -> file.isFile() && file.getName().startsWith("log_"))
+                .collect(Collectors.toList()));
     }
 }
@@ -3,13 +3,16 @@ package analyzer;
 import common.Log;
 import data.Rules;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Date;
-import java.util.LinkedList;
 
 /**
  * @author Michel Bartsch
@@ -44,8 +47,13 @@ public class LogInfo
     public Date start;
     /* Duration of the game in seconds (first ready to last finish) */
     public int duration;
-    /* All lines from the log file. */
-    public LinkedList<String> lines = new LinkedList<String>();
+    /* All lines from the log file. Null if this LogInfo was restored from
+     * the cache and the lines were not needed yet (see read). */
+    public ArrayList<String> lines;
+    /* The number of lines in the log file. */
+    public int numOfLines;
+    /* The indices of all lines which were made undone by an undo. */
+    public BitSet undone;
     /* If something odd happens while parsing this log, it will be written
      * into this string. */
     public String parseErrors = "";
@@ -61,16 +69,60 @@ public class LogInfo
     public LogInfo(File log)
     {
         file = log;
+        read();
+    }
+
+    /**
+     * Restores a LogInfo written by write. The lines are not read from the
+     * log file until read is called.
+     *
+     * @param log   The log file this LogInfo represents.
+     * @param in    The stream to read from.
+     * @throws IOException if the stream fails.
+     */
+    public LogInfo(File log, DataInputStream in) throws IOException
+    {
+        file = log;
+        version = readString(in);
+        final String leagueName = readString(in);
+        for (Rules rules : Rules.LEAGUES) {
+            if (rules.leagueName.equals(leagueName)) {
+                league = rules;
+            }
+        }
+        team[0] = readString(in);
+        team[1] = readString(in);
+        color[0] = readString(in);
+        color[1] = readString(in);
+        final long startTime = in.readLong();
+        start = startTime == Long.MIN_VALUE ? null : new Date(startTime);
+        duration = in.readInt();
+        numOfLines = in.readInt();
+        parseErrors = readString(in);
+    }
+
+    /**
+     * Reads the whole log into a list of strings and launches a parsing
+     * method to collect some basic information. Does nothing if the lines
+     * were already read.
+     */
+    public final synchronized void read()
+    {
+        if (lines != null) {
+            return;
+        }
+        lines = new ArrayList<String>();
+        undone = new BitSet();
         BufferedReader br = null;
         try {
-            InputStream inStream = new FileInputStream(log);
+            InputStream inStream = new FileInputStream(file);
             br = new BufferedReader(new InputStreamReader(inStream, CHARSET));
             String currentLine;
             while ((currentLine = br.readLine()) != null) {
                 lines.add(currentLine);
             }
         } catch (IOException e) {
-            Log.error("cannot load "+log);
+            Log.error("cannot load "+file);
         }
         finally {
             if (br != null) {
@@ -79,9 +131,67 @@ public class LogInfo
                 } catch (Exception e) {}
             }
         }
+        numOfLines = lines.size();
         Parser.info(this);
     }
 
+    /**
+     * Writes all basic information (but not the lines) so that it can be
+     * restored without parsing the log again.
+     *
+     * @param out   The stream to write to.
+     * @throws IOException if the stream fails.
+     */
+    public void write(DataOutputStream out) throws IOException
+    {
+        writeString(out, version);
+        writeString(out, league != null ? league.leagueName : null);
+        writeString(out, team[0]);
+        writeString(out, team[1]);
+        writeString(out, color[0]);
+        writeString(out, color[1]);
+        out.writeLong(start != null ? start.getTime() : Long.MIN_VALUE);
+        out.writeInt(duration);
+        out.writeInt(numOfLines);
+        writeString(out, parseErrors);
+    }
+
+    /**
+     * Writes a string that may be null or longer than writeUTF allows.
+     *
+     * @param out   The stream to write to.
+     * @param s     The string.
+     * @throws IOException if the stream fails.
+     */
+    private static void writeString(DataOutputStream out, String s) throws IOException
+    {
+        if (s == null) {
+            out.writeInt(-1);
+        } else {
+            final byte[] bytes = s.getBytes(CHARSET);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Reads a string written by writeString.
+     *
+     * @param in    The stream to read from.
+     * @return      The string.
+     * @throws IOException if the stream fails.
+     */
+    private static String readString(DataInputStream in) throws IOException
+    {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, CHARSET);
+    }
+
     /**
      * Makes a guess if this is a real game's log based on all basic
      * information.
@@ -154,7 +264,7 @@ public class LogInfo
                 + (isRealTeam(false) ? team[1] : GUI.HTML_RED + team[1] + GUI.HTML_END) + GUI.HTML_LF
                 + (start != null ? start : GUI.HTML_RED + start + GUI.HTML_END) + " starting" + GUI.HTML_LF
                 + (isRealDuration() ? duration : GUI.HTML_RED + duration + GUI.HTML_END) + " seconds" + GUI.HTML_LF
-                + (lines.size()-NUM_OF_INFO_ENTRIES) + " actions" + GUI.HTML_LF
+                + (numOfLines-NUM_OF_INFO_ENTRIES) + " actions" + GUI.HTML_LF
                 + GUI.HTML_RED + parseErrors;
     }
 
@@ -0,0 +1,154 @@
+package analyzer;
+
+import common.Log;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the basic information of all logs parsed once in memory and in a
+ * file, so that only new or modified logs have to be parsed when the log
+ * directory changes or the analyzer is started the next time. An entry is
+ * only used while the size and modification time of its log are unchanged.
+ */
+public class LogInfoCache
+{
+    /* The file the cache is stored in. */
+    public final static String PATH = LogAnalyzer.PATH + "/loginfo.cache";
+    /* Identifies the format of the file. */
+    private final static int MAGIC = 0x4743494e;
+    private final static int VERSION = 1;
+
+    /**
+     * An entry of the cache.
+     */
+    private static class Entry
+    {
+        /* The size of the log file when it was parsed. */
+        long length;
+        /* The modification time of the log file when it was parsed. */
+        long lastModified;
+        /* The basic information of the log. */
+        LogInfo info;
+    }
+
+    /* All entries by the names of their logs. Null until the file was read. */
+    private static Map<String, Entry> entries;
+
+    /**
+     * Returns the basic information of some logs. Logs which are not in the
+     * cache or which changed are parsed in parallel and added to the cache.
+     *
+     * @param files The log files.
+     * @return      The basic information of the logs in the same order.
+     */
+    public static synchronized ArrayList<LogInfo> load(List<File> files)
+    {
+        if (entries == null) {
+            entries = read();
+        }
+        final Map<String, Entry> parsed = files.parallelStream()
+                .filter(file -> !isValid(entries.get(file.getName()), file))
+                .collect(Collectors.toConcurrentMap(File::getName, LogInfoCache::parse));
+        entries.putAll(parsed);
+
+        final ArrayList<LogInfo> logs = new ArrayList<LogInfo>();
+        for (File file : files) {
+            logs.add(entries.get(file.getName()).info);
+        }
+        if (!parsed.isEmpty() || entries.size() > files.size()) {
+            entries.keySet().retainAll(files.stream().map(File::getName).collect(Collectors.toSet()));
+            write();
+        }
+        return logs;
+    }
+
+    /**
+     * Parses a log into a new entry.
+     *
+     * @param file  The log file.
+     * @return      The entry.
+     */
+    private static Entry parse(File file)
+    {
+        final Entry entry = new Entry();
+        entry.length = file.length();
+        entry.lastModified = file.lastModified();
+        entry.info = new LogInfo(file);
+        return entry;
+    }
+
+    /**
+     * Checks whether an entry is up to date.
+     *
+     * @param entry The entry or null if there is none.
+     * @param file  The log file of the entry.
+     * @return      True, if the entry can be used.
+     */
+    private static boolean isValid(Entry entry, File file)
+    {
+        return entry != null && entry.length == file.length() && entry.lastModified == file.lastModified();
+    }
+
+    /**
+     * Reads all entries from the cache file.
+     *
+     * @return  The entries by the names of their logs. Empty if the file
+     *          does not exist or is broken.
+     */
+    private static Map<String, Entry> read()
+    {
+        final Map<String, Entry> entries = new HashMap<String, Entry>();
+        final File file = new File(PATH);
+        if (!file.isFile()) {
+            return entries;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return entries;
+            }
+            for (int n = in.readInt(); n > 0; n--) {
+                final Entry entry = new Entry();
+                final String name = in.readUTF();
+                entry.length = in.readLong();
+                entry.lastModified = in.readLong();
+                entry.info = new LogInfo(new File(LogAnalyzer.PATH, name), in);
+                entries.put(name, entry);
+            }
+        } catch (IOException e) {
+            Log.error("ignoring broken cache " + PATH);
+            entries.clear();
+        }
+        return entries;
+    }
+
+    /**
+     * Writes all entries into the cache file.
+     */
+    private static void write()
+    {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(PATH)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().length);
+                out.writeLong(entry.getValue().lastModified);
+                entry.getValue().info.write(out);
+            }
+        } catch (IOException e) {
+            Log.error("cannot write cache " + PATH);
+        }
+    }
+}
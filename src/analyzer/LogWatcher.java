@@ -0,0 +1,86 @@
+package analyzer;
+
+import common.Log;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This thread watches the log directory and reports when logs were added,
+ * modified or removed. The GameController writes its log while a game is
+ * running, so changes are only reported after the directory has been quiet
+ * for a moment.
+ */
+public class LogWatcher extends Thread
+{
+    /* The time in millis the directory must not change before a change
+     * is reported. */
+    private final static int QUIET_PERIOD = 1000;
+
+    /* What to do when logs changed. */
+    private final Runnable listener;
+
+    /**
+     * Creates a new LogWatcher.
+     *
+     * @param listener  What to do when logs changed. It is called from this
+     *                  thread.
+     */
+    public LogWatcher(Runnable listener)
+    {
+        super("LogWatcher");
+        setDaemon(true);
+        this.listener = listener;
+    }
+
+    @Override
+    public void run()
+    {
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            Paths.get(LogAnalyzer.PATH).register(watcher,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            while (!isInterrupted()) {
+                WatchKey key = watcher.take();
+                boolean changed = false;
+                do {
+                    changed |= containsLog(key);
+                    key.reset();
+                } while ((key = watcher.poll(QUIET_PERIOD, TimeUnit.MILLISECONDS)) != null);
+                if (changed) {
+                    listener.run();
+                }
+            }
+        } catch (IOException e) {
+            Log.error("cannot watch " + LogAnalyzer.PATH);
+        } catch (InterruptedException e) {
+            // Stop watching.
+        }
+    }
+
+    /**
+     * Checks whether any of the events of a key concerns a log.
+     *
+     * @param key   The key.
+     * @return      True, if a log was added, modified or removed.
+     */
+    private static boolean containsLog(WatchKey key)
+    {
+        boolean log = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                log = true;
+            } else if (((Path) event.context()).getFileName().toString().startsWith("log_")) {
+                log = true;
+            }
+        }
+        return log;
+    }
+}
@@ -1,11 +1,17 @@
 package analyzer;
 
 import java.io.IOException;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import common.Log;
 
@@ -18,13 +24,13 @@ import data.Rules;
  */
 public class Parser
 {
-    /* This prefix will be placed at the beginning of every logInfo's log line,
-     which was made undone by an undo*/
-    private static final String UNDONE_PREFIX = "<undone>";
     /* The separator used for the output within a row. */
     private static final String OUT_SEP = ",";
     /* The output's date format (date-time) */
-    public static final SimpleDateFormat timeFormat = new SimpleDateFormat("yyyy-MM-dd kk:mm:ss");
+    public static final DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd kk:mm:ss");
+    /* The format of the timestamps in the logs (the same as the Log uses).
+     Unlike SimpleDateFormat, it is thread-safe. */
+    private static final DateTimeFormatter timestampFormat = DateTimeFormatter.ofPattern(Log.timestampFormat.toPattern());
 
     /*
      * All the actions to extract from the logs into statistics.
@@ -65,17 +71,29 @@ public class Parser
         "Set",
         "Message Budget Exceeded by",
     };
+    /* Matches any of the actions at the beginning of a line. The alternatives
+     are tried in the order of the array, so the same rule applies. */
+    private static final Pattern actionPattern = Pattern.compile(
+            Arrays.stream(actions).map(Pattern::quote).collect(Collectors.joining("|")));
+    /* The index of each action in the actions array. */
+    private static final HashMap<String, Integer> actionIds = new HashMap<String, Integer>();
+    static {
+        for (int i = 0; i < actions.length; i++) {
+            actionIds.put(actions[i], i);
+        }
+    }
 
 
     /**
-     * Parsing a log to get some information and place the undone-prefix,
-     * so this is needed before parsing for statistics. The information
-     * will be written into the LogInfo instance.
+     * Parsing a log to get some information and mark the lines which were
+     * made undone, so this is needed before parsing for statistics. The
+     * information will be written into the LogInfo instance.
      *
      * @param log   The log to parse.
      */
     public static void info(LogInfo log)
     {
+        final StringBuilder parseErrors = new StringBuilder();
         Date kickoffTime = null;
         Date endTime = null;
         int i = 0;
@@ -84,15 +102,16 @@ public class Parser
             int divPos = line.indexOf(": ");
 
             if (divPos < 0) {
-                log.parseErrors += "error in line "+i+": colon missing" + GUI.HTML_LF;
+                parseErrors.append("error in line ").append(i).append(": colon missing").append(GUI.HTML_LF);
                 continue;
             }
 
             Date time = null;
             try{
-                time = Log.timestampFormat.parse(line.substring(0, divPos));
-            } catch (ParseException e) {
-                log.parseErrors += "error in line "+i+": Cannot parse timestamp" + GUI.HTML_LF;
+                time = Date.from(LocalDateTime.parse(line.substring(0, divPos), timestampFormat)
+                        .atZone(ZoneId.systemDefault()).toInstant());
+            } catch (DateTimeParseException e) {
+                parseErrors.append("error in line ").append(i).append(": Cannot parse timestamp").append(GUI.HTML_LF);
             }
             String action = line.substring(divPos+2);
 
@@ -108,29 +127,32 @@ public class Parser
             } else if (action.startsWith("Undo")) {
                 String[] splitted = action.split(" ");
                 if (splitted.length < 2) {
-                    log.parseErrors += "error in line "+i+": cannot parse undo";
+                    parseErrors.append("error in line ").append(i).append(": cannot parse undo");
                 } else {
                     int undos = Integer.valueOf(splitted[1]);
-                    for (int j=0; j<undos; j++) {
+                    // Walk back from the line before the undo. lines is array-based, so every step is O(1).
+                    for (int j=0, k=i-2; j<undos && k >= 0; j++, k--) {
+                        final String undone = log.lines.get(k);
+                        final String before = k > 0 ? log.lines.get(k-1) : "";
                         // This has to do with Log.setNextMessage (which leads to two messages for one state in the log file).
                         // The other thing is that "Message Budget Exceeded by" is not an undoable state, so it is skipped.
-                        if (i-2-j > 0
-                                && ((log.lines.get(i-2-j).endsWith("Ready")
-                                        || log.lines.get(i-2-j).endsWith("2nd Half")
-                                        || log.lines.get(i-2-j).endsWith("Finished"))
-                                    && log.lines.get(i-2-j-1).contains("Goal for")
-                                    || log.lines.get(i-2-j).endsWith("Ready")
-                                    && (log.lines.get(i-2-j-1).contains("End of Timeout")
-                                        || log.lines.get(i-2-j-1).contains("End of Referee Timeout")
-                                        || log.lines.get(i-2-j-1).contains("Global Game Stuck")
-                                        || log.lines.get(i-2-j-1).contains("Penalty Kick for"))
-                                    || log.lines.get(i-2-j).endsWith("Initial")
-                                    && log.lines.get(i-2-j-1).contains("Timeout")
-                                    || log.lines.get(i-2-j).contains("Message Budget Exceeded by"))) {
+                        if (k > 0
+                                && ((undone.endsWith("Ready")
+                                        || undone.endsWith("2nd Half")
+                                        || undone.endsWith("Finished"))
+                                    && before.contains("Goal for")
+                                    || undone.endsWith("Ready")
+                                    && (before.contains("End of Timeout")
+                                        || before.contains("End of Referee Timeout")
+                                        || before.contains("Global Game Stuck")
+                                        || before.contains("Penalty Kick for"))
+                                    || undone.endsWith("Initial")
+                                    && before.contains("Timeout")
+                                    || undone.contains("Message Budget Exceeded by"))) {
                             ++undos;
                         }
-                        if (!log.lines.get(i-2-j).contains("Message Budget Exceeded by")) {
-                            log.lines.set(i-2-j, UNDONE_PREFIX+log.lines.get(i-2-j));
+                        if (!undone.contains("Message Budget Exceeded by")) {
+                            log.undone.set(k);
                         }
                     }
                 }
@@ -143,11 +165,11 @@ public class Parser
                             log.team[j] = parts[0];
                             log.color[j] = parts[1].split("\\)")[0];
                         } else {
-                            log.parseErrors += "error in line "+i+": Color seems to be missing" + GUI.HTML_LF;
+                            parseErrors.append("error in line ").append(i).append(": Color seems to be missing").append(GUI.HTML_LF);
                         }
                     }
                 } else {
-                    log.parseErrors += "error in line "+i+": Found vs but not 2 teams" + GUI.HTML_LF;
+                    parseErrors.append("error in line ").append(i).append(": Found vs but not 2 teams").append(GUI.HTML_LF);
                 }
             } else if ((kickoffTime == null) && (action.startsWith("Ready"))) {
                 kickoffTime = time;
@@ -159,6 +181,40 @@ public class Parser
         if ((kickoffTime != null) && (endTime != null)) {
             log.duration = (int)((endTime.getTime()-kickoffTime.getTime())/1000);
         }
+        log.parseErrors = parseErrors.toString();
+    }
+
+    /**
+     * Returns the number of actions extracted into statistics.
+     *
+     * @return  The number of actions.
+     */
+    public static int getNumOfActions()
+    {
+        return actions.length;
+    }
+
+    /**
+     * Returns the name of an action extracted into statistics.
+     *
+     * @param id    The index of the action.
+     * @return      The name of the action.
+     */
+    public static String getActionName(int id)
+    {
+        return actions[id];
+    }
+
+    /**
+     * Returns the index of an action extracted into statistics.
+     *
+     * @param name  The name of the action.
+     * @return      The index of the action or -1 if it is not extracted.
+     */
+    public static int getActionId(String name)
+    {
+        final Integer id = actionIds.get(name);
+        return id == null ? -1 : id;
     }
 
     /**
@@ -169,12 +225,30 @@ public class Parser
      */
     public static void statistic(LogInfo log)
     {
-        Date rawTime;
-        String time;
-        String raw, action = "";
-        String team;
-        String player;
-        String substitute;
+        final EventStore store = new EventStore();
+        events(log, store);
+        try{
+            store.writeCsv(LogAnalyzer.writer, OUT_SEP);
+        } catch (IOException e) {
+            Log.error("cannot write to file "+LogAnalyzer.stats);
+        }
+    }
+
+    /**
+     * Parsing a log to add all its actions to an event store.
+     *
+     * @param log   The log to parse.
+     * @param store The store to add the actions to as a new log.
+     */
+    public static void events(LogInfo log, EventStore store)
+    {
+        log.read();
+        String raw;
+        int action;
+        int side;
+        int player;
+        int substitute;
+        int half = EventStore.HALF_FIRST;
         String[] teams = new String[2];
         if (log.team.length >= 2) {
             teams[0] = log.team[0];
@@ -183,61 +257,74 @@ public class Parser
             teams[0] = "unknown";
             teams[1] = "unknown";
         }
+        store.beginLog(log.file.getName(), teams[0], teams[1]);
+        // The optional by in the end is for substitution (the player that leaves is the first number).
+        final Pattern playerPattern = Pattern.compile("(" + Pattern.quote(String.valueOf(log.color[0]))
+                + "|" + Pattern.quote(String.valueOf(log.color[1])) + ")\\s*(\\d+)\\s*(by.*)?$");
+        final Matcher actionMatcher = actionPattern.matcher("");
+        final Matcher playerMatcher = playerPattern.matcher("");
+        // Many consecutive lines share a timestamp, so the last one is only converted once.
+        String lastTimestamp = null;
+        long time = 0;
         int i=0;
         for (String line : log.lines) {
             i++;
-            if (line.startsWith(UNDONE_PREFIX)) {
+            if (log.undone.get(i-1)) {
                 continue;
             }
             int divPos = line.indexOf(": ")+2;
+            final String timestamp;
             try{
-                rawTime = Log.timestampFormat.parse(line.substring(0, divPos-2));
-            } catch (ParseException e) {
+                timestamp = line.substring(0, divPos-2);
+                if (!timestamp.equals(lastTimestamp)) {
+                    time = LocalDateTime.parse(timestamp, timestampFormat).toEpochSecond(ZoneOffset.UTC);
+                    lastTimestamp = timestamp;
+                }
+            } catch (DateTimeParseException | StringIndexOutOfBoundsException e) {
                 Log.error("Cannot parse time in line "+i+" of "+log.file);
                 return;
             }
             raw = line.substring(divPos);
 
-            time = timeFormat.format(rawTime);
-
-            boolean actionMatch = false;
-            for (String a : actions) {
-                if (raw.startsWith(a)) {
-                    action = a;
-                    actionMatch = true;
-                    break;
+            if (!actionMatcher.reset(raw).lookingAt()) {
+                for (int h = EventStore.HALF_NAMES.length - 1; h > 0; h--) {
+                    if (raw.startsWith(EventStore.HALF_NAMES[h])) {
+                        half = h;
+                        break;
+                    }
                 }
-            }
-            if (!actionMatch) {
                 continue;
             }
+            action = actionIds.get(actionMatcher.group());
 
             if (raw.contains(log.color[0])) {
-                team = teams[0];
+                side = 0;
             } else if (raw.contains(log.color[1])) {
-                team = teams[1];
+                side = 1;
             } else {
-                team = "";
+                side = -1;
             }
 
-            player = "";
-            substitute = "";
-            // The optional by in the end is for substitution (the player that leaves is the first number).
-            String pattern = "("+log.color[0]+"|"+log.color[1]+")\\s*(\\d+)\\s*(by.*)?$";
-            Matcher matcher = Pattern.compile(pattern).matcher(raw);
-            if (matcher.find()) {
-                if (matcher.groupCount() >= 2) {
-                    player = matcher.group(2);
-                }
-                if (action.equals("Substituted") && matcher.groupCount() >= 3) {
-                    substitute = matcher.group(3).replaceAll("[^\\d.]", "");
+            player = 0;
+            substitute = 0;
+            if (playerMatcher.reset(raw).find()) {
+                player = parseNumber(playerMatcher.group(2));
+                if (action == actionIds.get("Substituted") && playerMatcher.group(3) != null) {
+                    substitute = parseNumber(playerMatcher.group(3).replaceAll("[^\\d]", ""));
                 }
             }
-            try{
-                LogAnalyzer.writer.write(time+OUT_SEP+action+OUT_SEP+team+OUT_SEP+player+OUT_SEP+substitute+OUT_SEP+teams[0]+OUT_SEP+teams[1]+"\n");
-            } catch (IOException e) {
-                Log.error("cannot write to file "+LogAnalyzer.stats);
-            }
+            store.add(time, action, side, player, substitute, half);
         }
     }
+
+    /**
+     * Parses the number of a player.
+     *
+     * @param number    The digits of the number.
+     * @return          The number or 0 if there is none or it is too large.
+     */
+    private static int parseNumber(String number)
+    {
+        return number.isEmpty() || number.length() > 2 ? 0 : Integer.parseInt(number);
+    }
 }
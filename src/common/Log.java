@@ -74,13 +74,17 @@ public class Log
     /**
      * Simply writes a line, beginning with a timestamp, in the file.
      * May be used to log something that should not be in the timeline.
+     * Does nothing if the Log was not initialised, e.g. in simulations.
      *
      * @param s     The string to be written in the file.
      */
     public static void toFile(String s)
     {
+        if (instance.file == null) {
+            return;
+        }
         try{
-            instance.file.write(timestampFormat.format(new Date(System.currentTimeMillis()))+": "+s+"\n");
+            instance.file.write(timestampFormat.format(new Date(TimeSource.getInstance().currentTimeMillis()))+": "+s+"\n");
             instance.file.flush();
         } catch (IOException e) {
             error("cannot write to logfile!");
@@ -127,6 +131,16 @@ public class Log
         toFile(message);
     }
 
+    /**
+     * Removes all states from the timeline, so that a new game can be
+     * started without restarting the application, e.g. in simulations.
+     */
+    public static void clearTimeline()
+    {
+        instance.states.clear();
+        instance.message = null;
+    }
+
     /**
      * Changes the data used in all actions via the EventHandler to a data from
      * the timeline. So this is the undo function.
@@ -241,14 +255,14 @@ public class Log
      *
      * @param s     The string to be written in the error-file.
      */
-    public static void error(String s)
+    public synchronized static void error(String s)
     {
         System.err.println(s);
         try{
             if (instance.errorFile == null) {
                 instance.errorFile = new FileWriter(new File(instance.errorPath));
             }
-            instance.errorFile.write(timestampFormat.format(new Date(System.currentTimeMillis()))+": "+s+"\n");
+            instance.errorFile.write(timestampFormat.format(new Date(TimeSource.getInstance().currentTimeMillis()))+": "+s+"\n");
             instance.errorFile.flush();
         } catch (IOException e) {
              System.err.println("cannot write to error file!");
@@ -0,0 +1,114 @@
+package common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The source of the time used for all game timing. By default, this is a
+ * monotonic clock that is not affected by changes of the system time (e.g.
+ * by NTP) during a game. Simulations can replace it by a virtual clock that
+ * only advances when told to.
+ */
+public abstract class TimeSource
+{
+    /** The time source currently used. */
+    private static volatile TimeSource instance = new Monotonic();
+
+    /**
+     * Returns the time source currently used.
+     *
+     * @return The time source.
+     */
+    public static TimeSource getInstance()
+    {
+        return instance;
+    }
+
+    /**
+     * Replaces the time source. This should only be done before a game
+     * starts, because timestamps taken from different sources are not
+     * compatible.
+     *
+     * @param timeSource The new time source.
+     */
+    public static void setInstance(TimeSource timeSource)
+    {
+        instance = timeSource;
+    }
+
+    /**
+     * Returns the current time.
+     *
+     * @return The current time in ms. Never 0, because 0 is used as "never"
+     * in many timestamps.
+     */
+    public abstract long currentTimeMillis();
+
+    /**
+     * A time source based on System.nanoTime(). It starts at the system time
+     * when it is created and then runs independently of it.
+     */
+    public static class Monotonic extends TimeSource
+    {
+        /** The system time when this time source was created. */
+        private final long startMillis = System.currentTimeMillis();
+        /** System.nanoTime() when this time source was created. */
+        private final long startNanos = System.nanoTime();
+
+        @Override
+        public long currentTimeMillis()
+        {
+            return startMillis + (System.nanoTime() - startNanos) / 1000000;
+        }
+    }
+
+    /**
+     * A time source that only advances when told to, e.g. to simulate whole
+     * games in a fraction of their real duration.
+     */
+    public static class Virtual extends TimeSource
+    {
+        /** The default start time (2001-09-09). */
+        public static final long DEFAULT_START = 1000000000000L;
+
+        /** The current time in ms. */
+        private final AtomicLong time;
+
+        /**
+         * Creates a new virtual time source starting at DEFAULT_START.
+         */
+        public Virtual()
+        {
+            this(DEFAULT_START);
+        }
+
+        /**
+         * Creates a new virtual time source.
+         *
+         * @param start The start time in ms. Must not be 0.
+         */
+        public Virtual(long start)
+        {
+            time = new AtomicLong(start);
+        }
+
+        @Override
+        public long currentTimeMillis()
+        {
+            return time.get();
+        }
+
+        /**
+         * Lets time pass.
+         *
+         * @param millis The duration in ms. Must not be negative.
+         * @return The new time in ms.
+         */
+        public long advance(long millis)
+        {
+            if (millis < 0) {
+                throw new IllegalArgumentException("time cannot run backwards");
+            }
+            return time.addAndGet(millis);
+        }
+    }
+}
@@ -12,24 +12,60 @@ public class GameControlReturnDataPackage implements Serializable {
     private static final long serialVersionUID = 3253050821684309808L;
 
     /**
-     * Host address from which this message was received.
+     * IPv4 address from which this message was received (see {@link IPv4}).
      */
-    public final String host;
+    public final int address;
+
+    /**
+     * Host address from which this message was received. This is only set in
+     * packages read from log files that were written before the address was
+     * stored as int. They are converted when they are read.
+     */
+    private final String host;
 
     /**
      * Raw message data.
      */
     public final byte[] message;
 
+    /**
+     * Address in dotted decimal notation, created when it is requested.
+     */
+    private transient String hostString;
+
     /**
      * Constructor.
      *
-     * @param host host address from which this message was received
+     * @param address IPv4 address from which this message was received
      * @param message raw message data
      */
-    public GameControlReturnDataPackage(final String host, final byte[] message) {
-        this.host = host;
+    public GameControlReturnDataPackage(final int address, final byte[] message) {
+        this.address = address;
+        host = null;
         this.message = message;
     }
 
+    /**
+     * Returns the address from which this message was received in dotted
+     * decimal notation.
+     *
+     * @return host address
+     */
+    public String getHost() {
+        if (hostString == null) {
+            hostString = IPv4.toString(address);
+        }
+        return hostString;
+    }
+
+    /**
+     * Converts packages from old log files, which stored the address as
+     * string.
+     *
+     * @return this package or a converted copy
+     */
+    private Object readResolve() {
+        return host != null ? new GameControlReturnDataPackage(IPv4.parse(host), message) : this;
+    }
+
 }
@@ -2,17 +2,19 @@ package common.net;
 
 import common.Log;
 import common.net.logging.Logger;
+import common.profiling.PacketEvent;
+import common.profiling.Profiling;
 import data.GameControlReturnData;
 import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
+import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
-import java.util.Arrays;
 import java.util.concurrent.LinkedBlockingQueue;
 
 /**
@@ -65,19 +67,29 @@ public class GameControlReturnDataReceiver extends Thread {
 
         @Override
         public void run() {
+            // Forwarded packets are received into one buffer, because only
+            // the packet after the address of the robot is kept
+            final byte[] forwardBuffer = forwarded ? new byte[FORWARD_HEADER_SIZE + GameControlReturnData.SIZE] : null;
+            final DatagramPacket forwardPacket = forwarded ? new DatagramPacket(forwardBuffer, forwardBuffer.length) : null;
             while (!isInterrupted()) {
-                final byte[] buffer = new byte[GameControlReturnData.SIZE];
-                final DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                final byte[] buffer = forwarded ? null : new byte[GameControlReturnData.SIZE];
+                final DatagramPacket packet = forwarded ? forwardPacket : new DatagramPacket(buffer, buffer.length);
 
                 try {
+                    packet.setLength(forwarded ? forwardBuffer.length : buffer.length);
                     datagramSocket.receive(packet);
 
                     if (processPackets()) {
                         if (!forwarded) {
-                            queue.add(new GameControlReturnDataPackage(packet.getAddress().getHostAddress(), buffer));
-                        } else {
-                            final String originalHost = InetAddress.getByAddress(Arrays.copyOfRange(buffer, 0, 4)).getHostAddress();
-                            queue.add(new GameControlReturnDataPackage(originalHost, Arrays.copyOfRange(buffer, 4, buffer.length)));
+                            // The league's networks only use IPv4
+                            if (packet.getAddress() instanceof Inet4Address) {
+                                queue.add(new GameControlReturnDataPackage(IPv4.of(packet.getAddress()), buffer));
+                            }
+                        } else if (packet.getLength() > FORWARD_HEADER_SIZE) {
+                            // Like received packets, the message has the full size
+                            final byte[] message = new byte[GameControlReturnData.SIZE];
+                            System.arraycopy(forwardBuffer, FORWARD_HEADER_SIZE, message, 0, packet.getLength() - FORWARD_HEADER_SIZE);
+                            queue.add(new GameControlReturnDataPackage(IPv4.fromBytes(forwardBuffer, 0), message));
                         }
                     }
                 } catch (SocketTimeoutException e) { // ignore, because we set a timeout
@@ -90,6 +102,11 @@ public class GameControlReturnDataReceiver extends Thread {
         }
     }
 
+    /**
+     * Size of the IPv4 address of the robot that precedes forwarded packets.
+     */
+    private static final int FORWARD_HEADER_SIZE = 4;
+
     private final ReceiverThread receiver;
     private final LinkedBlockingQueue<GameControlReturnDataPackage> queue = new LinkedBlockingQueue<>();
 
@@ -137,12 +154,18 @@ public class GameControlReturnDataReceiver extends Thread {
             // Handle received packages
             while (!isInterrupted()) {
                 final GameControlReturnDataPackage p = queue.take();
+                final PacketEvent event = Profiling.ENABLED ? new PacketEvent() : null;
 
                 // Log package
                 Logger.getInstance().log(p);
 
                 // Handle message
                 handleMessage(p);
+                if (event != null) {
+                    event.receiver = getClass().getSimpleName();
+                    event.host = p.getHost();
+                    event.commit();
+                }
                 Thread.yield();
             }
         } catch (InterruptedException ex) {
@@ -166,6 +189,16 @@ public class GameControlReturnDataReceiver extends Thread {
         queue.add(p);
     }
 
+    /**
+     * Returns the number of packages that were received but not yet logged
+     * and handled.
+     *
+     * @return number of packages
+     */
+    public int getBacklog() {
+        return queue.size();
+    }
+
     /**
      * Removes all pending packages from the queue.
      */
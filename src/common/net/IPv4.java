@@ -0,0 +1,100 @@
+package common.net;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+
+/**
+ * Utility methods for IPv4 addresses that are stored as an int (the first
+ * byte of the address in the most significant byte), so they can be passed
+ * around, compared and hashed without creating objects.
+ */
+public final class IPv4 {
+
+    private IPv4() {
+    }
+
+    /**
+     * Reads an address from four bytes in network byte order.
+     *
+     * @param bytes array containing the address
+     * @param offset index of the first byte of the address
+     * @return the address
+     */
+    public static int fromBytes(final byte[] bytes, final int offset) {
+        return ((bytes[offset] & 0xFF) << 24)
+                | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8)
+                | (bytes[offset + 3] & 0xFF);
+    }
+
+    /**
+     * Creates an address from its four parts.
+     *
+     * @param a first part
+     * @param b second part
+     * @param c third part
+     * @param d fourth part
+     * @return the address
+     */
+    public static int of(final int a, final int b, final int c, final int d) {
+        return ((a & 0xFF) << 24) | ((b & 0xFF) << 16) | ((c & 0xFF) << 8) | (d & 0xFF);
+    }
+
+    /**
+     * Converts an InetAddress.
+     *
+     * @param address the InetAddress, which must be an Inet4Address
+     * @return the address
+     */
+    public static int of(final InetAddress address) {
+        if (!(address instanceof Inet4Address)) {
+            throw new IllegalArgumentException(address + " is not an IPv4 address");
+        }
+        return fromBytes(address.getAddress(), 0);
+    }
+
+    /**
+     * Parses an address in dotted decimal notation.
+     *
+     * @param host the address as string
+     * @return the address or 0 if the string is not an IPv4 address
+     */
+    public static int parse(final String host) {
+        int address = 0;
+        int part = 0;
+        int digits = 0;
+        int dots = 0;
+        for (int i = 0; i < host.length(); i++) {
+            final char c = host.charAt(i);
+            if (c >= '0' && c <= '9' && digits < 3) {
+                part = part * 10 + (c - '0');
+                digits++;
+            } else if (c == '.' && digits > 0 && dots < 3) {
+                address = (address << 8) | part;
+                part = 0;
+                digits = 0;
+                dots++;
+            } else {
+                return 0;
+            }
+            if (part > 255) {
+                return 0;
+            }
+        }
+        return dots == 3 && digits > 0 ? (address << 8) | part : 0;
+    }
+
+    /**
+     * Formats an address in dotted decimal notation.
+     *
+     * @param address the address
+     * @return the address as string
+     */
+    public static String toString(final int address) {
+        return new StringBuilder(15)
+                .append(address >>> 24).append('.')
+                .append((address >>> 16) & 0xFF).append('.')
+                .append((address >>> 8) & 0xFF).append('.')
+                .append(address & 0xFF).toString();
+    }
+}
@@ -2,6 +2,8 @@ package common.net;
 
 import common.Log;
 import common.net.logging.Logger;
+import common.profiling.PacketEvent;
+import common.profiling.Profiling;
 import data.SPLStandardMessage;
 import java.io.IOException;
 import java.net.InetAddress;
@@ -92,9 +94,9 @@ public class SPLStandardMessageReceiver extends Thread {
 
                             if (address != null && processPackets()) {
                                 if (multicast) {
-                                    queue.add(new SPLStandardMessagePackage("10.0." + team + "." + buffer.get(5), team, buffer.array()));
+                                    queue.add(new SPLStandardMessagePackage(IPv4.of(10, 0, team, buffer.get(5)), team, buffer.array()));
                                 } else {
-                                    queue.add(new SPLStandardMessagePackage(address.getAddress().getHostAddress(), team, buffer.array()));
+                                    queue.add(new SPLStandardMessagePackage(IPv4.of(address.getAddress()), team, buffer.array()));
                                 }
                             }
 
@@ -156,12 +158,19 @@ public class SPLStandardMessageReceiver extends Thread {
             // Handle received packages
             while (!isInterrupted()) {
                 final SPLStandardMessagePackage p = queue.take();
+                final PacketEvent event = Profiling.ENABLED ? new PacketEvent() : null;
 
                 // Log package
                 Logger.getInstance().log(p);
 
                 // Handle message
                 handleMessage(p);
+                if (event != null) {
+                    event.receiver = getClass().getSimpleName();
+                    event.host = p.getHost();
+                    event.team = p.team;
+                    event.commit();
+                }
                 Thread.yield();
             }
         } catch (InterruptedException ex) {
@@ -185,6 +194,16 @@ public class SPLStandardMessageReceiver extends Thread {
         queue.add(p);
     }
 
+    /**
+     * Returns the number of packages that were received but not yet logged
+     * and handled.
+     *
+     * @return number of packages
+     */
+    public int getBacklog() {
+        return queue.size();
+    }
+
     /**
      * Removes all pending packages from the queue.
      */
@@ -3,7 +3,10 @@ package common.net.logging;
 import common.Log;
 import common.net.SPLStandardMessagePackage;
 import common.net.GameControlReturnDataPackage;
+import common.profiling.LogWriteEvent;
+import common.profiling.Profiling;
 import data.GameControlData;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -11,6 +14,10 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Singleton class for logging received messages.
@@ -21,16 +28,45 @@ public class Logger {
 
     private static final String LOG_DIRECTORY = "logs_teamcomm";
 
+    /**
+     * Number of objects after which the stream forgets the objects written so
+     * far. Otherwise, it would keep a reference to every logged package.
+     */
+    private static final int RESET_INTERVAL = 1000;
+
+    /**
+     * Interval in milliseconds in which the output buffer is flushed, i.e.
+     * the maximum time logged objects stay in it.
+     */
+    private static final long FLUSH_INTERVAL = 1000;
+
     private static final Logger instance = new Logger();
 
     private File logFile;
     private ObjectOutputStream logger;
     private long beginTimestamp;
+    private boolean unflushed;
+    private int objectsSinceReset;
     private boolean enabled = true;
     private boolean isReplaying = false;
 
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "Logger");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
     private Logger() {
         createLogfile();
+        flusher.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -108,6 +144,7 @@ public class Logger {
                         Log.error("something went wrong while closing logfile: " + e.getMessage());
                     }
                     logger = null;
+                    unflushed = false;
                 }
                 if (logFile != null) {
                     if (logFile.exists() && logFile.length() <= 4) {
@@ -155,18 +192,20 @@ public class Logger {
      */
     public <T extends Serializable> void log(final Class<T> cls, final T p) {
         if (enabled && !isReplaying) {
+            final LogWriteEvent event = Profiling.ENABLED ? new LogWriteEvent() : null;
             boolean error = false;
             synchronized (this) {
                 if (logFile != null) {
                     // Open stream if needed
                     if (logger == null) {
                         try {
-                            logger = new ObjectOutputStream(new FileOutputStream(logFile));
+                            logger = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(logFile)));
                         } catch (IOException ex) {
                             Log.error("error while opening logfile: " + ex.getMessage());
                             error = true;
                         }
                         beginTimestamp = System.currentTimeMillis();
+                        objectsSinceReset = 0;
                     }
 
                     // Log object
@@ -176,8 +215,20 @@ public class Logger {
                         if (p == null) {
                             logger.writeInt(getIDForClass(cls));
                         } else {
+                            if (p instanceof GameControlData) {
+                                // The TrueDataSender logs the same instance
+                                // with new times, so it must not be written
+                                // as a reference to an earlier state
+                                logger.reset();
+                                objectsSinceReset = 0;
+                            }
                             logger.writeObject(p);
+                            if (++objectsSinceReset >= RESET_INTERVAL) {
+                                logger.reset();
+                                objectsSinceReset = 0;
+                            }
                         }
+                        unflushed = true;
                     } catch (IOException ex) {
                         Log.error("error while writing to logfile: " + ex.getMessage());
                         error = true;
@@ -188,6 +239,34 @@ public class Logger {
             if (error) {
                 closeLogfile();
             }
+            if (event != null) {
+                event.objectClass = cls.getSimpleName();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Writes the objects logged since the last flush to the log file, so they
+     * are not lost if the application is killed. It is called regularly, also
+     * if nothing is logged for a while.
+     */
+    private void flush() {
+        boolean error = false;
+        synchronized (this) {
+            if (logger != null && unflushed) {
+                try {
+                    logger.flush();
+                    unflushed = false;
+                } catch (IOException ex) {
+                    Log.error("error while writing to logfile: " + ex.getMessage());
+                    error = true;
+                }
+            }
+        }
+
+        if (error) {
+            closeLogfile();
         }
     }
 
@@ -0,0 +1,29 @@
+package common.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * The time an action of the GameController waits from being registered
+ * until it is performed in the GUI thread.
+ */
+@Name("robocup.Action")
+@Label("Action Latency")
+@Category({"RoboCup", "GUI"})
+@Description("Time an action waits from being registered until it is performed in the GUI thread")
+@Threshold("10 ms")
+public class ActionEvent extends jdk.jfr.Event {
+
+    @Label("Action Class")
+    public String actionClass;
+
+    /**
+     * Constructor. Starts timing the event.
+     */
+    public ActionEvent() {
+        begin();
+    }
+}
@@ -0,0 +1,31 @@
+package common.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Decoding of an SPLStandardMessage, including the team-specific part.
+ */
+@Name("robocup.Decode")
+@Label("Decode")
+@Category({"RoboCup", "Network"})
+@Description("Decoding of an SPLStandardMessage, including the team-specific part")
+@Threshold("1 ms")
+public class DecodeEvent extends jdk.jfr.Event {
+
+    @Label("Message Class")
+    public String messageClass;
+
+    @Label("Team")
+    public int team;
+
+    /**
+     * Constructor. Starts timing the event.
+     */
+    public DecodeEvent() {
+        begin();
+    }
+}
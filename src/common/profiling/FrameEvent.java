@@ -0,0 +1,29 @@
+package common.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Drawing of a frame of a 3D view. Only frames that take longer than 20 ms,
+ * i.e. that cannot be drawn at 50 fps, are recorded.
+ */
+@Name("robocup.Frame")
+@Label("Frame")
+@Category({"RoboCup", "GUI"})
+@Description("Drawing of a frame of a 3D view")
+@Threshold("20 ms")
+public class FrameEvent extends jdk.jfr.Event {
+
+    @Label("View")
+    public String view;
+
+    /**
+     * Constructor. Starts timing the event.
+     */
+    public FrameEvent() {
+        begin();
+    }
+}
@@ -0,0 +1,31 @@
+package common.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Update of the monitored game state by a message from a robot.
+ */
+@Name("robocup.GameState")
+@Label("Game State Update")
+@Category({"RoboCup", "Game State"})
+@Description("Update of the monitored game state by a message from a robot")
+@Threshold("1 ms")
+public class GameStateEvent extends jdk.jfr.Event {
+
+    @Label("Host")
+    public String host;
+
+    @Label("Team")
+    public int team;
+
+    /**
+     * Constructor. Starts timing the event.
+     */
+    public GameStateEvent() {
+        begin();
+    }
+}
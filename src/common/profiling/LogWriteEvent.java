@@ -0,0 +1,28 @@
+package common.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Writing of an object to the log file of received packets.
+ */
+@Name("robocup.LogWrite")
+@Label("Log Write")
+@Category({"RoboCup", "Logging"})
+@Description("Writing of an object to the log file of received packets")
+@Threshold("1 ms")
+public class LogWriteEvent extends jdk.jfr.Event {
+
+    @Label("Object Class")
+    public String objectClass;
+
+    /**
+     * Constructor. Starts timing the event.
+     */
+    public LogWriteEvent() {
+        begin();
+    }
+}
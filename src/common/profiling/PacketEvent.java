@@ -0,0 +1,35 @@
+package common.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Logging and handling of a packet received from a robot.
+ */
+@Name("robocup.Packet")
+@Label("Packet")
+@Category({"RoboCup", "Network"})
+@Description("Logging and handling of a packet received from a robot")
+@Threshold("1 ms")
+public class PacketEvent extends jdk.jfr.Event {
+
+    @Label("Receiver")
+    public String receiver;
+
+    @Label("Host")
+    public String host;
+
+    @Label("Team")
+    @Description("Team number of the port the message was received on (0 if unknown)")
+    public int team;
+
+    /**
+     * Constructor. Starts timing the event.
+     */
+    public PacketEvent() {
+        begin();
+    }
+}
@@ -0,0 +1,34 @@
+package common.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Call of a method of a team plugin.
+ */
+@Name("robocup.Plugin")
+@Label("Plugin Call")
+@Category({"RoboCup", "Plugins"})
+@Description("Call of a method of a team plugin")
+@Threshold("1 ms")
+public class PluginEvent extends jdk.jfr.Event {
+
+    @Label("Plugin Class")
+    public String pluginClass;
+
+    @Label("Method")
+    public String method;
+
+    /**
+     * Constructor. Starts timing the event.
+     *
+     * @param method name of the called method
+     */
+    public PluginEvent(final String method) {
+        this.method = method;
+        begin();
+    }
+}
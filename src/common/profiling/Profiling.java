@@ -0,0 +1,95 @@
+package common.profiling;
+
+import common.Log;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Entry point to the Java Flight Recorder events of the applications. The
+ * events are only created if the running JVM supports JFR (Java 8u272 or
+ * newer), so callers must check ENABLED before instantiating one of them:
+ *
+ * <pre>
+ * final PacketEvent event = Profiling.ENABLED ? new PacketEvent() : null;
+ * ...
+ * if (event != null) {
+ *     event.commit();
+ * }
+ * </pre>
+ *
+ * Creating and committing an event is cheap when no recording is running.
+ * Each event has a threshold, so only unusually slow occurrences of the
+ * frequent ones are recorded.
+ */
+public class Profiling {
+
+    /** Whether the JVM supports JFR and the events may be created. */
+    public static final boolean ENABLED = isAvailable();
+
+    /** How long the continuous recording keeps its data. */
+    private static final Duration MAX_AGE = Duration.ofHours(1);
+
+    private static Recording recording;
+
+    private Profiling() {
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder");
+            return jdk.jfr.FlightRecorder.isAvailable();
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Starts a continuous recording with the default JFR settings plus the
+     * events of the applications. It keeps the data of the last hour and is
+     * dumped to the given file when it is stopped or the JVM exits.
+     *
+     * @param path the file to write the recording to
+     * @return whether the recording was started
+     */
+    public static synchronized boolean startRecording(final String path) {
+        if (!ENABLED) {
+            Log.error("Java Flight Recorder is not available in this JVM (Java 8u272 or newer is required).");
+            return false;
+        }
+        try {
+            final Recording r = new Recording(Configuration.getConfiguration("default"));
+            r.setName("RoboCup");
+            r.setToDisk(true);
+            r.setMaxAge(MAX_AGE);
+            r.setDumpOnExit(true);
+            r.setDestination(Paths.get(path));
+            r.start();
+            recording = r;
+            return true;
+        } catch (IOException | ParseException | RuntimeException e) {
+            Log.error("Error while starting the flight recording: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Stops the recording started by startRecording and writes it to its
+     * file. Does nothing if no recording was started.
+     */
+    public static synchronized void stopRecording() {
+        if (recording != null) {
+            final Recording r = recording;
+            recording = null;
+            try {
+                r.stop();
+            } catch (IllegalStateException e) {
+                Log.error("Error while stopping the flight recording: " + e.getMessage());
+            }
+            r.close();
+        }
+    }
+}
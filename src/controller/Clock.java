@@ -1,18 +1,25 @@
 package controller;
 
 import controller.action.ActionBoard;
+import java.util.concurrent.TimeUnit;
 
 /**
  *
  * @author Michel Bartsch
  *
  * This class is no thread, it continous the main-thread and fires the action ClockTick.
+ *
+ * The ClockTick is not fired periodically. Instead, the EventHandler tells the
+ * Clock after every action when the next automatic transition is due (see
+ * {@link controller.action.clock.ClockTick#getNextDeadline}) and the Clock
+ * wakes up exactly at that moment. Independent of that, the GUI is refreshed
+ * every HEARTBEAT millis so that the clocks shown keep running.
  */
 public class Clock
 {
     /**
-     * The time in millis to sleep before next ClockTick. This does not mean
-     * it fires after this time, it will allways take some more millis depending
+     * The time in millis between two refreshes of the GUI. This does not mean
+     * it refreshes after this time, it will allways take some more millis depending
      * on the performance.
      */
     public static final int HEARTBEAT = 500; // 2Hz
@@ -23,6 +30,15 @@ public class Clock
     /** The thread of this clock. */
     private Thread thread;
 
+    /** Is a ClockTick pending? */
+    private boolean tickPending = true;
+    /** When is the pending ClockTick due (in terms of System.nanoTime())? */
+    private long tickDue = System.nanoTime();
+    /** The game time of the pending ClockTick. */
+    private long tickDeadline = Long.MIN_VALUE;
+    /** The game time of the last ClockTick fired. */
+    private long firedDeadline = Long.MIN_VALUE;
+
     /**
      * Returns the instance of the singleton. If the Clock wasn't initialized once before, a new instance will
      * be created and returned (lazy instantiation)
@@ -36,24 +52,69 @@ public class Clock
         }
         return instance;
     }
+
     /**
      * Lets the Clock start to run.
      */
     public void start()
     {
         thread = Thread.currentThread();
+        long nextRefresh = System.nanoTime();
         while (!thread.isInterrupted())
         {
-            ActionBoard.clock.actionPerformed(null);
+            boolean tick = false;
+            boolean refresh = false;
+            synchronized (this) {
+                final long now = System.nanoTime();
+                if (tickPending && now - tickDue >= 0) {
+                    tickPending = false;
+                    firedDeadline = tickDeadline;
+                    tick = true;
+                } else if (now - nextRefresh >= 0) {
+                    nextRefresh = now + TimeUnit.MILLISECONDS.toNanos(HEARTBEAT);
+                    refresh = true;
+                } else {
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(this, tickPending ? Math.min(nextRefresh - now, tickDue - now) : nextRefresh - now);
+                    } catch (InterruptedException e) {
+                        thread.interrupt();
+                    }
+                }
+            }
 
-            try {
-                Thread.sleep(HEARTBEAT);
-            } catch (InterruptedException e) {
-                thread.interrupt();
+            if (tick) {
+                ActionBoard.clock.actionPerformed(null);
+            } else if (refresh) {
+                EventHandler.getInstance().refresh();
             }
         }
     }
 
+    /**
+     * Sets the moment of the next ClockTick. If the same deadline was already
+     * fired without effect, it is only retried at the next HEARTBEAT.
+     *
+     * @param deadline  The game time (see data.AdvancedData#getTime) at which
+     *                  the next ClockTick is due or Long.MAX_VALUE if there is
+     *                  currently none.
+     * @param now       The current game time.
+     */
+    public synchronized void schedule(long deadline, long now)
+    {
+        if (deadline == Long.MAX_VALUE) {
+            tickPending = false;
+            return;
+        }
+        long delay = deadline <= now ? 0 : deadline - now;
+        if (deadline <= firedDeadline) {
+            delay = Math.max(delay, HEARTBEAT);
+        }
+        tickPending = true;
+        tickDeadline = deadline;
+        tickDue = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        notifyAll();
+    }
+
     public void interrupt()
     {
         thread.interrupt();
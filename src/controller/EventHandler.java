@@ -1,7 +1,11 @@
 package controller;
 
+import common.profiling.ActionEvent;
+import common.profiling.Profiling;
+import controller.action.ActionBoard;
 import controller.action.ActionType;
 import controller.action.GCAction;
+import controller.metrics.Metrics;
 import controller.net.Sender;
 import controller.ui.GCGUI;
 import data.AdvancedData;
@@ -99,9 +103,16 @@ public class EventHandler
         } else {
             // force all threads to perform action in GUI-thread, using
             // invokeLater to avoid deadlocks...
+            final long registerTime = System.nanoTime();
+            final ActionEvent latencyEvent = Profiling.ENABLED ? new ActionEvent() : null;
             EventQueue.invokeLater(new Runnable() {
                 @Override
                 public void run() {
+                    Metrics.actionQueueLatency.observeSince(registerTime);
+                    if (latencyEvent != null) {
+                        latencyEvent.actionClass = event.getClass().getSimpleName();
+                        latencyEvent.commit();
+                    }
                     if (event.isLegal(data)) {
                         event.perform(data);
                         update(event);
@@ -111,6 +122,25 @@ public class EventHandler
         }
     }
 
+    /**
+     * Performs an action right away in the calling thread instead of the
+     * GUI`s thread. This must only be used if there is no GUI running, e.g.
+     * when games are simulated.
+     *
+     * @param event     The action to perform.
+     *
+     * @return Whether the action was legal and has been performed.
+     */
+    public boolean performNow(GCAction event)
+    {
+        if (!event.isLegal(data)) {
+            return false;
+        }
+        event.perform(data);
+        update(event);
+        return true;
+    }
+
     /**
      * After the perform method this updates some attributes, calls the GUI`s
      * update method and changes the data to be send.
@@ -131,7 +161,26 @@ public class EventHandler
             noLastUIEvent = false;
             lastUIEvent = null;
         }
-        sender.send(data);
-        gui.update(data);
+        if (sender != null) {
+            sender.send(data);
+        }
+        if (gui != null) {
+            gui.update(data);
+        }
+        Clock.getInstance().schedule(ActionBoard.clock.getNextDeadline(data), data.getTime());
+    }
+
+    /**
+     * Lets the GUI show the current data again without performing an action,
+     * so that the clocks shown keep running. Can be called from any thread.
+     */
+    public void refresh()
+    {
+        EventQueue.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                gui.update(data);
+            }
+        });
     }
 }
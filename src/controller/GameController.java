@@ -3,7 +3,10 @@ package controller;
 import common.ApplicationLock;
 import common.Log;
 import common.net.logging.Logger;
+import common.profiling.Profiling;
 import controller.action.ActionBoard;
+import controller.metrics.Metrics;
+import controller.metrics.MetricsServer;
 import controller.net.GameControlReturnDataReceiverGC;
 import controller.net.Sender;
 import controller.net.SPLStandardMessageReceiverGC;
@@ -65,6 +68,8 @@ public class GameController {
             + "\n  --save <path>                   save state to a file on exit"
             + "\n  --team1 <team name or number>   select first team (default is 0)"
             + "\n  --team2 <team name or number>   select second team (default is 0)"
+            + "\n  --metrics <port>                serve metrics at http://127.0.0.1:<port>/metrics and via JMX"
+            + "\n  --jfr <path>                    record a flight recording and write it to a file on exit"
             + "\n";
     private static final String COMMAND_INTERFACE = "--interface";
     private static final String COMMAND_INTERFACE_SHORT = "-i";
@@ -84,6 +89,8 @@ public class GameController {
     private static final String COMMAND_SAVE = "--save";
     private static final String COMMAND_TEST = "--test";
     private static final String COMMAND_TEST_SHORT = "-t";
+    private static final String COMMAND_METRICS = "--metrics";
+    private static final String COMMAND_JFR = "--jfr";
 
     /**
      * The program starts here.
@@ -103,6 +110,8 @@ public class GameController {
         boolean limitedBroadcast = false;
         String loadPath = null, savePath = null;
         boolean multicast = false;
+        int metricsPort = 0;
+        String recordingPath = null;
 
         parsing:
         for (int i = 0; i < args.length; i++) {
@@ -168,6 +177,17 @@ public class GameController {
             } else if (args.length > i + 1 && args[i].equalsIgnoreCase(COMMAND_SAVE)) {
                 savePath = args[++i];
                 continue parsing;
+            } else if (args.length > i + 1 && args[i].equalsIgnoreCase(COMMAND_JFR)) {
+                recordingPath = args[++i];
+                continue parsing;
+            } else if (args.length > i + 1 && args[i].equalsIgnoreCase(COMMAND_METRICS)) {
+                try {
+                    metricsPort = Integer.parseInt(args[++i]);
+                    if (metricsPort > 0 && metricsPort < 65536) {
+                        continue parsing;
+                    }
+                } catch (NumberFormatException e) {
+                }
             }
             String leagues = "";
             for (Rules rules : Rules.LEAGUES) {
@@ -193,6 +213,11 @@ public class GameController {
             System.exit(0);
         }
 
+        //flight recording
+        if (recordingPath != null) {
+            Profiling.startRecording(recordingPath);
+        }
+
         //application-lock
         final ApplicationLock applicationLock = new ApplicationLock("GameController");
         try {
@@ -299,6 +324,9 @@ public class GameController {
             }
         }
 
+        //decode the team icons while the start dialog is set up
+        Teams.preloadIcons();
+
         //collect the start parameters and put them into the first data.
         StartInput input = new StartInput(!windowMode, gameType, teams, data != null);
         while (!input.finished) {
@@ -395,6 +423,19 @@ public class GameController {
         Log.toFile("Using broadcast address " + broadcastAddress);
         Log.toFile("Listening on address " + (Rules.league.dropBroadcastMessages ? localAddress.getAddress() : "0.0.0.0"));
 
+        //metrics
+        MetricsServer metricsServer = null;
+        if (metricsPort != 0) {
+            Metrics.setReceivers(splStandardMessageReceiver, gameControlReturnDataReceiver);
+            try {
+                metricsServer = new MetricsServer(metricsPort);
+                metricsServer.start();
+                Log.toFile("Serving metrics at http://127.0.0.1:" + metricsPort + "/metrics");
+            } catch (Exception e) {
+                Log.error("Error while setting up the metrics server: " + e.getMessage());
+            }
+        }
+
         //ui
         ActionBoard.init();
         Log.state(data, Teams.getNames(false)[data.team[0].teamNumber]
@@ -440,6 +481,10 @@ public class GameController {
         }
         Logger.getInstance().closeLogfile();
 
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
+
         gui.dispose();
 
         // Try to join SPLStandardMessageReceiver
@@ -455,6 +500,8 @@ public class GameController {
             Log.error("Error while trying to release the application lock.");
         }
 
+        Profiling.stopRecording();
+
         try {
             Log.close();
         } catch (IOException e) {
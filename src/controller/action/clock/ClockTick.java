@@ -5,7 +5,10 @@ import controller.action.ActionType;
 import controller.action.GCAction;
 import data.AdvancedData;
 import data.GameControlData;
+import data.PlayerInfo;
 import data.Rules;
+import data.SPL;
+import data.TeamInfo;
 
 /**
  * @author Michel Bartsch
@@ -68,6 +71,64 @@ public class ClockTick extends GCAction
         return true;
     }
 
+    /**
+     * Determines when this action will change the data next, i.e. when the
+     * next automatic transition is due.
+     *
+     * @param data      The current data to calculate the deadline by.
+     *
+     * @return The game time (see AdvancedData.getTime()) in ms at which the
+     *         next transition is due or Long.MAX_VALUE if there is none.
+     */
+    public long getNextDeadline(AdvancedData data)
+    {
+        if (data.manPause) {
+            return Long.MAX_VALUE;
+        }
+        long deadline = Long.MAX_VALUE;
+        if (data.gameState == GameControlData.STATE_READY) {
+            deadline = deadlineAfter(data.whenCurrentGameStateBegan, data.setPlay == GameControlData.SET_PLAY_PENALTY_KICK ? Rules.league.penaltyKickReadyTime : Rules.league.readyTime);
+        } else if (data.gameState == GameControlData.STATE_PLAYING) {
+            if (data.setPlay == GameControlData.SET_PLAY_GOAL_KICK
+                    || data.setPlay == GameControlData.SET_PLAY_PUSHING_FREE_KICK
+                    || data.setPlay == GameControlData.SET_PLAY_CORNER_KICK
+                    || data.setPlay == GameControlData.SET_PLAY_KICK_IN) {
+                deadline = deadlineAfter(data.whenCurrentSetPlayBegan, Rules.league.freeKickTime);
+            } else if (data.setPlay == GameControlData.SET_PLAY_PENALTY_KICK) {
+                deadline = deadlineAfter(data.whenCurrentGameStateBegan, Rules.league.penaltyShotTime);
+            }
+            if (data.gamePhase == GameControlData.GAME_PHASE_NORMAL && Rules.league instanceof SPL) {
+                for (TeamInfo team : data.team) {
+                    for (PlayerInfo player : team.player) {
+                        if (player.penalty == PlayerInfo.PENALTY_SPL_ILLEGAL_MOTION_IN_SET) {
+                            deadline = Math.min(deadline, deadlineAfter(data.whenCurrentGameStateBegan, Rules.league.delayedSwitchToPlaying));
+                        }
+                    }
+                }
+            }
+        } else if (data.gameState == GameControlData.STATE_FINISHED && data.getRemainingPauseTime() != null) {
+            if (data.firstHalf == GameControlData.C_TRUE) {
+                deadline = deadlineAfter(data.whenCurrentGameStateBegan, Rules.league.pauseTime - Rules.league.pauseTime / 2);
+            } else if (data.gamePhase != GameControlData.GAME_PHASE_PENALTYSHOOT) {
+                deadline = deadlineAfter(data.whenCurrentGameStateBegan, Rules.league.pausePenaltyShootOutTime - Rules.league.pausePenaltyShootOutTime / 2);
+            }
+        }
+        return deadline;
+    }
+
+    /**
+     * The moment at which AdvancedData.getSecondsSince(millis) reaches the
+     * given number of seconds.
+     *
+     * @param millis    The timestamp in ms.
+     * @param seconds   The number of seconds.
+     * @return The game time in ms.
+     */
+    private static long deadlineAfter(long millis, int seconds)
+    {
+        return millis == 0 ? Long.MIN_VALUE : millis + seconds * 1000L;
+    }
+
     public boolean isClockRunning(AdvancedData data)
     {
         boolean halfNotStarted = data.timeBeforeCurrentGameState == 0 && data.gameState != GameControlData.STATE_PLAYING;
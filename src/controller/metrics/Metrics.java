@@ -0,0 +1,211 @@
+package controller.metrics;
+
+import common.net.GameControlReturnDataReceiver;
+import common.net.SPLStandardMessageReceiver;
+import controller.net.RobotWatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The measurements of the GameController's networking and event handling.
+ * All counters are lock-free (LongAdder), so updating them does not disturb
+ * the threads they are updated from. The values are collected when they are
+ * requested through the MetricsServer or JMX.
+ */
+public class Metrics {
+
+    /**
+     * A family of samples with the same name, e.g. one sample per team.
+     */
+    public static class Family {
+
+        public final String name;
+        public final String type;
+        public final String help;
+        public final List<String> suffixes = new ArrayList<>();
+        public final List<String> labels = new ArrayList<>();
+        public final List<Double> values = new ArrayList<>();
+
+        Family(final String name, final String type, final String help) {
+            this.name = name;
+            this.type = type;
+            this.help = help;
+        }
+
+        void add(final String labels, final double value) {
+            add("", labels, value);
+        }
+
+        void add(final String suffix, final String labels, final double value) {
+            suffixes.add(suffix);
+            this.labels.add(labels);
+            values.add(value);
+        }
+    }
+
+    private static final String PREFIX = "gamecontroller_";
+
+    /** GameControlData packets broadcast by the Sender. */
+    public static final LongAdder packetsSent = new LongAdder();
+    /** True GameControlData packets sent by the TrueDataSender. */
+    public static final LongAdder trueDataPacketsSent = new LongAdder();
+    /** GameControlReturnData packets forwarded by the TrueDataSender. */
+    public static final LongAdder returnPacketsForwarded = new LongAdder();
+    /** Packets that could not be sent. */
+    public static final LongAdder sendErrors = new LongAdder();
+    /** Deviation of the Sender's period from 500 ms. */
+    public static final Summary sendPeriodJitter = new Summary();
+    /** Deviation of the TrueDataSender's period from 500 ms. */
+    public static final Summary trueDataSendPeriodJitter = new Summary();
+    /** Time needed to clone the game state for the senders. */
+    public static final Summary cloneTime = new Summary();
+    /** Time needed to encode GameControlData. */
+    public static final Summary encodeTime = new Summary();
+    /** Time between registering an action and performing it in the GUI thread. */
+    public static final Summary actionQueueLatency = new Summary();
+    /** GameControlReturnData packets that were not valid. */
+    public static final LongAdder invalidReturnPackets = new LongAdder();
+
+    private static final ConcurrentHashMap<Integer, LongAdder> teamMessages = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Integer, LongAdder> returnPackets = new ConcurrentHashMap<>();
+
+    private static volatile SPLStandardMessageReceiver splStandardMessageReceiver;
+    private static volatile GameControlReturnDataReceiver gameControlReturnDataReceiver;
+
+    private Metrics() {
+    }
+
+    /**
+     * Counts a team message received from the given team.
+     *
+     * @param team the team number
+     */
+    public static void teamMessageReceived(final int team) {
+        counter(teamMessages, team).increment();
+    }
+
+    /**
+     * Counts a valid GameControlReturnData packet received from the given
+     * team.
+     *
+     * @param team the team number
+     */
+    public static void returnPacketReceived(final int team) {
+        counter(returnPackets, team).increment();
+    }
+
+    private static LongAdder counter(final ConcurrentHashMap<Integer, LongAdder> counters, final int team) {
+        LongAdder counter = counters.get(team);
+        if (counter == null) {
+            final LongAdder newCounter = new LongAdder();
+            counter = counters.putIfAbsent(team, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * Sets the receivers whose queues of packets that are still to be logged
+     * and handled are measured.
+     *
+     * @param splStandardMessageReceiver the receiver of team messages
+     * @param gameControlReturnDataReceiver the receiver of return packets
+     */
+    public static void setReceivers(final SPLStandardMessageReceiver splStandardMessageReceiver, final GameControlReturnDataReceiver gameControlReturnDataReceiver) {
+        Metrics.splStandardMessageReceiver = splStandardMessageReceiver;
+        Metrics.gameControlReturnDataReceiver = gameControlReturnDataReceiver;
+    }
+
+    /**
+     * Collects the current values of all metrics.
+     *
+     * @return the families of samples
+     */
+    public static List<Family> collect() {
+        final List<Family> families = new ArrayList<>();
+
+        Family f = family(families, "packets_sent_total", "counter", "Packets sent by the GameController.");
+        f.add("sender=\"broadcast\"", packetsSent.sum());
+        f.add("sender=\"true_data\"", trueDataPacketsSent.sum());
+        f.add("sender=\"return_data_forward\"", returnPacketsForwarded.sum());
+        family(families, "send_errors_total", "counter", "Packets that could not be sent.").add("", sendErrors.sum());
+        summary(families, "send_period_jitter_seconds", "Deviation of the send period from 500 ms.", "sender=\"broadcast\"", sendPeriodJitter, "sender=\"true_data\"", trueDataSendPeriodJitter);
+
+        f = family(families, "team_messages_received_total", "counter", "Team messages received per team.");
+        for (final Map.Entry<Integer, LongAdder> e : teamMessages.entrySet()) {
+            f.add("team=\"" + e.getKey() + "\"", e.getValue().sum());
+        }
+        f = family(families, "return_packets_received_total", "counter", "Valid GameControlReturnData packets received per team.");
+        for (final Map.Entry<Integer, LongAdder> e : returnPackets.entrySet()) {
+            f.add("team=\"" + e.getKey() + "\"", e.getValue().sum());
+        }
+        family(families, "return_packets_invalid_total", "counter", "Invalid GameControlReturnData packets received.").add("", invalidReturnPackets.sum());
+
+        f = family(families, "robot_last_seen_age_seconds", "gauge", "Time since the last GameControlReturnData packet of each robot.");
+        final List<RobotWatcher.Statistics> robots = RobotWatcher.getStatistics();
+        final long now = System.currentTimeMillis();
+        for (final RobotWatcher.Statistics r : robots) {
+            f.add(robotLabels(r), (now - r.lastAnswer) / 1000.0);
+        }
+        f = family(families, "robot_answer_interval_seconds", "histogram", "Time between two GameControlReturnData packets of each robot.");
+        for (final RobotWatcher.Statistics r : robots) {
+            final String labels = robotLabels(r);
+            long count = 0;
+            for (int i = 0; i < r.histogram.length; i++) {
+                count += r.histogram[i];
+                final String le = i < RobotWatcher.HISTOGRAM_BOUNDS.length ? Double.toString(RobotWatcher.HISTOGRAM_BOUNDS[i] / 1000.0) : "+Inf";
+                f.add("_bucket", labels + ",le=\"" + le + "\"", count);
+            }
+            f.add("_count", labels, count);
+            f.add("_sum", labels, r.intervalSum / 1000.0);
+        }
+        f = family(families, "robot_answers_lost_total", "counter", "Estimated GameControlReturnData packets of each robot that were lost.");
+        for (final RobotWatcher.Statistics r : robots) {
+            f.add(robotLabels(r), r.lostAnswers);
+        }
+
+        summary(families, "action_queue_latency_seconds", "Time between registering an action and performing it in the GUI thread.", "", actionQueueLatency);
+        summary(families, "clone_seconds", "Time needed to clone the game state for the senders.", "", cloneTime);
+        summary(families, "encode_seconds", "Time needed to encode GameControlData.", "", encodeTime);
+
+        f = family(families, "log_backlog_packets", "gauge", "Received packets not yet logged and handled.");
+        if (splStandardMessageReceiver != null) {
+            f.add("receiver=\"team_messages\"", splStandardMessageReceiver.getBacklog());
+        }
+        if (gameControlReturnDataReceiver != null) {
+            f.add("receiver=\"return_data\"", gameControlReturnDataReceiver.getBacklog());
+        }
+        return families;
+    }
+
+    private static String robotLabels(final RobotWatcher.Statistics r) {
+        return "team=\"" + r.teamNumber + "\",player=\"" + r.playerNumber + "\"";
+    }
+
+    private static Family family(final List<Family> families, final String name, final String type, final String help) {
+        final Family f = new Family(PREFIX + name, type, help);
+        families.add(f);
+        return f;
+    }
+
+    /**
+     * Adds a summary and a gauge of its maximum for each pair of labels and
+     * summary given.
+     */
+    private static void summary(final List<Family> families, final String name, final String help, final Object... labelsAndSummaries) {
+        final Family summary = family(families, name, "summary", help);
+        final Family max = family(families, name.replace("_seconds", "_max_seconds"), "gauge", "Maximum of " + PREFIX + name + " since the start.");
+        for (int i = 0; i < labelsAndSummaries.length; i += 2) {
+            final String labels = (String) labelsAndSummaries[i];
+            final Summary s = (Summary) labelsAndSummaries[i + 1];
+            summary.add("_count", labels, s.getCount());
+            summary.add("_sum", labels, s.getSum());
+            max.add(labels, s.getMax());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package controller.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the Metrics, registered as controller:type=Metrics.
+ */
+public interface MetricsMXBean {
+
+    /**
+     * Returns the current values of all metrics.
+     *
+     * @return the values by the names of the samples in the Prometheus text
+     * format, including their labels
+     */
+    Map<String, Double> getMetrics();
+}
@@ -0,0 +1,114 @@
+package controller.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Publishes the Metrics via HTTP in the Prometheus text format at
+ * http://127.0.0.1:&lt;port&gt;/metrics and via JMX. The HTTP server only
+ * listens on the loopback interface, so it is not reachable from the robot
+ * network.
+ */
+public class MetricsServer implements MetricsMXBean {
+
+    private static final String PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String OBJECT_NAME = "controller:type=Metrics";
+
+    private final HttpServer server;
+
+    /**
+     * Creates the server and registers the MXBean.
+     *
+     * @param port the port to listen on
+     * @throws IOException if the port could not be bound
+     * @throws JMException if the MXBean could not be registered
+     */
+    public MetricsServer(final int port) throws IOException, JMException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(PATH, new HttpHandler() {
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                final byte[] body = format().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (final OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        });
+        server.setExecutor(Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable r) {
+                final Thread thread = new Thread(r, "MetricsServer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        }));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+    }
+
+    /**
+     * Starts answering requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops answering requests and unregisters the MXBean.
+     */
+    public void stop() {
+        server.stop(0);
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+        }
+    }
+
+    @Override
+    public Map<String, Double> getMetrics() {
+        final Map<String, Double> metrics = new LinkedHashMap<>();
+        for (final Metrics.Family f : Metrics.collect()) {
+            for (int i = 0; i < f.values.size(); i++) {
+                metrics.put(sampleName(f, i), f.values.get(i));
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Formats all metrics in the Prometheus text format.
+     *
+     * @return the text
+     */
+    static String format() {
+        final StringBuilder text = new StringBuilder();
+        for (final Metrics.Family f : Metrics.collect()) {
+            text.append("# HELP ").append(f.name).append(' ').append(f.help).append('\n');
+            text.append("# TYPE ").append(f.name).append(' ').append(f.type).append('\n');
+            for (int i = 0; i < f.values.size(); i++) {
+                text.append(sampleName(f, i)).append(' ').append(f.values.get(i)).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    private static String sampleName(final Metrics.Family f, final int i) {
+        final String labels = f.labels.get(i);
+        return f.name + f.suffixes.get(i) + (labels.isEmpty() ? "" : "{" + labels + "}");
+    }
+}
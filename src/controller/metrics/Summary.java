@@ -0,0 +1,62 @@
+package controller.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Summary of observed durations: how many there were, their sum and their
+ * maximum. Observing is lock-free, so it can be done in the hot paths.
+ */
+public class Summary {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Adds an observed duration.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void observe(final long nanos) {
+        count.increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    /**
+     * Adds the time passed since the given start time.
+     *
+     * @param startNanos the start time (see System.nanoTime())
+     */
+    public void observeSince(final long startNanos) {
+        observe(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Returns the number of observed durations.
+     *
+     * @return the number
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the sum of the observed durations.
+     *
+     * @return the sum in seconds
+     */
+    public double getSum() {
+        return sum.sum() / 1e9;
+    }
+
+    /**
+     * Returns the longest observed duration.
+     *
+     * @return the maximum in seconds
+     */
+    public double getMax() {
+        return max.get() / 1e9;
+    }
+}
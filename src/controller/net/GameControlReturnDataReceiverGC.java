@@ -2,6 +2,7 @@ package controller.net;
 
 import common.net.GameControlReturnDataPackage;
 import common.net.GameControlReturnDataReceiver;
+import controller.metrics.Metrics;
 import data.GameControlReturnData;
 import data.Rules;
 import java.net.InetAddress;
@@ -25,9 +26,11 @@ public class GameControlReturnDataReceiverGC extends GameControlReturnDataReceiv
         GameControlReturnData player = new GameControlReturnData();
         player.fromByteArray(ByteBuffer.wrap(p.message));
         if (!(player.headerValid && player.versionValid && player.playerNumValid && player.teamNumValid)) {
+            Metrics.invalidReturnPackets.increment();
             return;
         }
 
+        Metrics.returnPacketReceived(player.teamNum);
         RobotWatcher.update(player);
     }
 }
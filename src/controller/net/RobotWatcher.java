@@ -1,24 +1,116 @@
 package controller.net;
 
-import controller.EventHandler;
+import data.AdvancedData;
 import data.GameControlReturnData;
 import data.Rules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * @author Marcel Steinbeck, Michel Bartsch
  *
  * You can ask this class about the robots online-status.
  *
+ * The answers of the robots are recorded without locking: each robot has its
+ * own atomic timestamp, a histogram of the time between its answers and an
+ * estimate of how many answers were lost. Which teams play on which side is
+ * published by the GUI-thread as an immutable snapshot, so the network thread
+ * never reads the data the GUI-thread modifies.
+ *
  * This class is a sigleton!
  */
 public class RobotWatcher
 {
+    /**
+     * The statistics of a robot at the time they were requested.
+     */
+    public static class Statistics
+    {
+        /** The team number of the robot. */
+        public final int teamNumber;
+        /** The player number of the robot. */
+        public final int playerNumber;
+        /** When the last answer was received (0 if there was none yet). */
+        public final long lastAnswer;
+        /** The number of answers received. */
+        public final long answers;
+        /** The estimated number of answers that were lost. */
+        public final long lostAnswers;
+        /** The sum of the times between two answers in milliseconds. */
+        public final long intervalSum;
+        /** The number of times between two answers per bucket of HISTOGRAM_BOUNDS. */
+        public final long[] histogram;
+
+        private Statistics(int teamNumber, int playerNumber, Robot robot)
+        {
+            this.teamNumber = teamNumber;
+            this.playerNumber = playerNumber;
+            lastAnswer = robot.lastAnswer.get();
+            answers = robot.answers.get();
+            lostAnswers = robot.lostAnswers.get();
+            intervalSum = robot.intervalSum.get();
+            histogram = new long[robot.histogram.length()];
+            for (int i=0; i<histogram.length; i++) {
+                histogram[i] = robot.histogram.get(i);
+            }
+        }
+    }
+
+    /** The answers of a single robot. */
+    private static class Robot
+    {
+        /** A timestamp when the last reply was received (0 if none). */
+        final AtomicLong lastAnswer = new AtomicLong();
+        final AtomicLong answers = new AtomicLong();
+        final AtomicLong lostAnswers = new AtomicLong();
+        final AtomicLong intervalSum = new AtomicLong();
+        final AtomicLongArray histogram = new AtomicLongArray(HISTOGRAM_BOUNDS.length + 1);
+        /*
+         * The following fields are only used by the network thread.
+         */
+        /** The first times between two answers, from which the estimate is seeded. */
+        final long[] seedIntervals = new long[SEED_INTERVALS];
+        /** The number of times in seedIntervals. */
+        int seeded = 0;
+        /** The estimated regular time between two answers (0 if unknown). */
+        double interval = 0;
+        /** The number of irregularly long times between two answers in a row. */
+        int irregular = 0;
+        /** The answers lost in the last irregular time, if it stays single. */
+        long pendingLostAnswers = 0;
+    }
+
+    /**
+     * The upper bounds (in millis) of the buckets of the histograms of the
+     * times between two answers. The last bucket has no upper bound.
+     */
+    public static final long[] HISTOGRAM_BOUNDS = {100, 250, 500, 750, 1000, 1500, 2000, 4000};
+
+    /**
+     * The number of times between two answers from whose median the estimate
+     * of the regular time is seeded, so single duplicated or delayed answers
+     * do not distort it.
+     */
+    private final static int SEED_INTERVALS = 5;
+
+    /** The number of team numbers for which answers can be recorded. */
+    private final static int MAX_TEAMS = 256;
+
     /** The instance of the singleton. */
-    private static RobotWatcher instance = new RobotWatcher();
+    private static final RobotWatcher instance = new RobotWatcher();
 
-    /** A timestamp when the last reply from each robot was received. */
-    private long [][] robotsLastAnswer = new long[2][Rules.league.teamSize];
-    /** The calculated information about the online-status. */
+    /** The answers of the robots by team number, created when needed. */
+    private final AtomicReferenceArray<Robot[]> robots = new AtomicReferenceArray<>(MAX_TEAMS);
+    /**
+     * The team numbers of the teams on the left and right side. The array is
+     * replaced when they change, never modified.
+     */
+    private volatile int[] teamNumbers = {-1, -1};
+    /** The calculated information about the online-status. Only used by the GUI-thread. */
     private RobotOnlineStatus [][] status = new RobotOnlineStatus[2][Rules.league.teamSize];
 
     /** What the constants name says. */
@@ -38,47 +130,155 @@ public class RobotWatcher
     }
 
     /**
-     * Recieves robots' answers to update corresponding timestamps.
+     * Recieves robots' answers to update corresponding timestamps. This must
+     * only be called by a single thread.
      *
      * @param gameControlReturnData     The robot's answer.
      */
-    public static synchronized void update(GameControlReturnData gameControlReturnData)
+    public static void update(GameControlReturnData gameControlReturnData)
     {
-        int team, number;
-        if (gameControlReturnData.teamNum == EventHandler.getInstance().data.team[0].teamNumber) {
-            team = 0;
-        } else if (gameControlReturnData.teamNum == EventHandler.getInstance().data.team[1].teamNumber) {
-            team = 1;
-        } else {
+        final int[] teamNumbers = instance.teamNumbers;
+        final int team = gameControlReturnData.teamNum & 0xFF;
+        if (team != teamNumbers[0] && team != teamNumbers[1]) {
             return;
         }
-        number = gameControlReturnData.playerNum;
+        final int number = gameControlReturnData.playerNum;
         if (number <= 0 || number > Rules.league.teamSize) {
             return;
         }
-        instance.robotsLastAnswer[team][number-1] = System.currentTimeMillis();
+
+        Robot[] robots = instance.robots.get(team);
+        if (robots == null) {
+            robots = new Robot[Rules.league.teamSize];
+            for (int i=0; i<robots.length; i++) {
+                robots[i] = new Robot();
+            }
+            instance.robots.set(team, robots);
+        }
+        final Robot robot = robots[number-1];
+
+        final long currentTime = System.currentTimeMillis();
+        final long previousAnswer = robot.lastAnswer.getAndSet(currentTime);
+        robot.answers.incrementAndGet();
+        if (previousAnswer != 0) {
+            final long interval = currentTime - previousAnswer;
+            robot.intervalSum.addAndGet(interval);
+            int bucket = 0;
+            while (bucket < HISTOGRAM_BOUNDS.length && interval > HISTOGRAM_BOUNDS[bucket]) {
+                bucket++;
+            }
+            robot.histogram.incrementAndGet(bucket);
+
+            // Longer pauses are not caused by lost answers but e.g. by restarts
+            if (interval <= MILLIS_UNTIL_ROBOT_IS_OFFLINE) {
+                estimateLostAnswers(robot, interval);
+            }
+        }
     }
 
     /**
-     * Calculates new online-status for each robot.
+     * Updates the estimate of the regular time between two answers of a robot
+     * and counts the answers that were lost before the current one.
+     *
+     * An irregularly long time only counts as lost answers if the time after
+     * it is regular again. Several long times in a row mean that the robot
+     * sends less often, which the estimate follows, as it is always updated.
+     * The value it is updated with is clamped, so single long pauses only
+     * move it a little.
+     *
+     * @param robot     The robot.
+     * @param interval  The time since its previous answer in millis.
+     */
+    private static void estimateLostAnswers(Robot robot, long interval)
+    {
+        if (robot.seeded < SEED_INTERVALS) {
+            robot.seedIntervals[robot.seeded++] = interval;
+            if (robot.seeded == SEED_INTERVALS) {
+                final long[] sorted = robot.seedIntervals.clone();
+                Arrays.sort(sorted);
+                robot.interval = Math.max(1, sorted[SEED_INTERVALS / 2]);
+            }
+            return;
+        }
+
+        if (2 * interval < 3 * robot.interval) {
+            if (robot.irregular == 1) {
+                robot.lostAnswers.addAndGet(robot.pendingLostAnswers);
+            }
+            robot.irregular = 0;
+        } else if (robot.irregular++ == 0) {
+            robot.pendingLostAnswers = Math.round(interval / robot.interval) - 1;
+        }
+
+        final double sample = Math.max(robot.interval / 2, Math.min(2 * robot.interval, interval));
+        robot.interval = Math.max(1, robot.interval + (sample - robot.interval) / 8);
+    }
+
+    /**
+     * Returns the team number of the team on a side as last seen by
+     * updateRobotOnlineStatus.
+     *
+     * @param side      The side (0: left, 1: right).
+     *
+     * @return The team number (-1 if not known yet).
+     */
+    public static int getTeamNumber(int side)
+    {
+        return instance.teamNumbers[side];
+    }
+
+    /**
+     * Returns the statistics of all robots of the teams that are playing.
+     *
+     * @return The statistics of each robot that answered at least once.
+     */
+    public static List<Statistics> getStatistics()
+    {
+        final List<Statistics> statistics = new ArrayList<>();
+        for (final int team : instance.teamNumbers) {
+            final Robot[] robots = team < 0 ? null : instance.robots.get(team);
+            if (robots != null) {
+                for (int i=0; i<robots.length; i++) {
+                    if (robots[i].lastAnswer.get() != 0) {
+                        statistics.add(new Statistics(team, i + 1, robots[i]));
+                    }
+                }
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Calculates new online-status for each robot. This must only be called
+     * by the GUI-thread.
+     *
+     * @param data     The current data, which determines the teams on each side.
      *
      * @return The updated online-status of each robot.
      */
-    public static synchronized RobotOnlineStatus[][] updateRobotOnlineStatus()
+    public static RobotOnlineStatus[][] updateRobotOnlineStatus(AdvancedData data)
     {
+        int[] teamNumbers = instance.teamNumbers;
+        if (teamNumbers[0] != (data.team[0].teamNumber & 0xFF) || teamNumbers[1] != (data.team[1].teamNumber & 0xFF)) {
+            teamNumbers = new int[] {data.team[0].teamNumber & 0xFF, data.team[1].teamNumber & 0xFF};
+            instance.teamNumbers = teamNumbers;
+        }
+
         long currentTime = System.currentTimeMillis();
         int robotsOffline;
         for (int i=0; i<2; i++) {
             robotsOffline = 0;
+            final Robot[] robots = instance.robots.get(teamNumbers[i]);
             for (int j=0; j < instance.status[i].length; j++) {
-                if (currentTime - instance.robotsLastAnswer[i][j] > MILLIS_UNTIL_ROBOT_IS_OFFLINE) {
+                final long lastAnswer = robots == null ? 0 : robots[j].lastAnswer.get();
+                if (currentTime - lastAnswer > MILLIS_UNTIL_ROBOT_IS_OFFLINE) {
                     instance.status[i][j] = RobotOnlineStatus.OFFLINE;
                     if (++robotsOffline >= Rules.league.teamSize) {
                         for (int k=0; k < Rules.league.teamSize; k++) {
                             instance.status[i][k] = RobotOnlineStatus.UNKNOWN;
                         }
                     }
-                } else if (currentTime - instance.robotsLastAnswer[i][j] > MILLIS_UNTIL_ROBOT_HAS_HIGH_LATANCY) {
+                } else if (currentTime - lastAnswer > MILLIS_UNTIL_ROBOT_HAS_HIGH_LATANCY) {
                     instance.status[i][j] = RobotOnlineStatus.HIGH_LATENCY;
                 } else {
                     instance.status[i][j] = RobotOnlineStatus.ONLINE;
@@ -4,9 +4,9 @@ import common.net.SPLStandardMessageReceiver;
 import common.net.SPLStandardMessagePackage;
 import controller.action.ActionBoard;
 import controller.EventHandler;
+import controller.metrics.Metrics;
 import data.SPLStandardMessage;
 import java.io.IOException;
-import java.nio.ByteBuffer;
 
 
 public class SPLStandardMessageReceiverGC extends SPLStandardMessageReceiver {
@@ -27,12 +27,11 @@ public class SPLStandardMessageReceiverGC extends SPLStandardMessageReceiver {
         }
 
         // Check at least for valid header and version because we don't know what other things may be going on on these ports.
-        final SPLStandardMessage message = new SPLStandardMessage();
-        message.fromByteArray(ByteBuffer.wrap(p.message));
-        if (!(message.headerValid && message.versionValid)) {
+        if (!SPLStandardMessage.isHeaderAndVersionValid(p.message)) {
             return;
         }
 
+        Metrics.teamMessageReceived(p.team);
         ActionBoard.teamMessage[team].actionPerformed(null);
     }
 }
@@ -2,6 +2,7 @@ package controller.net;
 
 import common.Log;
 import common.net.logging.Logger;
+import controller.metrics.Metrics;
 import data.AdvancedData;
 import data.GameControlData;
 import data.Rules;
@@ -23,6 +24,11 @@ import java.net.*;
  */
 public class Sender extends Thread {
 
+    /**
+     * The intended time between two packets in nanoseconds.
+     */
+    private static final long SEND_PERIOD_NANOS = 500000000L;
+
     /**
      * The packet number that is increased with each packet sent.
      */
@@ -98,7 +104,9 @@ public class Sender extends Thread {
         }
 
         // Clone data
+        final long startTime = System.nanoTime();
         this.data = (AdvancedData) data.clone();
+        Metrics.cloneTime.observeSince(startTime);
 
         // Hand data over to the TrueDataSender
         trueDataSender.send(data);
@@ -106,18 +114,28 @@ public class Sender extends Thread {
 
     @Override
     public void run() {
+        long lastSendTime = 0;
         while (!isInterrupted()) {
             final AdvancedData data = this.data;
             if (data != null) {
+                final long sendTime = System.nanoTime();
+                if (lastSendTime != 0) {
+                    Metrics.sendPeriodJitter.observe(Math.abs(sendTime - lastSendTime - SEND_PERIOD_NANOS));
+                }
+                lastSendTime = sendTime;
+
                 data.updateTimes(false);
                 data.packetNumber = packetNumber;
                 byte[] arr = data.toByteArray().array();
+                Metrics.encodeTime.observeSince(sendTime);
                 DatagramPacket packet = new DatagramPacket(arr, arr.length, group, GameControlData.GAMECONTROLLER_GAMEDATA_PORT);
 
                 try {
                     datagramSocket.send(packet);
                     packetNumber++;
+                    Metrics.packetsSent.increment();
                 } catch (IOException e) {
+                    Metrics.sendErrors.increment();
                     Log.error("Error while sending");
                     e.printStackTrace();
                 }
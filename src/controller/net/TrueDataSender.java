@@ -2,7 +2,9 @@ package controller.net;
 
 import common.Log;
 import common.net.GameControlReturnDataPackage;
+import common.net.IPv4;
 import common.net.logging.Logger;
+import controller.metrics.Metrics;
 import data.AdvancedData;
 import data.GameControlData;
 import data.GameControlReturnData;
@@ -10,20 +12,35 @@ import data.TrueDataRequest;
 import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
+import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
-import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
-import java.util.HashSet;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A class which sends a GameControlData struct containing true data
  * (i.e. the actual state and time even after a change from Set to Playing in a
  * SPL game) to select receivers which requested this data by sending a
- * TrueDataRequest.
+ * TrueDataRequest. The receivers are also sent the GameControlReturnData of
+ * the robots.
+ *
+ * A request subscribes a receiver for LEASE_DURATION milliseconds, so
+ * receivers must repeat their request regularly. The table of subscribers is
+ * copied on every change, so sending to them needs no lock. Packets are sent
+ * through a non-blocking channel: if the socket buffer is full, the packet is
+ * dropped instead of delaying the GameController. Receivers to which sending
+ * fails repeatedly are removed. Receivers that do not listen for forwarded
+ * GameControlReturnData (e.g. the EventRecorder) are only sent true data.
  *
  * @author Felix Thielke
  */
@@ -50,12 +67,13 @@ public class TrueDataSender extends Thread {
                 try {
                     receiveSocket.receive(packet);
                     buffer.rewind();
-                    synchronized (whitelist) {
-                        if (blacklist.contains(packet.getAddress())) {
-                            Log.error("a request for true game data was received from robot " + packet.getAddress().getHostAddress());
-                        } else if (request.fromByteArray(buffer)) {
-                            whitelist.add(packet.getAddress());
-                        }
+                    if (!(packet.getAddress() instanceof Inet4Address)) {
+                        continue;
+                    }
+                    if (blacklist.contains(IPv4.of(packet.getAddress()))) {
+                        Log.error("a request for true game data was received from robot " + packet.getAddress().getHostAddress());
+                    } else if (request.fromByteArray(buffer)) {
+                        subscribe(packet.getAddress());
                     }
                 } catch (SocketTimeoutException e) { // ignore, because we set a timeout
                 } catch (IOException e) {
@@ -66,15 +84,103 @@ public class TrueDataSender extends Thread {
         }
     }
 
+    /**
+     * A receiver of the true data.
+     */
+    private static class Subscriber {
+
+        private final InetSocketAddress gameDataAddress;
+
+        /**
+         * Channel connected to the port for forwarded GameControlReturnData,
+         * so the header and the packet can be sent with a gathering write.
+         */
+        private final DatagramChannel returnDataChannel;
+
+        /** When the subscription ends if it is not renewed. */
+        private volatile long leaseEnd;
+
+        /**
+         * Number of sends that failed since the last successful one. It is
+         * updated by both sending threads without synchronization, so it is
+         * only approximate.
+         */
+        private volatile int failures = 0;
+
+        /**
+         * Number of forwarded packets that were reported as port unreachable.
+         * As the channel is connected, ICMP errors of earlier packets are
+         * reported by later writes, which alternate with successful ones, so
+         * this is not reset when a write succeeds. It is only updated by the
+         * thread that forwards the packets.
+         */
+        private int unreachable = 0;
+
+        /**
+         * Whether GameControlReturnData is forwarded to this subscriber.
+         */
+        private volatile boolean forwarding = true;
+
+        private Subscriber(final InetAddress address, final long leaseEnd) throws IOException {
+            gameDataAddress = new InetSocketAddress(address, GameControlData.GAMECONTROLLER_GAMEDATA_PORT);
+            returnDataChannel = DatagramChannel.open();
+            try {
+                returnDataChannel.configureBlocking(false);
+                returnDataChannel.connect(new InetSocketAddress(address, GameControlReturnData.GAMECONTROLLER_RETURNDATA_FORWARD_PORT));
+            } catch (IOException e) {
+                returnDataChannel.close();
+                throw e;
+            }
+            this.leaseEnd = leaseEnd;
+        }
+
+        private void close() {
+            try {
+                returnDataChannel.close();
+            } catch (IOException e) {
+            }
+        }
+    }
+
+    /**
+     * The intended time between two packets in nanoseconds.
+     */
+    private static final long SEND_PERIOD_NANOS = 500000000L;
+
+    /**
+     * How long a TrueDataRequest subscribes a receiver (in ms).
+     */
+    public static final long LEASE_DURATION = 10000;
+
+    /**
+     * Number of successive failed sends after which a receiver is removed.
+     */
+    private static final int MAX_FAILURES = 20;
+
     private final TrueDataRequestReceiver requestReceiver;
 
-    private final DatagramSocket sendSocket;
+    private final DatagramChannel sendChannel;
 
     private final Object dataMutex = new Object();
     private AdvancedData data;
 
-    private final Set<InetAddress> whitelist = new HashSet<>();
-    private final Set<InetAddress> blacklist = new HashSet<>();
+    /** Guards changes of the subscriber table. */
+    private final Object subscriberMutex = new Object();
+    /**
+     * The subscribers by IPv4 address (see {@link IPv4}). The map is
+     * replaced, never modified.
+     */
+    private volatile Map<Integer, Subscriber> subscribers = Collections.emptyMap();
+    /** The IPv4 addresses of robots, which must not receive true data. */
+    private final Set<Integer> blacklist = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+
+    /**
+     * Header (the IPv4 address of the robot) and packet of a forwarded
+     * GameControlReturnData. They are only used by the thread that calls
+     * handleGameControlReturnData.
+     */
+    private final ByteBuffer forwardHeader = ByteBuffer.allocate(4);
+    private final ByteBuffer[] forwardBuffers = new ByteBuffer[]{forwardHeader, null};
 
     private byte packetNumber = 0;
 
@@ -83,84 +189,220 @@ public class TrueDataSender extends Thread {
      *
      * @param requestAddress the InetAddress on which to listen for
      * TrueDataRequests
-     * @throws SocketException if an error occurs while creating the socket
+     * @throws IOException if an error occurs while creating the sockets
      */
-    public TrueDataSender(final InetAddress requestAddress) throws SocketException {
-        sendSocket = new DatagramSocket();
+    public TrueDataSender(final InetAddress requestAddress) throws IOException {
+        sendChannel = DatagramChannel.open();
+        sendChannel.configureBlocking(false);
         requestReceiver = new TrueDataRequestReceiver(requestAddress);
     }
 
     /**
-     * Put the given InetAddress on the blacklist so it can never receive true
-     * game state information.
+     * Put the given IPv4 address on the blacklist so it can never receive
+     * true game state information.
      *
-     * @param address InetAddress to put on blacklist
+     * @param address IPv4 address to put on blacklist (see {@link IPv4})
      */
-    public void putOnBlacklist(final InetAddress address) {
-        synchronized (whitelist) {
-            blacklist.add(address);
-            if (whitelist.contains(address)) {
-                whitelist.remove(address);
-                Log.error("a request for true game data was received from robot " + address.getHostAddress());
+    public void putOnBlacklist(final int address) {
+        final Integer key = address;
+        if (blacklist.add(key) && subscribers.containsKey(key)) {
+            synchronized (subscriberMutex) {
+                final Map<Integer, Subscriber> newSubscribers = new HashMap<>(subscribers);
+                final Subscriber subscriber = newSubscribers.remove(key);
+                subscribers = Collections.unmodifiableMap(newSubscribers);
+                if (subscriber != null) {
+                    subscriber.close();
+                }
             }
+            Log.error("a request for true game data was received from robot " + IPv4.toString(address));
         }
     }
 
-    public void send(final AdvancedData data) {
-        synchronized (dataMutex) {
-            this.data = (AdvancedData) data.clone();
+    /**
+     * Subscribes the given address or renews its subscription.
+     *
+     * @param address address of the receiver
+     */
+    private void subscribe(final InetAddress address) {
+        final Integer key = IPv4.of(address);
+        final long leaseEnd = System.currentTimeMillis() + LEASE_DURATION;
+        final Subscriber subscriber = subscribers.get(key);
+        if (subscriber != null) {
+            subscriber.leaseEnd = leaseEnd;
+            return;
+        }
+        synchronized (subscriberMutex) {
+            if (!blacklist.contains(key) && !subscribers.containsKey(key)) {
+                try {
+                    final Map<Integer, Subscriber> newSubscribers = new HashMap<>(subscribers);
+                    newSubscribers.put(key, new Subscriber(address, leaseEnd));
+                    subscribers = Collections.unmodifiableMap(newSubscribers);
+                } catch (IOException e) {
+                    Log.error("could not open a socket to send true game data to " + address.getHostAddress() + ": " + e.getMessage());
+                }
+            }
         }
     }
 
-    public void handleGameControlReturnData(final GameControlReturnDataPackage data) {
+    /**
+     * Removes the subscribers whose lease has ended or to which sending
+     * failed too often.
+     *
+     * @param all whether to remove all subscribers
+     */
+    private void removeSubscribers(final boolean all) {
+        final long now = System.currentTimeMillis();
+        boolean remove = all;
+        for (final Subscriber subscriber : subscribers.values()) {
+            remove |= subscriber.leaseEnd < now || subscriber.failures >= MAX_FAILURES;
+        }
+        if (remove) {
+            synchronized (subscriberMutex) {
+                final Map<Integer, Subscriber> newSubscribers = new HashMap<>(subscribers);
+                for (final Map.Entry<Integer, Subscriber> entry : subscribers.entrySet()) {
+                    final Subscriber subscriber = entry.getValue();
+                    if (subscriber.failures >= MAX_FAILURES) {
+                        Log.error("stopped sending true game data to " + IPv4.toString(entry.getKey()) + " after " + MAX_FAILURES + " failed attempts");
+                    } else if (!all && subscriber.leaseEnd >= now) {
+                        continue;
+                    }
+                    newSubscribers.remove(entry.getKey());
+                    subscriber.close();
+                }
+                subscribers = Collections.unmodifiableMap(newSubscribers);
+            }
+        }
+    }
+
+    /**
+     * Sends the given true data packet to a subscriber without blocking.
+     *
+     * @param buffer the packet
+     * @param subscriber the subscriber
+     * @return whether the packet was sent
+     */
+    private boolean send(final ByteBuffer buffer, final Subscriber subscriber) {
+        buffer.rewind();
         try {
-            final InetAddress address = InetAddress.getByName(data.host);
+            if (sendChannel.send(buffer, subscriber.gameDataAddress) > 0) {
+                subscriber.failures = 0;
+                return true;
+            }
+        } catch (IOException e) {
+            sendFailed(subscriber, e);
+            return false;
+        }
+        sendFailed(subscriber, null);
+        return false;
+    }
 
-            putOnBlacklist(address);
+    /**
+     * Forwards forwardBuffers to a subscriber with a gathering write without
+     * blocking.
+     *
+     * @param subscriber the subscriber
+     * @return whether the packet was sent
+     */
+    private boolean forward(final Subscriber subscriber) {
+        if (!subscriber.forwarding) {
+            return false;
+        }
+        forwardBuffers[0].rewind();
+        forwardBuffers[1].rewind();
+        try {
+            if (subscriber.returnDataChannel.write(forwardBuffers) > 0) {
+                subscriber.failures = 0;
+                return true;
+            }
+        } catch (ClosedChannelException e) {
+            // The subscriber was removed in the meantime
+            return false;
+        } catch (PortUnreachableException e) {
+            Metrics.sendErrors.increment();
+            if (++subscriber.unreachable >= MAX_FAILURES) {
+                subscriber.forwarding = false;
+                subscriber.close();
+                Log.error("stopped forwarding return data to " + subscriber.gameDataAddress.getAddress().getHostAddress()
+                        + " because it does not listen on port " + GameControlReturnData.GAMECONTROLLER_RETURNDATA_FORWARD_PORT);
+            }
+            return false;
+        } catch (IOException e) {
+            sendFailed(subscriber, e);
+            return false;
+        }
+        sendFailed(subscriber, null);
+        return false;
+    }
 
-            final byte[] addressAsBytes = address.getAddress();
+    private void sendFailed(final Subscriber subscriber, final IOException e) {
+        if (e != null && subscriber.failures == 0) {
+            Log.error("Error while sending to " + subscriber.gameDataAddress.getAddress().getHostAddress() + ": " + e.getMessage());
+        }
+        subscriber.failures++;
+        Metrics.sendErrors.increment();
+    }
 
-            if (addressAsBytes.length != 4) {
-                return;
-            }
+    public void send(final AdvancedData data) {
+        final long startTime = System.nanoTime();
+        final AdvancedData copy = (AdvancedData) data.clone();
+        Metrics.cloneTime.observeSince(startTime);
+        synchronized (dataMutex) {
+            this.data = copy;
+        }
+    }
+
+    /**
+     * Forwards a GameControlReturnData packet to all subscribers. The
+     * forwarded packet is the IPv4 address of the robot followed by the
+     * packet. This must only be called from a single thread.
+     *
+     * @param data the packet and where it came from
+     */
+    public void handleGameControlReturnData(final GameControlReturnDataPackage data) {
+        putOnBlacklist(data.address);
 
-            final byte[] message = new byte[addressAsBytes.length + data.message.length];
-            System.arraycopy(addressAsBytes, 0, message, 0, addressAsBytes.length);
-            System.arraycopy(data.message, 0, message, addressAsBytes.length, data.message.length);
+        final Map<Integer, Subscriber> subscribers = this.subscribers;
+        if (subscribers.isEmpty()) {
+            return;
+        }
 
-            synchronized (whitelist) {
-                for (final InetAddress receiver : whitelist) {
-                    try {
-                        sendSocket.send(new DatagramPacket(message, message.length, receiver, GameControlReturnData.GAMECONTROLLER_RETURNDATA_FORWARD_PORT));
-                    } catch (IOException e) {
-                        Log.error("Error while forwarding game controller return data");
-                    }
-                }
+        forwardHeader.clear();
+        forwardHeader.putInt(data.address);
+        forwardBuffers[1] = ByteBuffer.wrap(data.message);
+        for (final Subscriber subscriber : subscribers.values()) {
+            if (forward(subscriber)) {
+                Metrics.returnPacketsForwarded.increment();
             }
-        } catch (UnknownHostException e) {
         }
     }
 
     @Override
     public void run() {
         requestReceiver.start();
+        long lastSendTime = 0;
         while (!isInterrupted()) {
             if (data != null) {
+                final long sendTime = System.nanoTime();
+                if (lastSendTime != 0) {
+                    Metrics.trueDataSendPeriodJitter.observe(Math.abs(sendTime - lastSendTime - SEND_PERIOD_NANOS));
+                }
+                lastSendTime = sendTime;
+
                 final byte[] arr;
                 synchronized (dataMutex) {
                     data.updateTimes(true);
                     data.packetNumber = packetNumber++;
                     Logger.getInstance().log(data);
+                    final long encodeTime = System.nanoTime();
                     arr = data.getTrueDataAsByteArray().array();
+                    Metrics.encodeTime.observeSince(encodeTime);
                 }
 
-                synchronized (whitelist) {
-                    for (final InetAddress address : whitelist) {
-                        try {
-                            sendSocket.send(new DatagramPacket(arr, arr.length, address, GameControlData.GAMECONTROLLER_GAMEDATA_PORT));
-                        } catch (IOException e) {
-                            Log.error("Error while sending true game data");
-                        }
+                removeSubscribers(false);
+                final ByteBuffer buffer = ByteBuffer.wrap(arr);
+                for (final Subscriber subscriber : subscribers.values()) {
+                    if (send(buffer, subscriber)) {
+                        Metrics.trueDataPacketsSent.increment();
                     }
                 }
             }
@@ -173,7 +415,11 @@ public class TrueDataSender extends Thread {
         }
 
         requestReceiver.interrupt();
-        sendSocket.close();
+        removeSubscribers(true);
+        try {
+            sendChannel.close();
+        } catch (IOException e) {
+        }
         try {
             requestReceiver.join();
         } catch (InterruptedException ex) {
@@ -1007,7 +1007,7 @@ public class GUI extends JFrame implements GCGUI
      */
     private void updateRobots(AdvancedData data)
     {
-        RobotOnlineStatus[][] onlineStatus = RobotWatcher.updateRobotOnlineStatus();
+        RobotOnlineStatus[][] onlineStatus = RobotWatcher.updateRobotOnlineStatus(data);
         for (int i=0; i<robot.length; i++) {
             for (int j=0; j<robot[i].length; j++) {
                 if (data.team[i].player[j].penalty != PlayerInfo.PENALTY_NONE) {
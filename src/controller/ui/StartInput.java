@@ -249,6 +249,7 @@ public class StartInput extends JFrame implements Serializable
                         for (int i=0; i < Rules.LEAGUES.length; i++) {
                             if (Rules.LEAGUES[i].leagueName.equals((String)league.getSelectedItem())) {
                                 Rules.league = Rules.LEAGUES[i];
+                                Teams.preloadIcons();
                                 break;
                             }
                         }
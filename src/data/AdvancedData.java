@@ -1,5 +1,6 @@
 package data;
 
+import common.TimeSource;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -217,10 +218,11 @@ public class AdvancedData extends GameControlData implements Cloneable {
      * Returns the current time. Can be stopped in test mode.
      *
      * @return The current time in ms. May become incompatible to the time
-     * delivered by System.currentTimeMillis().
+     * delivered by System.currentTimeMillis(), because it is based on the
+     * monotonic {@link TimeSource} and can be shifted in test mode.
      */
     public long getTime() {
-        return manPause ? manWhenClockChanged : System.currentTimeMillis() + manTimeOffset;
+        return manPause ? manWhenClockChanged : TimeSource.getInstance().currentTimeMillis() + manTimeOffset;
     }
 
     /**
@@ -319,7 +321,7 @@ public class AdvancedData extends GameControlData implements Cloneable {
                             || getSecondsSince(whenCurrentGameStateBegan) >= Rules.league.delayedSwitchAfterGoal)
                         || timeBeforeCurrentGameState == 0))
                 || gameState == STATE_FINISHED
-                        ? (int) ((timeBeforeCurrentGameState + manRemainingGameTimeOffset + (manPlay ? System.currentTimeMillis() - manWhenClockChanged : 0)) / 1000)
+                        ? (int) ((timeBeforeCurrentGameState + manRemainingGameTimeOffset + (manPlay ? TimeSource.getInstance().currentTimeMillis() - manWhenClockChanged : 0)) / 1000)
                         : real || (competitionPhase != COMPETITION_PHASE_PLAYOFF && timeBeforeCurrentGameState > 0) || gameState != STATE_PLAYING
                         || getSecondsSince(whenCurrentGameStateBegan) >= Rules.league.delayedSwitchToPlaying
                         ? getSecondsSince(whenCurrentGameStateBegan - timeBeforeCurrentGameState - manRemainingGameTimeOffset)
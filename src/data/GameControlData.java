@@ -207,9 +207,12 @@ public class GameControlData implements Serializable {
      */
     public boolean fromByteArray(ByteBuffer buffer) {
         buffer.order(ByteOrder.LITTLE_ENDIAN);
-        byte[] header = new byte[4];
-        buffer.get(header, 0, 4);
-        isTrueData = new String(header).equals(GAMECONTROLLER_TRUEGAMEDATA_STRUCT_HEADER);
+        isTrueData = true;
+        for (int i = 0; i < 4; i++) {
+            if (buffer.get() != GAMECONTROLLER_TRUEGAMEDATA_STRUCT_HEADER.charAt(i)) {
+                isTrueData = false;
+            }
+        }
         if (buffer.get() != GAMECONTROLLER_STRUCT_VERSION) {
             return false;
         }
@@ -27,6 +27,12 @@ public class SPLStandardMessage implements Serializable {
             + 2 // actual size of data
             + SPL_STANDARD_MESSAGE_DATA_SIZE; // data
 
+    /**
+     * The header as little-endian int, so that it can be checked without
+     * decoding the message.
+     */
+    static final int SPL_STANDARD_MESSAGE_STRUCT_HEADER_MAGIC = 'S' | 'P' << 8 | 'L' << 16 | ' ' << 24;
+
     public String header;   // header to identify the structure
     public byte version;    // version of the data structure
     public byte playerNum;  // 1-7
@@ -53,6 +59,11 @@ public class SPLStandardMessage implements Serializable {
 
     // buffer for arbitrary data
     public int nominalDataBytes;
+    /**
+     * Copy of the custom data. It is not set for messages that were decoded
+     * from a retained view (see fromView), so getData() should be used
+     * unless the message is interpreted by a plugin.
+     */
     public byte[] data;
 
     public boolean valid = false;
@@ -65,8 +76,33 @@ public class SPLStandardMessage implements Serializable {
     public boolean ballValid = false;
     public boolean dataValid = false;
 
+    /**
+     * Descriptions of everything that is wrong with the message. For messages
+     * that were decoded from a retained view, it only contains the errors that
+     * were added afterwards; getErrors() also describes the raw message.
+     */
     public List<String> errors = new LinkedList<>();
 
+    /**
+     * View of the raw message if it was retained when decoding, which keeps
+     * the custom data without copying it.
+     */
+    private transient SPLStandardMessageView view;
+
+    /**
+     * Checks the header and version of a raw message in place, i.e. without
+     * decoding it and without allocating anything. A message that passes
+     * this check has headerValid and versionValid set after decoding it.
+     *
+     * @param message raw message data
+     * @return whether header and version are valid
+     */
+    public static boolean isHeaderAndVersionValid(final byte[] message) {
+        return message.length > 4
+                && ((message[0] & 0xFF) | (message[1] & 0xFF) << 8 | (message[2] & 0xFF) << 16 | (message[3] & 0xFF) << 24) == SPL_STANDARD_MESSAGE_STRUCT_HEADER_MAGIC
+                && message[4] == SPL_STANDARD_MESSAGE_STRUCT_VERSION;
+    }
+
     public static SPLStandardMessage createFrom(final SPLStandardMessage message) {
         final SPLStandardMessage m = new SPLStandardMessage();
         m.header = message.header;
@@ -79,6 +115,8 @@ public class SPLStandardMessage implements Serializable {
         m.ball = message.ball;
         m.nominalDataBytes = message.nominalDataBytes;
         m.data = message.data;
+        m.errors = message.errors;
+        m.view = message.view;
         m.valid = message.valid;
         m.headerValid = message.headerValid;
         m.versionValid = message.versionValid;
@@ -106,93 +144,113 @@ public class SPLStandardMessage implements Serializable {
         buffer.putFloat(ballAge);
         buffer.putFloat(ball[0]);
         buffer.putFloat(ball[1]);
-        buffer.putShort((short) data.length);
-        buffer.put(data);
+        final ByteBuffer customData = getData();
+        buffer.putShort((short) customData.remaining());
+        buffer.put(customData);
 
         return buffer.array();
     }
 
     public boolean fromByteArray(ByteBuffer buffer) {
-        try {
-            buffer.order(ByteOrder.LITTLE_ENDIAN);
-            byte[] header = new byte[4];
-            buffer.get(header);
-            this.header = new String(header);
-            if (!this.header.equals(SPL_STANDARD_MESSAGE_STRUCT_HEADER)) {
-                errors.add("wrong header; expected " + SPL_STANDARD_MESSAGE_STRUCT_HEADER + ", is: " + this.header);
-            } else {
-                headerValid = true;
-
-                version = buffer.get();
-                if (version != SPL_STANDARD_MESSAGE_STRUCT_VERSION) {
-                    errors.add("wrong version; expected " + SPL_STANDARD_MESSAGE_STRUCT_VERSION + ", is: " + version);
-                } else {
-                    versionValid = true;
-
-                    playerNum = buffer.get();
-                    if (playerNum < 1 || playerNum > 7) {
-                        errors.add("player number not within [1,7]; is: " + playerNum);
-                    } else {
-                        playerNumValid = true;
-                    }
-
-                    teamNum = buffer.get();
-                    if (teamNum <= 0) {
-                        errors.add("team number not set");
-                    } else {
-                        teamNumValid = true;
-                    }
-
-                    final byte fallenState = buffer.get();
-                    switch (fallenState) {
-                        case 0:
-                            fallen = false;
-                            fallenValid = true;
-                            break;
-                        case 1:
-                            fallen = true;
-                            fallenValid = true;
-                            break;
-                        default:
-                            errors.add("invalid fallen state; expected 0 or 1, is: " + fallenState);
-                    }
-
-                    pose[0] = buffer.getFloat();
-                    pose[1] = buffer.getFloat();
-                    pose[2] = buffer.getFloat();
-                    if (!Float.isNaN(pose[0]) && !Float.isNaN(pose[1]) && !Float.isNaN(pose[2])) {
-                        poseValid = true;
-                    }
-
-                    ballAge = buffer.getFloat();
-
-                    ball[0] = buffer.getFloat();
-                    ball[1] = buffer.getFloat();
-                    if (!Float.isNaN(ballAge) && !Float.isNaN(ball[0]) && !Float.isNaN(ball[1])) {
-                        ballValid = true;
-                    }
-
-                    nominalDataBytes = buffer.getShort();
-                    boolean dValid = true;
-                    if (nominalDataBytes > SPL_STANDARD_MESSAGE_DATA_SIZE) {
-                        errors.add("custom data size too large; allowed up to " + SPL_STANDARD_MESSAGE_DATA_SIZE + ", is: " + nominalDataBytes);
-                        dValid = false;
-                    }
-                    if (buffer.remaining() < nominalDataBytes) {
-                        errors.add("custom data size is smaller than named: " + buffer.remaining() + " instead of " + nominalDataBytes);
-                        dValid = false;
-                    }
-                    data = new byte[nominalDataBytes];
-                    buffer.get(data, 0, nominalDataBytes);
-                    dataValid = dValid;
-                }
+        return fromView(new SPLStandardMessageView().wrap(buffer));
+    }
+
+    /**
+     * Decodes all fields from a view of a raw message. The custom data is
+     * copied and error descriptions are created if the message is not valid,
+     * so the view can be reused afterwards.
+     *
+     * @param view view of the raw message
+     * @return whether the message is valid
+     */
+    public boolean fromView(final SPLStandardMessageView view) {
+        return fromView(view, false);
+    }
+
+    /**
+     * Decodes all fields from a view of a raw message.
+     *
+     * @param view view of the raw message
+     * @param retainView whether the message keeps the view instead of copying
+     * the custom data and creating error descriptions; the view and the raw
+     * message must not be modified afterwards
+     * @return whether the message is valid
+     */
+    public boolean fromView(final SPLStandardMessageView view, final boolean retainView) {
+        headerValid = view.isHeaderValid();
+        versionValid = view.isVersionValid();
+        playerNumValid = view.isPlayerNumValid();
+        teamNumValid = view.isTeamNumValid();
+        fallenValid = view.isFallenValid();
+        poseValid = view.isPoseValid();
+        ballValid = view.isBallValid();
+        dataValid = view.isDataValid();
+        valid = view.isValid();
+
+        header = headerValid ? SPL_STANDARD_MESSAGE_STRUCT_HEADER : view.getHeader();
+        if (headerValid && view.getLength() > 4) {
+            version = view.getVersion();
+        }
+        if (versionValid) {
+            final int length = view.getLength();
+            if (length >= 8) {
+                playerNum = view.getPlayerNum();
+                teamNum = view.getTeamNum();
+                fallen = view.isFallen();
+            }
+            if (length >= 20) {
+                pose[0] = view.getPose(0);
+                pose[1] = view.getPose(1);
+                pose[2] = view.getPose(2);
+            }
+            if (length >= 32) {
+                ballAge = view.getBallAge();
+                ball[0] = view.getBall(0);
+                ball[1] = view.getBall(1);
+            }
+            if (length >= 34) {
+                nominalDataBytes = view.getNominalDataBytes();
+            }
+            if (dataValid && !retainView) {
+                data = new byte[nominalDataBytes];
+                view.getData(data);
             }
-        } catch (RuntimeException e) {
-            errors.add("error while reading message: " + e.getClass().getSimpleName() + e.getMessage());
         }
 
-        valid = headerValid && versionValid && playerNumValid && teamNumValid && fallenValid && poseValid && ballValid && dataValid;
+        if (retainView) {
+            this.view = view;
+        } else if (!valid) {
+            errors.addAll(view.getErrors());
+        }
 
         return valid;
     }
+
+    /**
+     * Returns the custom data without copying it.
+     *
+     * @return read-only little-endian buffer containing the custom data or
+     * null if there is none
+     */
+    public ByteBuffer getData() {
+        if (data != null) {
+            return ByteBuffer.wrap(data).asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return view != null ? view.getData() : null;
+    }
+
+    /**
+     * Returns descriptions of everything that is wrong with the message. If
+     * the message was decoded from a retained view, they are created now.
+     *
+     * @return list of errors
+     */
+    public List<String> getErrors() {
+        if (view == null || valid) {
+            return errors;
+        }
+        final List<String> allErrors = view.getErrors();
+        allErrors.addAll(errors);
+        return allErrors;
+    }
 }
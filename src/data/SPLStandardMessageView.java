@@ -0,0 +1,285 @@
+package data;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only view of a raw SPLStandardMessage. The validity of all fields is
+ * determined in a single pass when the packet is wrapped, but the fields
+ * themselves are only decoded when they are accessed. The custom data is not
+ * copied and human-readable error descriptions are only created on request.
+ * A view can be reused for several packets.
+ */
+public class SPLStandardMessageView {
+
+    /**
+     * Validity bits of the single fields.
+     */
+    public static final int HEADER_VALID = 1;
+    public static final int VERSION_VALID = 2;
+    public static final int PLAYER_NUM_VALID = 4;
+    public static final int TEAM_NUM_VALID = 8;
+    public static final int FALLEN_VALID = 16;
+    public static final int POSE_VALID = 32;
+    public static final int BALL_VALID = 64;
+    public static final int DATA_VALID = 128;
+    public static final int ALL_VALID = 255;
+
+    /**
+     * Offsets of the fields within the packet.
+     */
+    private static final int VERSION_OFFSET = 4;
+    private static final int PLAYER_NUM_OFFSET = 5;
+    private static final int TEAM_NUM_OFFSET = 6;
+    private static final int FALLEN_OFFSET = 7;
+    private static final int POSE_OFFSET = 8;
+    private static final int BALL_AGE_OFFSET = 20;
+    private static final int BALL_OFFSET = 24;
+    private static final int NUM_OF_DATA_BYTES_OFFSET = 32;
+    private static final int DATA_OFFSET = 34;
+
+    private ByteBuffer buffer;
+    private int start;
+    private int length;
+    private int validity;
+
+    /**
+     * Lets this view show the given packet. The packet starts at the current
+     * position of the buffer and ends at its limit. The buffer is not
+     * modified except for its byte order.
+     *
+     * @param buffer raw packet
+     * @return this view
+     */
+    public SPLStandardMessageView wrap(final ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        start = buffer.position();
+        length = buffer.remaining();
+        validity = 0;
+
+        if (length < VERSION_OFFSET || buffer.getInt(start) != SPLStandardMessage.SPL_STANDARD_MESSAGE_STRUCT_HEADER_MAGIC) {
+            return this;
+        }
+        validity |= HEADER_VALID;
+        if (length <= VERSION_OFFSET || buffer.get(start + VERSION_OFFSET) != SPLStandardMessage.SPL_STANDARD_MESSAGE_STRUCT_VERSION) {
+            return this;
+        }
+        validity |= VERSION_VALID;
+        if (length > PLAYER_NUM_OFFSET) {
+            final byte playerNum = getPlayerNum();
+            if (playerNum >= 1 && playerNum <= 7) {
+                validity |= PLAYER_NUM_VALID;
+            }
+        }
+        if (length > TEAM_NUM_OFFSET && getTeamNum() > 0) {
+            validity |= TEAM_NUM_VALID;
+        }
+        if (length > FALLEN_OFFSET) {
+            final byte fallenState = buffer.get(start + FALLEN_OFFSET);
+            if (fallenState == 0 || fallenState == 1) {
+                validity |= FALLEN_VALID;
+            }
+        }
+        if (length >= BALL_AGE_OFFSET && !Float.isNaN(getPose(0)) && !Float.isNaN(getPose(1)) && !Float.isNaN(getPose(2))) {
+            validity |= POSE_VALID;
+        }
+        if (length >= NUM_OF_DATA_BYTES_OFFSET && !Float.isNaN(getBallAge()) && !Float.isNaN(getBall(0)) && !Float.isNaN(getBall(1))) {
+            validity |= BALL_VALID;
+        }
+        if (length >= DATA_OFFSET) {
+            final int nominalDataBytes = getNominalDataBytes();
+            if (nominalDataBytes >= 0 && nominalDataBytes <= SPLStandardMessage.SPL_STANDARD_MESSAGE_DATA_SIZE
+                    && nominalDataBytes <= length - DATA_OFFSET) {
+                validity |= DATA_VALID;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns the validity bits of all fields.
+     *
+     * @return combination of the *_VALID constants
+     */
+    public int getValidity() {
+        return validity;
+    }
+
+    /**
+     * Returns the length of the packet.
+     *
+     * @return length in bytes
+     */
+    public int getLength() {
+        return length;
+    }
+
+    public boolean isValid() {
+        return validity == ALL_VALID;
+    }
+
+    public boolean isHeaderValid() {
+        return (validity & HEADER_VALID) != 0;
+    }
+
+    public boolean isVersionValid() {
+        return (validity & VERSION_VALID) != 0;
+    }
+
+    public boolean isPlayerNumValid() {
+        return (validity & PLAYER_NUM_VALID) != 0;
+    }
+
+    public boolean isTeamNumValid() {
+        return (validity & TEAM_NUM_VALID) != 0;
+    }
+
+    public boolean isFallenValid() {
+        return (validity & FALLEN_VALID) != 0;
+    }
+
+    public boolean isPoseValid() {
+        return (validity & POSE_VALID) != 0;
+    }
+
+    public boolean isBallValid() {
+        return (validity & BALL_VALID) != 0;
+    }
+
+    public boolean isDataValid() {
+        return (validity & DATA_VALID) != 0;
+    }
+
+    /**
+     * Returns the header. Allocates a string, so isHeaderValid() should be
+     * preferred if only the validity is of interest.
+     *
+     * @return header
+     */
+    public String getHeader() {
+        final byte[] header = new byte[Math.min(VERSION_OFFSET, length)];
+        for (int i = 0; i < header.length; i++) {
+            header[i] = buffer.get(start + i);
+        }
+        return new String(header);
+    }
+
+    public byte getVersion() {
+        return buffer.get(start + VERSION_OFFSET);
+    }
+
+    public byte getPlayerNum() {
+        return buffer.get(start + PLAYER_NUM_OFFSET);
+    }
+
+    public byte getTeamNum() {
+        return buffer.get(start + TEAM_NUM_OFFSET);
+    }
+
+    public boolean isFallen() {
+        return buffer.get(start + FALLEN_OFFSET) == 1;
+    }
+
+    /**
+     * Returns a component of the pose of the robot.
+     *
+     * @param index 0: x, 1: y, 2: theta
+     * @return component
+     */
+    public float getPose(final int index) {
+        return buffer.getFloat(start + POSE_OFFSET + 4 * index);
+    }
+
+    public float getBallAge() {
+        return buffer.getFloat(start + BALL_AGE_OFFSET);
+    }
+
+    /**
+     * Returns a component of the position of the ball relative to the robot.
+     *
+     * @param index 0: x, 1: y
+     * @return component
+     */
+    public float getBall(final int index) {
+        return buffer.getFloat(start + BALL_OFFSET + 4 * index);
+    }
+
+    public int getNominalDataBytes() {
+        return buffer.getShort(start + NUM_OF_DATA_BYTES_OFFSET);
+    }
+
+    /**
+     * Returns the custom data without copying it.
+     *
+     * @return read-only little-endian buffer containing the custom data or
+     * null if the custom data is not valid
+     */
+    public ByteBuffer getData() {
+        if (!isDataValid()) {
+            return null;
+        }
+        final ByteBuffer data = buffer.duplicate();
+        data.limit(start + DATA_OFFSET + getNominalDataBytes()).position(start + DATA_OFFSET);
+        return data.slice().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Copies the custom data into an array.
+     *
+     * @param dst destination array; must hold at least getNominalDataBytes()
+     * bytes
+     */
+    public void getData(final byte[] dst) {
+        for (int i = getNominalDataBytes() - 1; i >= 0; i--) {
+            dst[i] = buffer.get(start + DATA_OFFSET + i);
+        }
+    }
+
+    /**
+     * Creates human-readable descriptions of everything that is wrong with
+     * the packet.
+     *
+     * @return list of errors (empty if the packet is valid)
+     */
+    public List<String> getErrors() {
+        final List<String> errors = new ArrayList<>();
+        if (!isHeaderValid()) {
+            errors.add("wrong header; expected " + SPLStandardMessage.SPL_STANDARD_MESSAGE_STRUCT_HEADER + ", is: " + getHeader());
+            return errors;
+        }
+        if (!isVersionValid()) {
+            if (length <= VERSION_OFFSET) {
+                errors.add("message too short; is: " + length + " bytes");
+            } else {
+                errors.add("wrong version; expected " + SPLStandardMessage.SPL_STANDARD_MESSAGE_STRUCT_VERSION + ", is: " + getVersion());
+            }
+            return errors;
+        }
+        if (length < DATA_OFFSET) {
+            errors.add("message too short; is: " + length + " bytes");
+        }
+        if (!isPlayerNumValid() && length > PLAYER_NUM_OFFSET) {
+            errors.add("player number not within [1,7]; is: " + getPlayerNum());
+        }
+        if (!isTeamNumValid() && length > TEAM_NUM_OFFSET) {
+            errors.add("team number not set");
+        }
+        if (!isFallenValid() && length > FALLEN_OFFSET) {
+            errors.add("invalid fallen state; expected 0 or 1, is: " + buffer.get(start + FALLEN_OFFSET));
+        }
+        if (!isDataValid() && length >= DATA_OFFSET) {
+            final int nominalDataBytes = getNominalDataBytes();
+            if (nominalDataBytes > SPLStandardMessage.SPL_STANDARD_MESSAGE_DATA_SIZE) {
+                errors.add("custom data size too large; allowed up to " + SPLStandardMessage.SPL_STANDARD_MESSAGE_DATA_SIZE + ", is: " + nominalDataBytes);
+            } else if (nominalDataBytes < 0) {
+                errors.add("custom data size is negative: " + nominalDataBytes);
+            }
+            if (length - DATA_OFFSET < nominalDataBytes) {
+                errors.add("custom data size is smaller than named: " + (length - DATA_OFFSET) + " instead of " + nominalDataBytes);
+            }
+        }
+        return errors;
+    }
+}
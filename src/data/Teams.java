@@ -8,15 +8,26 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import javax.imageio.ImageIO;
 
 /**
  * This class provides the icons and names including unique teamNumbers of all
  * teams written in the config file.
  *
- * This class is a singleton!
+ * The config file of a league is parsed once into an immutable index when its
+ * teams are first asked for. Icons are decoded when they are first asked for,
+ * or in the background after preloadIcons() was called. All methods may be
+ * called from any thread.
  *
  * @author Michel Bartsch
  */
@@ -30,15 +41,16 @@ public class Teams {
         /**
          * The name of the team.
          */
-        public String name;
+        public final String name;
         /**
-         * The icon of the team.
+         * Loads the icon of the team. It is run either by the icon loader or
+         * by the first thread asking for the icon.
          */
-        public BufferedImage icon;
+        public final FutureTask<BufferedImage> icon;
         /**
          * The first and secondary jersey colors of the team.
          */
-        public String[] colors;
+        public final String[] colors;
 
         /**
          * Create a new team information.
@@ -46,10 +58,124 @@ public class Teams {
          * @param name The name of the team.
          * @param colors The names of the jersey colors used by the team. Can be
          * null if no colors were specified.
+         * @param icon Loads the icon of the team.
          */
-        public Info(String name, String[] colors) {
+        public Info(String name, String[] colors, FutureTask<BufferedImage> icon) {
             this.name = name;
             this.colors = colors;
+            this.icon = icon;
+        }
+    }
+
+    /**
+     * The teams of a league as read from its config file.
+     */
+    private static class Index {
+
+        /**
+         * The information about each team at its teamNumber's position.
+         */
+        public final Info[] teams;
+        /**
+         * The names of all teams at their teamNumber's position.
+         */
+        public final String[] names;
+        /**
+         * The names of all teams followed by " (<teamNumber>)".
+         */
+        public final String[] namesWithNumbers;
+
+        /**
+         * Reads the config file of a league.
+         *
+         * @param league The league.
+         */
+        public Index(final Rules league) {
+            final Map<Integer, Info> infos = new HashMap<>();
+            int maxValue = 0;
+            try (BufferedReader br = new BufferedReader(new InputStreamReader(
+                    new FileInputStream(PATH + league.leagueDirectory + "/" + CONFIG), CHARSET))) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    final String[] entry = line.split("=", 2);
+                    if (entry.length == 2) {
+                        int key = -1;
+                        try {
+                            key = Integer.valueOf(entry[0]);
+                        } catch (NumberFormatException e) {
+                        }
+                        if (key >= 0) {
+                            final String[] values = entry[1].split(",");
+                            infos.put(key, new Info(values[0],
+                                    values.length >= 3 ? new String[]{values[1], values[2]}
+                                    : values.length == 2 ? new String[]{values[1]} : new String[0],
+                                    new FutureTask<>(new IconReader(league, key))));
+                            maxValue = Math.max(maxValue, key);
+                        } else {
+                            Log.error("error in teams.cfg: \"" + entry[0] + "\" is not a valid team number");
+                        }
+                    } else if (!line.trim().isEmpty()) {
+                        Log.error("malformed entry in teams.cfg: \"" + line + "\"");
+                    }
+                }
+            } catch (Exception e) {
+                Log.error("cannot load " + PATH + league.leagueDirectory + "/" + CONFIG);
+            }
+
+            teams = new Info[maxValue + 1];
+            names = new String[maxValue + 1];
+            namesWithNumbers = new String[maxValue + 1];
+            for (final Map.Entry<Integer, Info> entry : infos.entrySet()) {
+                teams[entry.getKey()] = entry.getValue();
+                names[entry.getKey()] = entry.getValue().name;
+                namesWithNumbers[entry.getKey()] = entry.getValue().name + " (" + entry.getKey() + ")";
+            }
+        }
+    }
+
+    /**
+     * Loads a team's icon.
+     */
+    private static class IconReader implements Callable<BufferedImage> {
+
+        /**
+         * The league of the team.
+         */
+        private final Rules league;
+        /**
+         * The number of the team.
+         */
+        private final int team;
+
+        /**
+         * Creates a new IconReader.
+         *
+         * @param league The league of the team.
+         * @param team Number of the team which icon should be read.
+         */
+        public IconReader(Rules league, int team) {
+            this.league = league;
+            this.team = team;
+        }
+
+        @Override
+        public BufferedImage call() {
+            BufferedImage out = null;
+            File file = getIconPath(league, team);
+            if (file != null) {
+                try {
+                    out = ImageIO.read(file);
+                } catch (IOException e) {
+                    Log.error("cannot load " + file);
+                }
+            }
+            if (out == null) {
+                out = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+                Graphics graphics = out.getGraphics();
+                graphics.setColor(new Color(0f, 0f, 0f, 0f));
+                graphics.fillRect(0, 0, out.getWidth(), out.getHeight());
+            }
+            return out;
         }
     }
 
@@ -70,52 +196,30 @@ public class Teams {
      * be "<teamNumber>.<png|gif>", for example "7.png".
      */
     private static final String[] PIC_ENDING = {"png", "gif", "jpg", "jpeg"};
-
     /**
-     * The instance of the singleton.
+     * The maximum number of threads decoding icons in the background.
      */
-    private static Teams instance = new Teams();
+    private static final int ICON_LOADER_THREADS = 4;
 
     /**
-     * The information read from the config files.
+     * The index of each league, created when it is first needed.
      */
-    private Info[][] teams;
+    private static final AtomicReferenceArray<Index> indices = new AtomicReferenceArray<>(Rules.LEAGUES.length);
 
     /**
-     * Creates a new Teams object.
+     * The threads decoding icons in the background.
      */
-    private Teams() {
-        teams = new Info[Rules.LEAGUES.length][];
-        for (int i = 0; i < Rules.LEAGUES.length; i++) {
-            String dir = Rules.LEAGUES[i].leagueDirectory;
-            int maxValue = 0;
-            BufferedReader br = null;
-            try {
-                InputStream inStream = new FileInputStream(PATH + dir + "/" + CONFIG);
-                br = new BufferedReader(
-                        new InputStreamReader(inStream, CHARSET));
-                String line;
-                while ((line = br.readLine()) != null) {
-                    try {
-                        final int value = Integer.valueOf(line.split("=", 2)[0]);
-                        if (value > maxValue) {
-                            maxValue = value;
-                        }
-                    } catch (NumberFormatException e) {
-                    }
-                }
-            } catch (IOException e) {
-                Log.error("cannot load " + PATH + dir + "/" + CONFIG);
-            } finally {
-                if (br != null) {
-                    try {
-                        br.close();
-                    } catch (Exception e) {
-                    }
-                }
-            }
-            teams[i] = new Info[maxValue + 1];
+    private static final ExecutorService iconLoader = Executors.newFixedThreadPool(
+            Math.min(ICON_LOADER_THREADS, Runtime.getRuntime().availableProcessors()), new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "Teams icon loader");
+            thread.setDaemon(true);
+            return thread;
         }
+    });
+
+    private Teams() {
     }
 
     /**
@@ -135,44 +239,39 @@ public class Teams {
     }
 
     /**
-     * Reads the names of all teams in the config file. You don't need to use
-     * this because the getNames method automatically uses this if needed.
+     * Returns the teams of the current league, reading its config file if
+     * this was not done before.
+     *
+     * @return the index.
+     */
+    private static Index getIndex() {
+        final int leagueIndex = getLeagueIndex();
+        Index index = indices.get(leagueIndex);
+        if (index == null) {
+            // If two threads get here at once, both read the file but only
+            // the index of the first one is used.
+            indices.compareAndSet(leagueIndex, null, new Index(Rules.LEAGUES[leagueIndex]));
+            index = indices.get(leagueIndex);
+        }
+        return index;
+    }
+
+    /**
+     * Reads the names of all teams in the config file again. You don't need
+     * to use this because the config file is read automatically when needed.
      */
     public static void readTeams() {
-        BufferedReader br = null;
-        try {
-            InputStream inStream = new FileInputStream(PATH + Rules.league.leagueDirectory + "/" + CONFIG);
-            br = new BufferedReader(
-                    new InputStreamReader(inStream, CHARSET));
-            String line;
-            while ((line = br.readLine()) != null) {
-                final String[] entry = line.split("=", 2);
-                if (entry.length == 2) {
-                    int key = -1;
-                    try {
-                        key = Integer.valueOf(entry[0]);
-                    } catch (NumberFormatException e) {
-                    }
-                    if (key >= 0) {
-                        final String[] values = entry[1].split(",");
-                        instance.teams[getLeagueIndex()][key] = new Info(values[0],
-                                values.length >= 3 ? new String[]{values[1], values[2]}
-                                : values.length == 2 ? new String[]{values[1]} : new String[0]);
-                    } else {
-                        Log.error("error in teams.cfg: \"" + entry[0] + "\" is not a valid team number");
-                    }
-                } else if (!line.trim().isEmpty()) {
-                    Log.error("malformed entry in teams.cfg: \"" + line + "\"");
-                }
-            }
-        } catch (Exception e) {
-            Log.error("cannot load " + PATH + Rules.league.leagueDirectory + "/" + CONFIG);
-        } finally {
-            if (br != null) {
-                try {
-                    br.close();
-                } catch (Exception e) {
-                }
+        indices.set(getLeagueIndex(), new Index(Rules.league));
+    }
+
+    /**
+     * Starts decoding the icons of all teams of the current league in the
+     * background, so that they are available immediately when asked for.
+     */
+    public static void preloadIcons() {
+        for (final Info info : getIndex().teams) {
+            if (info != null && !info.icon.isDone()) {
+                iconLoader.execute(info.icon);
             }
         }
     }
@@ -180,57 +279,34 @@ public class Teams {
     /**
      * Returns an array containing the names of all teams.
      *
-     * @param withNumbers If true, each name starts with "<teamNumber>: ".
+     * @param withNumbers If true, each name ends with " (<teamNumber>)".
      * @return An array containing the names at their teamNumber's position.
      */
     public static String[] getNames(boolean withNumbers) {
-        int leagueIndex = getLeagueIndex();
-        if (instance.teams[leagueIndex][0] == null) {
-            readTeams();
-        }
-        String[] out = new String[instance.teams[leagueIndex].length];
-        for (int i = 0; i < instance.teams[leagueIndex].length; i++) {
-            if (instance.teams[leagueIndex][i] != null) {
-                out[i] = instance.teams[leagueIndex][i].name + (withNumbers ? " (" + i + ")" : "");
-            }
-        }
-        return out;
+        final Index index = getIndex();
+        return (withNumbers ? index.namesWithNumbers : index.names).clone();
     }
 
     /**
-     * Loads a team's icon. You don't need to use this because the getIcon
-     * method automatically uses this if needed.
+     * Returns the file path to a team's icon
      *
-     * @param team Number of the team which icon should be read.
+     * @param team The unique team number of the team you want the icon for.
+     * @return The team's icon.
      */
-    private static void readIcon(int team) {
-        BufferedImage out = null;
-        File file = getIconPath(team);
-        if (file != null) {
-            try {
-                out = ImageIO.read(file);
-            } catch (IOException e) {
-                Log.error("cannot load " + file);
-            }
-        }
-        if (out == null) {
-            out = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
-            Graphics graphics = out.getGraphics();
-            graphics.setColor(new Color(0f, 0f, 0f, 0f));
-            graphics.fillRect(0, 0, out.getWidth(), out.getHeight());
-        }
-        instance.teams[getLeagueIndex()][team].icon = out;
+    public static File getIconPath(int team) {
+        return getIconPath(Rules.league, team);
     }
 
     /**
-     * Returns the file path to a team's icon
+     * Returns the file path to the icon of a team of a league.
      *
+     * @param league The league of the team.
      * @param team The unique team number of the team you want the icon for.
      * @return The team's icon.
      */
-    public static File getIconPath(int team) {
+    private static File getIconPath(Rules league, int team) {
         for (final String ending : PIC_ENDING) {
-            final File file = new File(PATH + Rules.league.leagueDirectory + "/" + team + "." + ending);
+            final File file = new File(PATH + league.leagueDirectory + "/" + team + "." + ending);
             if (file.exists()) {
                 return file;
             }
@@ -240,20 +316,31 @@ public class Teams {
     }
 
     /**
-     * Returns a team's icon.
+     * Returns a team's icon. If it is not yet decoded, this is done by the
+     * calling thread unless the icon loader is already decoding it.
      *
      * @param team The unique team number of the team you want the icon for.
      * @return The team's icon.
      */
     public static BufferedImage getIcon(int team) {
-        int leagueIndex = getLeagueIndex();
-        if (instance.teams[leagueIndex][team] == null) {
-            readTeams();
-        }
-        if (instance.teams[leagueIndex][team].icon == null) {
-            readIcon(team);
+        final FutureTask<BufferedImage> icon = getIndex().teams[team].icon;
+        icon.run();
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return icon.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
         }
-        return instance.teams[leagueIndex][team].icon;
     }
 
     /**
@@ -263,10 +350,6 @@ public class Teams {
      * @return The team's jersey colors or null if none were specified.
      */
     public static String[] getColors(int team) {
-        int leagueIndex = getLeagueIndex();
-        if (instance.teams[leagueIndex][team] == null) {
-            readTeams();
-        }
-        return instance.teams[leagueIndex][team].colors;
+        return getIndex().teams[team].colors;
     }
 }
@@ -1,6 +1,6 @@
 package eventrecorder;
 
-import java.net.SocketException;
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 
 import javax.swing.JOptionPane;
@@ -61,10 +61,10 @@ public class EventRecorder {
         // Initialize listener for GameController messages
         try {
             gcDataReceiver = new GameControlDataReceiver(true);
-        } catch (SocketException ex) {
+        } catch (IOException ex) {
             JOptionPane.showMessageDialog(null,
                     "Error while setting up GameController listener.",
-                    "SocketException",
+                    "IOException",
                     JOptionPane.ERROR_MESSAGE);
             System.exit(-1);
         }
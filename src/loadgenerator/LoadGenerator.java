@@ -0,0 +1,571 @@
+package loadgenerator;
+
+import common.net.SPLStandardMessagePackage;
+import data.GameControlReturnData;
+import data.SPLStandardMessage;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generates the network traffic of many robots for load testing the
+ * GameController and the TeamCommunicationMonitor. Each simulated robot sends
+ * SPLStandardMessages to the port of its team and GameControlReturnData to the
+ * GameController at configurable rates with random jitter. A configurable
+ * share of the packets is deliberately malformed. The payloads of the
+ * SPLStandardMessages can be replayed from a log file of the TCM, so that the
+ * plugins of the recorded teams get realistic data. While running, the
+ * achieved send rates are reported.
+ */
+public class LoadGenerator {
+
+    private static final String HELP_TEMPLATE = "Usage: java -jar LoadGenerator.jar {options}"
+            + "\n  (-h | --help)                   display help"
+            + "\n  (-t | --teams) <number>         number of teams (default is 2)"
+            + "\n  (-r | --robots) <number>        number of robots per team, 1 to 7 (default is 5)"
+            + "\n  (-m | --messages) <rate>        SPLStandardMessages per robot and second (default is 5)"
+            + "\n  (-g | --return-data) <rate>     GameControlReturnData per robot and second (default is 2)"
+            + "\n  (-j | --jitter) <percent>       random deviation of the intervals (default is 20)"
+            + "\n  (-x | --malformed) <percent>    share of malformed packets (default is 0)"
+            + "\n  (-d | --duration) <seconds>     stop after this time, 0 to run forever (default is 60)"
+            + "\n  --replay <path>                 replay the payloads of the teams in a log file of the TCM"
+            + "\n  --host <address>                address to send to (default is 127.0.0.1)"
+            + "\n  --return-port <port>            port to send GameControlReturnData to (default is 3939)"
+            + "\n  --threads <number>              number of sending threads (default is 1)"
+            + "\n  --seed <number>                 seed of the random values (default is 0)"
+            + "\n";
+    private static final String COMMAND_TEAMS = "--teams";
+    private static final String COMMAND_TEAMS_SHORT = "-t";
+    private static final String COMMAND_ROBOTS = "--robots";
+    private static final String COMMAND_ROBOTS_SHORT = "-r";
+    private static final String COMMAND_MESSAGES = "--messages";
+    private static final String COMMAND_MESSAGES_SHORT = "-m";
+    private static final String COMMAND_RETURN_DATA = "--return-data";
+    private static final String COMMAND_RETURN_DATA_SHORT = "-g";
+    private static final String COMMAND_JITTER = "--jitter";
+    private static final String COMMAND_JITTER_SHORT = "-j";
+    private static final String COMMAND_MALFORMED = "--malformed";
+    private static final String COMMAND_MALFORMED_SHORT = "-x";
+    private static final String COMMAND_DURATION = "--duration";
+    private static final String COMMAND_DURATION_SHORT = "-d";
+    private static final String COMMAND_REPLAY = "--replay";
+    private static final String COMMAND_HOST = "--host";
+    private static final String COMMAND_RETURN_PORT = "--return-port";
+    private static final String COMMAND_THREADS = "--threads";
+    private static final String COMMAND_SEED = "--seed";
+
+    /** The maximum number of players of a team. */
+    private static final int MAX_PLAYERS = 7;
+
+    /** The port of a team is this plus the team number. */
+    private static final int TEAM_PORT_BASE = 10000;
+
+    /** The time in ms between two reports. */
+    private static final int REPORT_INTERVAL = 1000;
+
+    /** If a stream is more than this many ns behind, it skips packets. */
+    private static final long MAX_LAG = TimeUnit.SECONDS.toNanos(1);
+
+    /** Offsets of the fields both packet types have in common. */
+    private static final int OFFSET_VERSION = 4;
+    private static final int OFFSET_PLAYER_NUM = 5;
+    private static final int OFFSET_TEAM_NUM = 6;
+    private static final int OFFSET_FALLEN = 7;
+    private static final int OFFSET_POSE = 8;
+    private static final int OFFSET_NUM_OF_DATA_BYTES = 32;
+
+    /**
+     * A simulated robot.
+     */
+    private static class Robot {
+
+        final int team;
+        final int player;
+        final DatagramChannel channel;
+        final InetSocketAddress teamPort;
+        final List<byte[]> recordedMessages;
+        int nextRecordedMessage;
+        final float[] pose = new float[3];
+        final float[] ball = new float[2];
+
+        Robot(final int team, final int player, final DatagramChannel channel, final InetSocketAddress teamPort, final List<byte[]> recordedMessages) {
+            this.team = team;
+            this.player = player;
+            this.channel = channel;
+            this.teamPort = teamPort;
+            this.recordedMessages = recordedMessages;
+            nextRecordedMessage = recordedMessages == null ? 0 : recordedMessages.size() * (player - 1) / MAX_PLAYERS;
+        }
+    }
+
+    /**
+     * The packets of one type sent by a robot.
+     */
+    private static class Stream implements Comparable<Stream> {
+
+        final Robot robot;
+        final boolean returnData;
+        final long interval;
+        long next;
+
+        Stream(final Robot robot, final boolean returnData, final long interval, final long next) {
+            this.robot = robot;
+            this.returnData = returnData;
+            this.interval = interval;
+            this.next = next;
+        }
+
+        @Override
+        public int compareTo(final Stream o) {
+            return Long.compare(next, o.next);
+        }
+    }
+
+    private final int robotsPerTeam;
+    private final double messageRate;
+    private final double returnDataRate;
+    private final double jitter;
+    private final double malformed;
+    private final InetSocketAddress returnPort;
+    private final long seed;
+    private final List<Robot> robots = new ArrayList<>();
+
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder returnDataSent = new LongAdder();
+    private final LongAdder malformedSent = new LongAdder();
+    private final LongAdder packetsSkipped = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Creates a new load generator and opens the sockets of all robots.
+     *
+     * @param teams the numbers of the teams
+     * @param robotsPerTeam the number of robots per team
+     * @param messageRate the SPLStandardMessages per robot and second
+     * @param returnDataRate the GameControlReturnData per robot and second
+     * @param jitter the maximum relative deviation of an interval
+     * @param malformed the share of malformed packets
+     * @param host the address to send to
+     * @param returnPort the port to send GameControlReturnData to
+     * @param recordedMessages recorded SPLStandardMessages by team number
+     * @param seed the seed of the random values
+     * @throws IOException if a socket could not be opened
+     */
+    public LoadGenerator(final List<Integer> teams, final int robotsPerTeam, final double messageRate,
+            final double returnDataRate, final double jitter, final double malformed, final InetAddress host,
+            final int returnPort, final Map<Integer, List<byte[]>> recordedMessages, final long seed) throws IOException {
+        this.robotsPerTeam = robotsPerTeam;
+        this.messageRate = messageRate;
+        this.returnDataRate = returnDataRate;
+        this.jitter = jitter;
+        this.malformed = malformed;
+        this.returnPort = new InetSocketAddress(host, returnPort);
+        this.seed = seed;
+
+        // On loopback, every robot gets its own source address, so that the
+        // receivers can tell them apart like on the field
+        boolean distinctAddresses = host.isLoopbackAddress();
+        for (final int team : teams) {
+            for (int player = 1; player <= robotsPerTeam; player++) {
+                final DatagramChannel channel = DatagramChannel.open(StandardProtocolFamily.INET);
+                if (distinctAddresses) {
+                    try {
+                        channel.bind(new InetSocketAddress(InetAddress.getByAddress(new byte[]{127, (byte) (team >> 8), (byte) team, (byte) player}), 0));
+                    } catch (IOException e) {
+                        System.err.println("Cannot bind to 127.x.x.x addresses, all robots will send from the same address");
+                        distinctAddresses = false;
+                    }
+                }
+                robots.add(new Robot(team, player, channel, new InetSocketAddress(host, TEAM_PORT_BASE + team), recordedMessages.get(team)));
+            }
+        }
+    }
+
+    /**
+     * Sends the packets of every n-th robot, starting at the given one, until
+     * the given time or until the thread is interrupted.
+     *
+     * @param first the index of the first robot
+     * @param step the distance of the robots
+     * @param end the time in ns (see System.nanoTime()) at which to stop
+     */
+    private void send(final int first, final int step, final long end) {
+        final Random random = new Random(seed + first);
+        final PriorityQueue<Stream> streams = new PriorityQueue<>();
+        final long start = System.nanoTime();
+        for (int i = first; i < robots.size(); i += step) {
+            final Robot robot = robots.get(i);
+            robot.pose[0] = (random.nextFloat() - 0.5f) * 9000;
+            robot.pose[1] = (random.nextFloat() - 0.5f) * 6000;
+            if (messageRate > 0) {
+                final long interval = (long) (1e9 / messageRate);
+                streams.add(new Stream(robot, false, interval, start + (long) (random.nextDouble() * interval)));
+            }
+            if (returnDataRate > 0) {
+                final long interval = (long) (1e9 / returnDataRate);
+                streams.add(new Stream(robot, true, interval, start + (long) (random.nextDouble() * interval)));
+            }
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(SPLStandardMessage.SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (!streams.isEmpty() && !Thread.currentThread().isInterrupted()) {
+            final Stream stream = streams.poll();
+            long now = System.nanoTime();
+            if (stream.next >= end) {
+                break;
+            }
+            if (stream.next > now) {
+                LockSupport.parkNanos(stream.next - now);
+                now = System.nanoTime();
+            }
+
+            // Send the packet
+            final Robot robot = stream.robot;
+            move(robot, random);
+            final boolean broken = random.nextDouble() < malformed;
+            buffer.clear();
+            if (stream.returnData) {
+                writeReturnData(buffer, robot);
+            } else {
+                writeMessage(buffer, robot, random);
+            }
+            if (broken) {
+                breakPacket(buffer, stream.returnData, random);
+            }
+            buffer.flip();
+            try {
+                robot.channel.send(buffer, stream.returnData ? returnPort : robot.teamPort);
+                (stream.returnData ? returnDataSent : messagesSent).increment();
+                if (broken) {
+                    malformedSent.increment();
+                }
+            } catch (IOException e) {
+                errors.increment();
+            }
+
+            // Schedule the next packet relative to the planned time of this
+            // one, so that short delays do not lower the rate
+            stream.next += (long) (stream.interval * (1 + jitter * (2 * random.nextDouble() - 1)));
+            if (now - stream.next > MAX_LAG) {
+                final long skipped = (now - stream.next) / stream.interval;
+                packetsSkipped.add(skipped);
+                stream.next += skipped * stream.interval;
+            }
+            streams.add(stream);
+        }
+    }
+
+    /**
+     * Lets a robot walk around randomly and look at the ball now and then.
+     */
+    private static void move(final Robot robot, final Random random) {
+        robot.pose[0] = Math.max(-4500, Math.min(4500, robot.pose[0] + (random.nextFloat() - 0.5f) * 20));
+        robot.pose[1] = Math.max(-3000, Math.min(3000, robot.pose[1] + (random.nextFloat() - 0.5f) * 20));
+        robot.pose[2] = (float) Math.IEEEremainder(robot.pose[2] + (random.nextFloat() - 0.5f) * 0.1f, 2 * Math.PI);
+        robot.ball[0] = 1000 - robot.pose[0] / 10;
+        robot.ball[1] = -robot.pose[1] / 10;
+    }
+
+    /**
+     * Writes a well-formed SPLStandardMessage of a robot. Its data is the next
+     * recorded payload of the team if there is one, otherwise random.
+     */
+    private static void writeMessage(final ByteBuffer buffer, final Robot robot, final Random random) {
+        if (robot.recordedMessages != null && !robot.recordedMessages.isEmpty()) {
+            final byte[] message = robot.recordedMessages.get(robot.nextRecordedMessage);
+            robot.nextRecordedMessage = (robot.nextRecordedMessage + 1) % robot.recordedMessages.size();
+            buffer.put(message, 0, Math.min(message.length, buffer.remaining()));
+            if (message.length > OFFSET_TEAM_NUM) {
+                buffer.put(OFFSET_PLAYER_NUM, (byte) robot.player);
+                buffer.put(OFFSET_TEAM_NUM, (byte) robot.team);
+            }
+            return;
+        }
+
+        writeHeader(buffer, SPLStandardMessage.SPL_STANDARD_MESSAGE_STRUCT_HEADER, SPLStandardMessage.SPL_STANDARD_MESSAGE_STRUCT_VERSION, robot);
+        final int numOfDataBytes = random.nextInt(SPLStandardMessage.SPL_STANDARD_MESSAGE_DATA_SIZE + 1);
+        buffer.putShort((short) numOfDataBytes);
+        for (int i = 0; i < numOfDataBytes; i++) {
+            buffer.put((byte) random.nextInt());
+        }
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) 0);
+        }
+    }
+
+    /**
+     * Writes well-formed GameControlReturnData of a robot.
+     */
+    private static void writeReturnData(final ByteBuffer buffer, final Robot robot) {
+        writeHeader(buffer, GameControlReturnData.GAMECONTROLLER_RETURN_STRUCT_HEADER, GameControlReturnData.GAMECONTROLLER_RETURN_STRUCT_VERSION, robot);
+    }
+
+    /**
+     * Writes the fields both packet types have in common.
+     */
+    private static void writeHeader(final ByteBuffer buffer, final String header, final byte version, final Robot robot) {
+        buffer.put(header.getBytes());
+        buffer.put(version);
+        buffer.put((byte) robot.player);
+        buffer.put((byte) robot.team);
+        buffer.put((byte) 0);
+        buffer.putFloat(robot.pose[0]);
+        buffer.putFloat(robot.pose[1]);
+        buffer.putFloat(robot.pose[2]);
+        buffer.putFloat(0.5f);
+        buffer.putFloat(robot.ball[0]);
+        buffer.putFloat(robot.ball[1]);
+    }
+
+    /**
+     * Breaks a packet in one of the ways the receivers have to cope with.
+     */
+    private static void breakPacket(final ByteBuffer buffer, final boolean returnData, final Random random) {
+        switch (random.nextInt(returnData ? 6 : 7)) {
+            case 0:
+                buffer.put(0, (byte) 'X');
+                break;
+            case 1:
+                buffer.put(OFFSET_VERSION, (byte) (buffer.get(OFFSET_VERSION) + 1));
+                break;
+            case 2:
+                buffer.position(random.nextInt(buffer.position()));
+                break;
+            case 3:
+                buffer.put(OFFSET_PLAYER_NUM, (byte) (random.nextBoolean() ? 0 : MAX_PLAYERS + 1 + random.nextInt(100)));
+                break;
+            case 4:
+                buffer.putFloat(OFFSET_POSE + 4 * random.nextInt(3), Float.NaN);
+                break;
+            case 5:
+                buffer.put(OFFSET_FALLEN, (byte) 2);
+                break;
+            case 6:
+                buffer.putShort(OFFSET_NUM_OF_DATA_BYTES, (short) (SPLStandardMessage.SPL_STANDARD_MESSAGE_DATA_SIZE + 1 + random.nextInt(1000)));
+                break;
+        }
+    }
+
+    /**
+     * Sends packets until the given duration passed and prints the achieved
+     * rates every second.
+     *
+     * @param duration the duration in seconds or 0 to run until the program is
+     * terminated
+     * @param threads the number of sending threads
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void run(final long duration, final int threads) throws InterruptedException {
+        final long start = System.nanoTime();
+        final long end = duration > 0 ? start + TimeUnit.SECONDS.toNanos(duration) : Long.MAX_VALUE;
+        final List<Thread> senders = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            final int first = i;
+            final Thread sender = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    send(first, threads, end);
+                }
+            }, "LoadGenerator sender " + i);
+            sender.setDaemon(true);
+            sender.start();
+            senders.add(sender);
+        }
+
+        System.out.printf("Simulating %d robots: %.1f SPLStandardMessages/s, %.1f GameControlReturnData/s%n",
+                robots.size(), robots.size() * messageRate, robots.size() * returnDataRate);
+        long lastTime = start;
+        long lastMessages = 0;
+        long lastReturnData = 0;
+        boolean running = true;
+        while (running) {
+            running = false;
+            for (final Thread sender : senders) {
+                sender.join(Math.max(1, REPORT_INTERVAL / senders.size()));
+                running |= sender.isAlive();
+            }
+
+            final long time = System.nanoTime();
+            final long messages = messagesSent.sum();
+            final long returnData = returnDataSent.sum();
+            final double seconds = (time - lastTime) / 1e9;
+            System.out.printf("%6.1fs: %9.1f SPLStandardMessages/s, %9.1f GameControlReturnData/s, %d malformed, %d skipped, %d errors%n",
+                    (time - start) / 1e9, (messages - lastMessages) / seconds, (returnData - lastReturnData) / seconds,
+                    malformedSent.sum(), packetsSkipped.sum(), errors.sum());
+            lastTime = time;
+            lastMessages = messages;
+            lastReturnData = returnData;
+        }
+
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Sent %d SPLStandardMessages (%.1f/s) and %d GameControlReturnData (%.1f/s) in %.1fs%n",
+                messagesSent.sum(), messagesSent.sum() / seconds, returnDataSent.sum(), returnDataSent.sum() / seconds, seconds);
+    }
+
+    /**
+     * Reads the SPLStandardMessages from a log file of the TCM.
+     *
+     * @param path the path of the log file
+     * @return the raw messages by the numbers of the teams that sent them
+     * @throws IOException if the file could not be read
+     */
+    public static Map<Integer, List<byte[]>> readMessages(final String path) throws IOException {
+        final Map<Integer, List<byte[]>> messages = new TreeMap<>();
+        try (final ObjectInputStream stream = new ObjectInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+            while (true) {
+                stream.readLong();
+                if (!stream.readBoolean()) {
+                    stream.readInt();
+                    continue;
+                }
+                final Object o = stream.readObject();
+                if (o instanceof SPLStandardMessagePackage) {
+                    final SPLStandardMessagePackage p = (SPLStandardMessagePackage) o;
+                    List<byte[]> list = messages.get(p.team);
+                    if (list == null) {
+                        list = new ArrayList<>();
+                        messages.put(p.team, list);
+                    }
+                    list.add(p.message);
+                }
+            }
+        } catch (EOFException e) {
+            return messages;
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * The program starts here.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(final String[] args) {
+        int numOfTeams = 2;
+        int robotsPerTeam = 5;
+        double messageRate = 5;
+        double returnDataRate = 2;
+        double jitter = 20;
+        double malformed = 0;
+        long duration = 60;
+        String replayPath = null;
+        String host = "127.0.0.1";
+        int returnPort = GameControlReturnData.GAMECONTROLLER_RETURNDATA_PORT;
+        int threads = 1;
+        long seed = 0;
+
+        parsing:
+        for (int i = 0; i < args.length; i++) {
+            try {
+                if ((args.length > i + 1)
+                        && ((args[i].equalsIgnoreCase(COMMAND_TEAMS_SHORT))
+                        || (args[i].equalsIgnoreCase(COMMAND_TEAMS)))) {
+                    numOfTeams = Integer.parseInt(args[++i]);
+                    if (numOfTeams > 0) {
+                        continue parsing;
+                    }
+                } else if ((args.length > i + 1)
+                        && ((args[i].equalsIgnoreCase(COMMAND_ROBOTS_SHORT))
+                        || (args[i].equalsIgnoreCase(COMMAND_ROBOTS)))) {
+                    robotsPerTeam = Integer.parseInt(args[++i]);
+                    if (robotsPerTeam >= 1 && robotsPerTeam <= MAX_PLAYERS) {
+                        continue parsing;
+                    }
+                } else if ((args.length > i + 1)
+                        && ((args[i].equalsIgnoreCase(COMMAND_MESSAGES_SHORT))
+                        || (args[i].equalsIgnoreCase(COMMAND_MESSAGES)))) {
+                    messageRate = Double.parseDouble(args[++i]);
+                    continue parsing;
+                } else if ((args.length > i + 1)
+                        && ((args[i].equalsIgnoreCase(COMMAND_RETURN_DATA_SHORT))
+                        || (args[i].equalsIgnoreCase(COMMAND_RETURN_DATA)))) {
+                    returnDataRate = Double.parseDouble(args[++i]);
+                    continue parsing;
+                } else if ((args.length > i + 1)
+                        && ((args[i].equalsIgnoreCase(COMMAND_JITTER_SHORT))
+                        || (args[i].equalsIgnoreCase(COMMAND_JITTER)))) {
+                    jitter = Double.parseDouble(args[++i]);
+                    if (jitter >= 0 && jitter < 100) {
+                        continue parsing;
+                    }
+                } else if ((args.length > i + 1)
+                        && ((args[i].equalsIgnoreCase(COMMAND_MALFORMED_SHORT))
+                        || (args[i].equalsIgnoreCase(COMMAND_MALFORMED)))) {
+                    malformed = Double.parseDouble(args[++i]);
+                    continue parsing;
+                } else if ((args.length > i + 1)
+                        && ((args[i].equalsIgnoreCase(COMMAND_DURATION_SHORT))
+                        || (args[i].equalsIgnoreCase(COMMAND_DURATION)))) {
+                    duration = Long.parseLong(args[++i]);
+                    continue parsing;
+                } else if (args.length > i + 1 && args[i].equalsIgnoreCase(COMMAND_REPLAY)) {
+                    replayPath = args[++i];
+                    continue parsing;
+                } else if (args.length > i + 1 && args[i].equalsIgnoreCase(COMMAND_HOST)) {
+                    host = args[++i];
+                    continue parsing;
+                } else if (args.length > i + 1 && args[i].equalsIgnoreCase(COMMAND_RETURN_PORT)) {
+                    returnPort = Integer.parseInt(args[++i]);
+                    continue parsing;
+                } else if (args.length > i + 1 && args[i].equalsIgnoreCase(COMMAND_THREADS)) {
+                    threads = Integer.parseInt(args[++i]);
+                    if (threads > 0) {
+                        continue parsing;
+                    }
+                } else if (args.length > i + 1 && args[i].equalsIgnoreCase(COMMAND_SEED)) {
+                    seed = Long.parseLong(args[++i]);
+                    continue parsing;
+                }
+            } catch (NumberFormatException e) {
+            }
+            System.out.print(HELP_TEMPLATE);
+            System.exit(0);
+        }
+
+        try {
+            // The recorded teams come first, so that their payloads are sent
+            // with their team numbers and reach their plugins
+            final Map<Integer, List<byte[]>> recordedMessages = replayPath != null ? readMessages(replayPath) : new TreeMap<Integer, List<byte[]>>();
+            final List<Integer> teams = new ArrayList<>();
+            for (final int team : recordedMessages.keySet()) {
+                if (teams.size() < numOfTeams) {
+                    teams.add(team);
+                }
+            }
+            for (int team = 1; teams.size() < numOfTeams; team++) {
+                if (!teams.contains(team)) {
+                    teams.add(team);
+                }
+            }
+            if (replayPath != null) {
+                System.out.println("Replaying the messages of teams " + recordedMessages.keySet() + " from " + replayPath);
+            }
+
+            final LoadGenerator generator = new LoadGenerator(teams, robotsPerTeam, messageRate, returnDataRate,
+                    jitter / 100, malformed / 100, InetAddress.getByName(host), returnPort, recordedMessages, seed);
+            generator.run(duration, threads);
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(-1);
+        } catch (InterruptedException e) {
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package simulator;
+
+import common.Log;
+import common.TimeSource;
+import controller.EventHandler;
+import controller.action.ActionBoard;
+import controller.action.GCAction;
+import data.AdvancedData;
+import data.GameControlData;
+import data.Rules;
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Simulates games by performing scripted or random actions on the data of the
+ * GameController using a virtual clock, so that a whole game only takes
+ * milliseconds. After each action, the data is checked for consistency (see
+ * {@link Invariants}). Since no GUI and no network are involved, the
+ * simulator also measures the cost of handling actions.
+ */
+public class GameSimulator {
+
+    private static final String HELP_TEMPLATE = "Usage: java -jar GameSimulator.jar {options}"
+            + "\n  (-h | --help)                   display help"
+            + "\n  (-l | --league) %s%sselect league (default is spl)"
+            + "\n  (-n | --games) <number>         number of games to simulate (default is 1000)"
+            + "\n  (-s | --seed) <number>          seed of the random actions (default is 0)"
+            + "\n  (-a | --actions) <number>       maximum number of actions per game (default is 2000)"
+            + "\n  (-p | --playoff)                simulate play-off games (default is preliminaries)"
+            + "\n  --script <path>                 perform the actions from a script instead of random ones"
+            + "\n";
+    private static final String COMMAND_LEAGUE = "--league";
+    private static final String COMMAND_LEAGUE_SHORT = "-l";
+    private static final String COMMAND_GAMES = "--games";
+    private static final String COMMAND_GAMES_SHORT = "-n";
+    private static final String COMMAND_SEED = "--seed";
+    private static final String COMMAND_SEED_SHORT = "-s";
+    private static final String COMMAND_ACTIONS = "--actions";
+    private static final String COMMAND_ACTIONS_SHORT = "-a";
+    private static final String COMMAND_PLAYOFF = "--playoff";
+    private static final String COMMAND_PLAYOFF_SHORT = "-p";
+    private static final String COMMAND_SCRIPT = "--script";
+
+    /** The maximum time in ms that passes between two random actions. */
+    private static final int MAX_TIME_BETWEEN_ACTIONS = 5000;
+
+    /** The script command that lets time pass. */
+    private static final String SCRIPT_WAIT = "wait";
+
+    private final TimeSource.Virtual time = new TimeSource.Virtual();
+    private final Random random;
+    private final boolean playoff;
+    private final List<GCAction> actions = new ArrayList<>();
+
+    private long actionsPerformed = 0;
+    private long actionsRejected = 0;
+    private long clockTicks = 0;
+    private long violations = 0;
+
+    /**
+     * Creates a new simulator. ActionBoard.init() must have been called.
+     *
+     * @param seed the seed of the random actions
+     * @param playoff whether to simulate play-off games
+     */
+    public GameSimulator(final long seed, final boolean playoff) {
+        random = new Random(seed);
+        this.playoff = playoff;
+        TimeSource.setInstance(time);
+
+        // All actions an operator or the network can trigger
+        for (final Field field : ActionBoard.class.getFields()) {
+            try {
+                collectActions(field.get(null));
+            } catch (IllegalAccessException e) {
+            }
+        }
+        actions.remove(ActionBoard.clock);
+        actions.remove(ActionBoard.quit);
+        actions.remove(ActionBoard.testmode);
+        actions.remove(ActionBoard.clockPause);
+        actions.remove(ActionBoard.clockReset);
+    }
+
+    private void collectActions(final Object o) {
+        if (o instanceof GCAction) {
+            actions.add((GCAction) o);
+        } else if (o != null && o.getClass().isArray()) {
+            for (int i = 0; i < Array.getLength(o); i++) {
+                collectActions(Array.get(o, i));
+            }
+        }
+    }
+
+    /**
+     * Starts a new game.
+     *
+     * @return the data of the new game
+     */
+    private AdvancedData startGame() {
+        final AdvancedData data = new AdvancedData();
+        data.kickingTeam = 1;
+        data.competitionPhase = playoff ? GameControlData.COMPETITION_PHASE_PLAYOFF : GameControlData.COMPETITION_PHASE_ROUNDROBIN;
+        data.competitionType = Rules.league.competitionType;
+        for (int i = 0; i < 2; i++) {
+            data.team[i].teamNumber = (byte) (i + 1);
+            data.team[i].teamColor = (byte) i;
+            data.team[i].messageBudget = Rules.league.overallMessageBudget;
+        }
+
+        final EventHandler eventHandler = EventHandler.getInstance();
+        eventHandler.data = data;
+        eventHandler.lastNonClockEvent = null;
+        eventHandler.lastUIEvent = null;
+        eventHandler.lastNetEvent = null;
+        eventHandler.noLastUIEvent = false;
+        Log.clearTimeline();
+        Log.state(data, "Simulated game");
+        return data;
+    }
+
+    /**
+     * Whether the current game is over, i.e. the last half ended and no
+     * further half will start automatically.
+     *
+     * @param data the current data
+     * @return whether the game is over
+     */
+    private static boolean isOver(final AdvancedData data) {
+        return data.gameState == GameControlData.STATE_FINISHED
+                && (data.firstHalf != GameControlData.C_TRUE || data.gamePhase != GameControlData.GAME_PHASE_NORMAL)
+                && ActionBoard.clock.getNextDeadline(data) == Long.MAX_VALUE;
+    }
+
+    /**
+     * Performs an action and checks the invariants afterwards.
+     *
+     * @param action the action
+     * @return whether the action was legal
+     */
+    private boolean perform(final GCAction action) {
+        final EventHandler eventHandler = EventHandler.getInstance();
+        final byte gameStateBefore = eventHandler.data.gameState;
+        if (!eventHandler.performNow(action)) {
+            actionsRejected++;
+            return false;
+        }
+        if (action == ActionBoard.clock) {
+            clockTicks++;
+        } else {
+            actionsPerformed++;
+        }
+        for (final String violation : Invariants.check(eventHandler.data, action, gameStateBefore)) {
+            violations++;
+            System.out.println("Violation after " + action.getClass().getSimpleName() + ": " + violation);
+        }
+        return true;
+    }
+
+    /**
+     * Lets time pass. The ClockTick is performed at every deadline on the
+     * way, just as the Clock of the GameController would do.
+     *
+     * @param millis the duration in ms
+     */
+    private void advance(long millis) {
+        long lastDeadline = Long.MIN_VALUE;
+        while (true) {
+            final AdvancedData data = EventHandler.getInstance().data;
+            final long deadline = ActionBoard.clock.getNextDeadline(data);
+            final long now = data.getTime();
+            if (deadline == Long.MAX_VALUE || deadline <= lastDeadline || deadline > now + millis) {
+                break;
+            }
+            final long delay = Math.max(0, deadline - now);
+            time.advance(delay);
+            millis -= delay;
+            lastDeadline = deadline;
+            perform(ActionBoard.clock);
+        }
+        time.advance(millis);
+        perform(ActionBoard.clock);
+    }
+
+    /**
+     * Simulates a game with random actions.
+     *
+     * @param maxActions the maximum number of actions
+     */
+    public void simulateRandomGame(final int maxActions) {
+        startGame();
+        final List<GCAction> legal = new ArrayList<>();
+        for (int i = 0; i < maxActions && !isOver(EventHandler.getInstance().data); i++) {
+            advance(random.nextInt(MAX_TIME_BETWEEN_ACTIONS));
+            legal.clear();
+            for (final GCAction action : actions) {
+                if (action.isLegal(EventHandler.getInstance().data)) {
+                    legal.add(action);
+                }
+            }
+            if (!legal.isEmpty()) {
+                perform(legal.get(random.nextInt(legal.size())));
+            }
+        }
+    }
+
+    /**
+     * Simulates a game with actions from a script. Each line of the script
+     * contains the name of a field of the ActionBoard followed by array
+     * indices if necessary (e.g. "goalInc 0" or "robot 1 2") or "wait"
+     * followed by a number of seconds. Empty lines and lines starting with
+     * '#' are ignored.
+     *
+     * @param script the lines of the script
+     * @throws IllegalArgumentException if the script contains an unknown
+     * action
+     */
+    public void simulateScriptedGame(final List<String> script) {
+        startGame();
+        int lineNumber = 0;
+        for (final String line : script) {
+            lineNumber++;
+            final String[] words = line.trim().split("\\s+");
+            if (words[0].isEmpty() || words[0].startsWith("#")) {
+                continue;
+            }
+            try {
+                if (words[0].equals(SCRIPT_WAIT)) {
+                    advance((long) (Double.parseDouble(words[1]) * 1000));
+                } else {
+                    Object o = ActionBoard.class.getField(words[0]).get(null);
+                    for (int i = 1; i < words.length; i++) {
+                        o = Array.get(o, Integer.parseInt(words[i]));
+                    }
+                    if (!perform((GCAction) o)) {
+                        System.out.println("Line " + lineNumber + ": action " + line.trim() + " is not legal");
+                    }
+                }
+            } catch (NoSuchFieldException | IllegalAccessException | IllegalArgumentException
+                    | ArrayIndexOutOfBoundsException | ClassCastException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": cannot interpret " + line.trim(), e);
+            }
+        }
+    }
+
+    /**
+     * The program starts here.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(final String[] args) {
+        int games = 1000;
+        long seed = 0;
+        int maxActions = 2000;
+        boolean playoff = false;
+        String scriptPath = null;
+
+        parsing:
+        for (int i = 0; i < args.length; i++) {
+            try {
+                if ((args.length > i + 1)
+                        && ((args[i].equalsIgnoreCase(COMMAND_LEAGUE_SHORT))
+                        || (args[i].equalsIgnoreCase(COMMAND_LEAGUE)))) {
+                    i++;
+                    for (int j = 0; j < Rules.LEAGUES.length; j++) {
+                        if (Rules.LEAGUES[j].leagueName.replace(' ', '_').equalsIgnoreCase(args[i])) {
+                            Rules.league = Rules.LEAGUES[j];
+                            continue parsing;
+                        }
+                    }
+                } else if ((args.length > i + 1)
+                        && ((args[i].equalsIgnoreCase(COMMAND_GAMES_SHORT))
+                        || (args[i].equalsIgnoreCase(COMMAND_GAMES)))) {
+                    games = Integer.parseInt(args[++i]);
+                    continue parsing;
+                } else if ((args.length > i + 1)
+                        && ((args[i].equalsIgnoreCase(COMMAND_SEED_SHORT))
+                        || (args[i].equalsIgnoreCase(COMMAND_SEED)))) {
+                    seed = Long.parseLong(args[++i]);
+                    continue parsing;
+                } else if ((args.length > i + 1)
+                        && ((args[i].equalsIgnoreCase(COMMAND_ACTIONS_SHORT))
+                        || (args[i].equalsIgnoreCase(COMMAND_ACTIONS)))) {
+                    maxActions = Integer.parseInt(args[++i]);
+                    continue parsing;
+                } else if (args[i].equalsIgnoreCase(COMMAND_PLAYOFF_SHORT) || args[i].equalsIgnoreCase(COMMAND_PLAYOFF)) {
+                    playoff = true;
+                    continue parsing;
+                } else if (args.length > i + 1 && args[i].equalsIgnoreCase(COMMAND_SCRIPT)) {
+                    scriptPath = args[++i];
+                    continue parsing;
+                }
+            } catch (NumberFormatException e) {
+            }
+            String leagues = "";
+            for (Rules rules : Rules.LEAGUES) {
+                leagues += (leagues.equals("") ? "" : " | ") + rules.leagueName.toLowerCase().replace(' ', '_');
+            }
+            if (leagues.contains("|")) {
+                leagues = "(" + leagues + ")";
+            }
+            System.out.printf(HELP_TEMPLATE, leagues, leagues.length() < 17
+                    ? "                ".substring(leagues.length())
+                    : "\n                                  ");
+            System.exit(0);
+        }
+
+        List<String> script = null;
+        if (scriptPath != null) {
+            script = new ArrayList<>();
+            try (final BufferedReader reader = new BufferedReader(new FileReader(scriptPath))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    script.add(line);
+                }
+            } catch (IOException e) {
+                System.err.println("Error while reading script: " + e.getMessage());
+                System.exit(-1);
+            }
+        }
+
+        ActionBoard.init();
+        final GameSimulator simulator = new GameSimulator(seed, playoff);
+        final long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            if (script != null) {
+                try {
+                    simulator.simulateScriptedGame(script);
+                } catch (IllegalArgumentException e) {
+                    System.err.println(e.getMessage());
+                    System.exit(-1);
+                }
+            } else {
+                simulator.simulateRandomGame(maxActions);
+            }
+        }
+        final double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Games:               %d%n", games);
+        System.out.printf("Actions performed:   %d%n", simulator.actionsPerformed);
+        System.out.printf("Actions rejected:    %d%n", simulator.actionsRejected);
+        System.out.printf("Clock ticks:         %d%n", simulator.clockTicks);
+        System.out.printf("Invariant violations: %d%n", simulator.violations);
+        System.out.printf("Duration:            %.3f s%n", seconds);
+        System.out.printf("Throughput:          %.0f actions/s, %.0f games/min%n",
+                (simulator.actionsPerformed + simulator.clockTicks) / seconds, games / seconds * 60);
+        System.exit(simulator.violations == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,114 @@
+package simulator;
+
+import controller.action.ActionBoard;
+import controller.action.GCAction;
+import data.AdvancedData;
+import data.GameControlData;
+import data.PlayerInfo;
+import data.Rules;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks that the data of the GameController is consistent after an action
+ * has been performed.
+ */
+public class Invariants {
+
+    /**
+     * Checks all invariants.
+     *
+     * @param data the data after the action was performed
+     * @param action the action that was performed
+     * @param gameStateBefore the game state before the action was performed
+     * @return descriptions of all invariants violated (empty if none)
+     */
+    public static List<String> check(final AdvancedData data, final GCAction action, final byte gameStateBefore) {
+        final List<String> violations = new ArrayList<>();
+
+        // Game state transitions
+        if (data.gameState < GameControlData.STATE_INITIAL || data.gameState > GameControlData.STATE_FINISHED) {
+            violations.add("illegal game state " + data.gameState);
+        }
+        final byte expectedState = getTargetState(action);
+        if (expectedState >= 0 && data.gameState != expectedState) {
+            violations.add("game state is " + data.gameState + " instead of " + expectedState);
+        }
+        if (action == ActionBoard.clock && data.gameState != gameStateBefore
+                && !(gameStateBefore == GameControlData.STATE_READY && data.gameState == GameControlData.STATE_SET)
+                && !(gameStateBefore == GameControlData.STATE_FINISHED && data.gameState == GameControlData.STATE_INITIAL)) {
+            violations.add("clock switched game state from " + gameStateBefore + " to " + data.gameState);
+        }
+
+        for (int side = 0; side < 2; side++) {
+            // Scores and budgets
+            if (data.team[side].score < 0) {
+                violations.add("negative score " + data.team[side].score + " on side " + side);
+            }
+            if (data.team[side].messageBudget < 0) {
+                violations.add("negative message budget " + data.team[side].messageBudget + " on side " + side);
+            }
+
+            // Penalties
+            for (int number = 0; number < Rules.league.teamSize; number++) {
+                final int budget = data.robotHardwarePenaltyBudget[side][number];
+                if (budget < 0 || budget > Rules.league.allowedHardwarePenaltiesPerHalf) {
+                    violations.add("hardware penalty budget " + budget + " of robot " + side + "/" + (number + 1));
+                }
+                final byte penalty = data.team[side].player[number].penalty;
+                if (data.ejected[side][number] && penalty == PlayerInfo.PENALTY_NONE) {
+                    violations.add("ejected robot " + side + "/" + (number + 1) + " is not penalized");
+                }
+                if (penalty != PlayerInfo.PENALTY_NONE && penalty != PlayerInfo.PENALTY_MANUAL && penalty != PlayerInfo.PENALTY_SUBSTITUTE) {
+                    final int remaining = data.getRemainingPenaltyTime(side, number, true);
+                    final int duration = data.getPenaltyDuration(side, number);
+                    if (remaining < 0 || remaining > duration) {
+                        violations.add("remaining penalty time " + remaining + " of robot " + side + "/" + (number + 1)
+                                + " exceeds " + duration);
+                    }
+                }
+            }
+        }
+
+        // Packet encoding
+        data.updateTimes(true);
+        final GameControlData decoded = new GameControlData();
+        final ByteBuffer buffer = data.getTrueDataAsByteArray();
+        buffer.rewind();
+        if (!decoded.fromByteArray(buffer) || !decoded.isTrueData) {
+            violations.add("packet could not be decoded");
+        } else if (decoded.team[0].teamNumber != data.team[0].teamNumber
+                || decoded.team[1].teamNumber != data.team[1].teamNumber
+                || decoded.team[0].score != data.team[0].score
+                || decoded.team[1].score != data.team[1].score
+                || decoded.gameState != data.gameState
+                || decoded.secsRemaining != data.secsRemaining) {
+            violations.add("packet does not match data");
+        }
+
+        return violations;
+    }
+
+    /**
+     * Returns the game state an action must switch to.
+     *
+     * @param action the action
+     * @return the game state or -1 if the action does not determine it
+     */
+    private static byte getTargetState(final GCAction action) {
+        if (action == ActionBoard.initial) {
+            return GameControlData.STATE_INITIAL;
+        } else if (action == ActionBoard.ready) {
+            return GameControlData.STATE_READY;
+        } else if (action == ActionBoard.set) {
+            return GameControlData.STATE_SET;
+        } else if (action == ActionBoard.play) {
+            return GameControlData.STATE_PLAYING;
+        } else if (action == ActionBoard.finish) {
+            return GameControlData.STATE_FINISHED;
+        } else {
+            return -1;
+        }
+    }
+}
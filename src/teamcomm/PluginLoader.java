@@ -25,9 +25,11 @@ import teamcomm.data.AdvancedMessage;
 import teamcomm.data.RobotState;
 import teamcomm.gui.RobotDetailFrame;
 import teamcomm.gui.RobotDetailFrameDefault;
+import teamcomm.gui.TeamLogoLoader;
 import teamcomm.gui.drawings.Drawing;
 import teamcomm.gui.drawings.PerPlayer;
 import teamcomm.gui.drawings.PerPlayerWithTeam;
+import teamcomm.gui.drawings.Preloader;
 import teamcomm.gui.drawings.Static;
 
 /**
@@ -140,11 +142,18 @@ public class PluginLoader {
     }
 
     /**
-     * Dynamically loads/reloads plugins of the given teams.
+     * Dynamically loads/reloads plugins of the given teams. Also starts
+     * preloading the logos of the teams and the scene files of their plugins
+     * in the background (see Preloader).
      *
      * @param teamNumbers numbers of the teams
      */
     public void update(final Set<Integer> teamNumbers) {
+        // Preload the logos of the teams for the 3D views
+        for (final int teamNumber : teamNumbers) {
+            TeamLogoLoader.getInstance().preloadTeamLogoTexture(teamNumber);
+        }
+
         // Disallow reloading of plugins
         // (maybe use a ServiceLoader in the future to allow reloading)
         final Iterator<Integer> iter = teamNumbers.iterator();
@@ -182,6 +191,7 @@ public class PluginLoader {
             final LinkedList<File> dirs = new LinkedList<>();
             dirs.add(pDir);
             final List<File> jars = new LinkedList<>();
+            final List<File> scenes = new LinkedList<>();
 
             // Scan plugin directory
             while (!dirs.isEmpty()) {
@@ -191,6 +201,8 @@ public class PluginLoader {
                         dirs.addLast(file);
                     } else if (file.isFile() && file.getName().endsWith(".jar")) {
                         jars.add(file);
+                    } else if (file.isFile() && file.getName().endsWith(".ros2")) {
+                        scenes.add(file);
                     }
                 }
             }
@@ -199,6 +211,13 @@ public class PluginLoader {
             for (final File file : jars) {
                 scanJar(file, teamNumber);
             }
+
+            // Preload scenes which are likely used by the drawings
+            if (!pluginsDisabled) {
+                for (final File file : scenes) {
+                    Preloader.getInstance().preloadScene(file.getPath());
+                }
+            }
         }
     }
 
@@ -3,18 +3,20 @@ package teamcomm;
 import com.jogamp.opengl.GLProfile;
 import common.ApplicationLock;
 import common.net.logging.Logger;
+import common.profiling.Profiling;
 import data.Rules;
 import java.awt.HeadlessException;
 import java.io.File;
 import java.io.IOException;
-import java.net.SocketException;
 import javax.swing.JOptionPane;
 import teamcomm.data.GameState;
 import teamcomm.gui.MainWindow;
 import teamcomm.gui.View3DGSV;
+import teamcomm.gui.drawings.Preloader;
 import teamcomm.net.GameControlDataReceiver;
 import teamcomm.net.GameControlReturnDataReceiverTCM;
 import teamcomm.net.SPLStandardMessageReceiverTCM;
+import teamcomm.net.logging.Capture;
 import teamcomm.net.logging.LogReplayer;
 
 /**
@@ -30,6 +32,7 @@ public class TeamCommunicationMonitor {
     private static boolean multicast = false;
     private static boolean forceEnablePlugins = false;
     private static File replayedLogAtStartup = null;
+    private static String recordingPath = null;
 
     private static boolean shutdown = false;
     private static final Object commandMutex = new Object();
@@ -47,6 +50,11 @@ public class TeamCommunicationMonitor {
 
         parseArgs(args);
 
+        // Start the flight recording
+        if (recordingPath != null) {
+            Profiling.startRecording(recordingPath);
+        }
+
         // try to acquire the application lock
         final ApplicationLock applicationLock = new ApplicationLock("TeamCommunicationMonitor");
         try {
@@ -75,6 +83,17 @@ public class TeamCommunicationMonitor {
 
         if (silentMode) {
             System.out.println("Team Communication Monitor was started in silent mode.\nMessages will be received and logged but not displayed.");
+            Capture.start();
+
+            // Silent mode is usually ended with Ctrl+C, so the log file is
+            // completed in a shutdown hook
+            Runtime.getRuntime().addShutdownHook(new Thread("Capture shutdown") {
+                @Override
+                public void run() {
+                    Capture.getInstance().shutdown();
+                    Logger.getInstance().closeLogfile();
+                }
+            });
         }
 
         if (!silentMode) {
@@ -97,19 +116,24 @@ public class TeamCommunicationMonitor {
         // Initialize listener for GameController messages
         try {
             gcDataReceiver = new GameControlDataReceiver(true);
-        } catch (SocketException ex) {
+        } catch (IOException ex) {
             JOptionPane.showMessageDialog(null,
                     "Error while setting up GameController listener.",
-                    "SocketException",
+                    "IOException",
                     JOptionPane.ERROR_MESSAGE);
             System.exit(-1);
         }
-        gcDataReceiver.addListener(GameState.getInstance());
+        gcDataReceiver.addListener(silentMode ? Capture.getInstance() : GameState.getInstance());
 
         // Initialize listeners for robots
         gcReturnDataReceiver = GameControlReturnDataReceiverTCM.getInstance();
         receiver = SPLStandardMessageReceiverTCM.createInstance(multicast);
 
+        // Start loading the models and textures of the 3D views
+        if (!silentMode) {
+            Preloader.getInstance().enable();
+        }
+
         // Initialize robot view part of the GUI
         System.setProperty("newt.window.icons", "null,null");
         MainWindow robotView = silentMode || gsvMode ? null : new MainWindow();
@@ -176,7 +200,11 @@ public class TeamCommunicationMonitor {
         }
 
         // Shutdown threads and clean up
-        GameState.getInstance().shutdown();
+        if (silentMode) {
+            Capture.getInstance().shutdown();
+        } else {
+            GameState.getInstance().shutdown();
+        }
         receiver.interrupt();
         gcReturnDataReceiver.interrupt();
         gcDataReceiver.interrupt();
@@ -197,6 +225,9 @@ public class TeamCommunicationMonitor {
         } catch (InterruptedException ex) {
         }
 
+        // Write the flight recording
+        Profiling.stopRecording();
+
         // Force exit
         System.exit(0);
     }
@@ -216,6 +247,7 @@ public class TeamCommunicationMonitor {
     private static final String ARG_MULTICAST_SHORT = "-m";
     private static final String ARG_FORCEPLUGINS = "--forceplugins";
     private static final String ARG_FORCEPLUGINS_SHORT = "-p";
+    private static final String ARG_JFR = "--jfr";
 
     private static void parseArgs(final String[] args) {
         for (int i = 0; i < args.length; i++) {
@@ -230,7 +262,8 @@ public class TeamCommunicationMonitor {
                             + "\n  (--gsv)                         start as GameStateVisualizer"
                             + "\n  (-w | --windowed)               GSV: force windowed mode"
                             + "\n  (-m | --multicast)              also join multicast groups for simulated team communication"
-                            + "\n  (-p | --forceplugins)           GSV: force usage of plugins");
+                            + "\n  (-p | --forceplugins)           GSV: force usage of plugins"
+                            + "\n  (--jfr) <path>                  record a flight recording and write it to a file on exit");
                     System.exit(0);
                 case ARG_LEAGUE_SHORT:
                 case ARG_LEAGUE:
@@ -264,6 +297,9 @@ public class TeamCommunicationMonitor {
                 case ARG_GSV:
                     gsvMode = true;
                     break;
+                case ARG_JFR:
+                    recordingPath = args[++i];
+                    break;
             }
         }
     }
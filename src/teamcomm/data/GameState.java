@@ -1,10 +1,12 @@
 package teamcomm.data;
 
 import common.ApplicationLock;
+import common.net.IPv4;
 import common.net.logging.Logger;
+import common.profiling.GameStateEvent;
+import common.profiling.Profiling;
 import data.GameControlData;
 import data.GameControlReturnData;
-import data.Rules;
 import data.SPLStandardMessage;
 import data.TeamInfo;
 import data.Teams;
@@ -30,6 +32,7 @@ import teamcomm.data.event.GameControlDataTimeoutEvent;
 import teamcomm.data.event.TeamEvent;
 import teamcomm.data.event.TeamEventListener;
 import teamcomm.net.logging.LogReplayer;
+import teamcomm.net.logging.LogRotation;
 
 /**
  * Singleton class managing the known information about communicating robots.
@@ -81,7 +84,7 @@ public class GameState implements GameControlDataEventListener {
         }
     };
 
-    private final HashMap<String, RobotState> robotsByAddress = new HashMap<>();
+    private final HashMap<Integer, RobotState> robotsByAddress = new HashMap<>();
 
     private final EventListenerList listeners = new EventListenerList();
 
@@ -130,7 +133,7 @@ public class GameState implements GameControlDataEventListener {
                             final Iterator<RobotState> it = team.getValue().iterator();
                             while (it.hasNext()) {
                                 final RobotState r = it.next();
-                                if (!robotsByAddress.containsKey(r.getAddress())) {
+                                if (!robotsByAddress.containsKey(r.getIPv4Address())) {
                                     it.remove();
 
                                     synchronized (teamNumbers) {
@@ -233,30 +236,13 @@ public class GameState implements GameControlDataEventListener {
 
         if (LogReplayer.getInstance().isReplaying()) {
             lastGameControlData = e.data;
+            fireEvent(e);
             return;
         }
 
         // Open a new logfile for the current GameController state if the
         // state changed from or to initial/finished
-        final StringBuilder logfileName = new StringBuilder();
-        if (Rules.league.competitionType == GameControlData.COMPETITION_TYPE_7V7) {
-            logfileName.append("7v7_");
-        }
-        if (e.data.firstHalf == GameControlData.C_TRUE) {
-            logfileName.append(getTeamName((int) e.data.team[0].teamNumber, false, false)).append("_").append(getTeamName((int) e.data.team[1].teamNumber, false, false));
-        } else {
-            logfileName.append(getTeamName((int) e.data.team[1].teamNumber, false, false)).append("_").append(getTeamName((int) e.data.team[0].teamNumber, false, false));
-        }
-        if (!Rules.league.startWithPenalty) {
-            logfileName.append(e.data.firstHalf == GameControlData.C_TRUE ? "_1st" : "_2nd").append("Half");
-        }
-        if (e.data.gameState == GameControlData.STATE_READY && (lastGameControlData == null || lastGameControlData.gameState == GameControlData.STATE_INITIAL)) {
-            Logger.getInstance().createLogfile(logfileName.toString());
-        } else if (e.data.gameState == GameControlData.STATE_INITIAL && (lastGameControlData == null || lastGameControlData.gameState != GameControlData.STATE_INITIAL)) {
-            Logger.getInstance().createLogfile(logfileName.append("_initial").toString());
-        } else if (e.data.gameState == GameControlData.STATE_FINISHED && (lastGameControlData == null || lastGameControlData.gameState != GameControlData.STATE_FINISHED)) {
-            Logger.getInstance().createLogfile(logfileName.append("_finished").toString());
-        }
+        LogRotation.update(e.data, lastGameControlData);
 
         lastGameControlData = e.data;
 
@@ -267,6 +253,7 @@ public class GameState implements GameControlDataEventListener {
 
         // send events
         sendEvents(changed);
+        fireEvent(e);
     }
 
     /**
@@ -304,17 +291,19 @@ public class GameState implements GameControlDataEventListener {
 
         // send events
         sendEvents(changed);
+        fireEvent(e);
     }
 
     /**
      * Handles a message that was received from a robot.
      *
-     * @param address IP address of the sender
+     * @param address IPv4 address of the sender (see {@link IPv4})
      * @param teamNumber team number belonging to the port on which the message
      * was received
      * @param message received message
      */
-    public void receiveMessage(final String address, final int teamNumber, final SPLStandardMessage message) {
+    public void receiveMessage(final int address, final int teamNumber, final SPLStandardMessage message) {
+        final GameStateEvent event = Profiling.ENABLED ? new GameStateEvent() : null;
         int changed = 0;
 
         // update the team info if no GameController info is available
@@ -374,15 +363,21 @@ public class GameState implements GameControlDataEventListener {
 
         // send events
         sendEvents(changed);
+
+        if (event != null) {
+            event.host = r.getAddress();
+            event.team = teamNumber;
+            event.commit();
+        }
     }
 
     /**
      * Handles a GameController return message that was received from a robot.
      *
-     * @param address IP address of the sender
+     * @param address IPv4 address of the sender (see {@link IPv4})
      * @param message received message
      */
-    public void receiveMessage(final String address, final GameControlReturnData message) {
+    public void receiveMessage(final int address, final GameControlReturnData message) {
         // only handle if there is an active GameController
         if (lastGameControlData == null) {
             return;
@@ -490,6 +485,18 @@ public class GameState implements GameControlDataEventListener {
         }
     }
 
+    private void fireEvent(final GameControlDataEvent e) {
+        for (final GameControlDataEventListener listener : listeners.getListeners(GameControlDataEventListener.class)) {
+            listener.gameControlDataChanged(e);
+        }
+    }
+
+    private void fireEvent(final GameControlDataTimeoutEvent e) {
+        for (final GameControlDataEventListener listener : listeners.getListeners(GameControlDataEventListener.class)) {
+            listener.gameControlDataTimeout(e);
+        }
+    }
+
     /**
      * Returns the team color of the given team. The team color is either sent
      * by the game controller or given by the GameController configuration.
@@ -620,4 +627,24 @@ public class GameState implements GameControlDataEventListener {
         listeners.remove(TeamEventListener.class, listener);
     }
 
+    /**
+     * Registers a GUI component as a listener receiving the data from the
+     * GameController after it was handled by this object.
+     *
+     * @param listener component
+     */
+    public void addListener(final GameControlDataEventListener listener) {
+        listeners.add(GameControlDataEventListener.class, listener);
+    }
+
+    /**
+     * Unregisters a GUI component as a listener receiving the data from the
+     * GameController.
+     *
+     * @param listener component
+     */
+    public void removeListener(final GameControlDataEventListener listener) {
+        listeners.remove(GameControlDataEventListener.class, listener);
+    }
+
 }
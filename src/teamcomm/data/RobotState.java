@@ -1,5 +1,6 @@
 package teamcomm.data;
 
+import common.net.IPv4;
 import data.PlayerInfo;
 import data.GameControlReturnData;
 import data.SPLStandardMessage;
@@ -32,7 +33,8 @@ public class RobotState {
 
     private static final int AVERAGE_CALCULATION_TIME = 10000;
 
-    private final String address;
+    private final int address;
+    private final String addressString;
     private SPLStandardMessage lastMessage;
     private long lastTeamMessageTimestamp;
     private long lastGCRDMessageTimestamp;
@@ -52,12 +54,13 @@ public class RobotState {
     /**
      * Constructor.
      *
-     * @param address IP address of the robot
+     * @param address IPv4 address of the robot (see {@link IPv4})
      * @param teamNumber team number associated with the port the robot sends
      * his messages on
      */
-    public RobotState(final String address, final int teamNumber) {
+    public RobotState(final int address, final int teamNumber) {
         this.address = address;
+        addressString = IPv4.toString(address);
         this.teamNumber = teamNumber;
     }
 
@@ -144,11 +147,20 @@ public class RobotState {
     }
 
     /**
-     * Returns the IP address of the robot.
+     * Returns the IP address of the robot in dotted decimal notation.
      *
      * @return IP address
      */
     public String getAddress() {
+        return addressString;
+    }
+
+    /**
+     * Returns the IPv4 address of the robot.
+     *
+     * @return IPv4 address (see {@link IPv4})
+     */
+    public int getIPv4Address() {
         return address;
     }
 
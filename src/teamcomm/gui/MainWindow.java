@@ -28,6 +28,7 @@ import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.KeyStroke;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
@@ -37,6 +38,8 @@ import teamcomm.data.GameState;
 import teamcomm.data.RobotState;
 import teamcomm.data.event.TeamEvent;
 import teamcomm.data.event.TeamEventListener;
+import teamcomm.gui.drawings.PreloadListener;
+import teamcomm.gui.drawings.Preloader;
 import teamcomm.net.logging.LogReplayer;
 
 /**
@@ -58,6 +61,22 @@ public class MainWindow extends JFrame implements TeamEventListener {
     @SuppressWarnings("unused")
     private final LogReplayFrame logReplayFrame = new LogReplayFrame(this);
 
+    private final JProgressBar preloadProgress = new JProgressBar();
+    private final PreloadListener preloadListener = new PreloadListener() {
+        @Override
+        public void preloadProgressChanged(final int finished, final int total) {
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    preloadProgress.setMaximum(total);
+                    preloadProgress.setValue(finished);
+                    preloadProgress.setString("Loading models " + finished + "/" + total);
+                    preloadProgress.setVisible(total > 0);
+                }
+            });
+        }
+    };
+
     /**
      * Constructor.
      */
@@ -141,6 +160,11 @@ public class MainWindow extends JFrame implements TeamEventListener {
         final JMenuBar mb = new JMenuBar();
         mb.add(createFileMenu());
         mb.add(createViewMenu());
+        mb.add(Box.createHorizontalGlue());
+        preloadProgress.setStringPainted(true);
+        preloadProgress.setMaximumSize(new Dimension(200, Short.MAX_VALUE));
+        preloadProgress.setVisible(false);
+        mb.add(preloadProgress);
         setJMenuBar(mb);
 
         // Display window
@@ -150,6 +174,9 @@ public class MainWindow extends JFrame implements TeamEventListener {
 
         // Listen for robot events
         GameState.getInstance().addListener(this);
+
+        // Show the progress of loading models in the background
+        Preloader.getInstance().addListener(preloadListener);
     }
 
     private JMenu createFileMenu() {
@@ -237,6 +264,7 @@ public class MainWindow extends JFrame implements TeamEventListener {
      */
     public void terminate() {
         GameState.getInstance().removeListener(this);
+        Preloader.getInstance().removeListener(preloadListener);
         fieldView.terminate();
     }
 
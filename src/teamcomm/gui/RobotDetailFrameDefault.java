@@ -1,6 +1,8 @@
 package teamcomm.gui;
 
 import common.Log;
+import common.profiling.PluginEvent;
+import common.profiling.Profiling;
 import data.SPLStandardMessage;
 import java.text.DecimalFormat;
 import javax.swing.BorderFactory;
@@ -128,7 +130,7 @@ public class RobotDetailFrameDefault extends RobotDetailFrame {
         // Left label
         sb.setLength(6);
         if (msg.dataValid) {
-            sb.append("Additional data: ").append(msg.data.length).append("B (").append(msg.data.length * 100 / SPLStandardMessage.SPL_STANDARD_MESSAGE_DATA_SIZE).append("%)");
+            sb.append("Additional data: ").append(msg.nominalDataBytes).append("B (").append(msg.nominalDataBytes * 100 / SPLStandardMessage.SPL_STANDARD_MESSAGE_DATA_SIZE).append("%)");
         } else {
             sb.append("<font color='red'>Additional data: ").append(msg.nominalDataBytes).append("B</font>");
         }
@@ -178,8 +180,13 @@ public class RobotDetailFrameDefault extends RobotDetailFrame {
 
         final String[] data;
         if (msg instanceof AdvancedMessage) {
+            final PluginEvent event = Profiling.ENABLED ? new PluginEvent("display") : null;
             try {
                 data = ((AdvancedMessage) msg).display();
+                if (event != null) {
+                    event.pluginClass = msg.getClass().getName();
+                    event.commit();
+                }
             } catch (final Throwable e) {
                 Log.error(e.getClass().getSimpleName() + " was thrown while displaying custom message data from " + msg.getClass().getSimpleName() + ": " + e.getMessage());
                 return;
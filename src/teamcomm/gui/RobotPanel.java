@@ -46,6 +46,7 @@ public class RobotPanel extends JPanel implements RobotStateEventListener {
     private final JPanel foregroundPanel = new JPanel();
     private final JLabel connectionStatus = new JLabel();
     private final JLabel teamLogo = new JLabel((Icon) null, SwingConstants.CENTER);
+    private boolean teamLogoVisible = false;
 
     private static final Color defaultColor = new JLabel("test").getForeground();
     private static final String ICONS_PATH = "config/icons/";
@@ -132,8 +133,8 @@ public class RobotPanel extends JPanel implements RobotStateEventListener {
                 foregroundContainer.addComponentListener(new ComponentAdapter() {
                     @Override
                     public void componentResized(final ComponentEvent e) {
-                        if (teamLogo.getIcon() != null) {
-                            teamLogo.setIcon(TeamLogoLoader.getInstance().getScaledSemiTransparentTeamLogoIcon(robot.getTeamNumber(), Math.min((PANEL_WIDTH * 3) >> 2, foregroundPanel.getWidth()), Math.min((PANEL_HEIGHT * 3) >> 2, foregroundPanel.getHeight())));
+                        if (teamLogoVisible) {
+                            TeamLogoLoader.getInstance().setScaledSemiTransparentTeamLogoIcon(teamLogo, robot.getTeamNumber(), Math.min((PANEL_WIDTH * 3) >> 2, foregroundPanel.getWidth()), Math.min((PANEL_HEIGHT * 3) >> 2, foregroundPanel.getHeight()));
                         }
                     }
                 });
@@ -210,14 +211,16 @@ public class RobotPanel extends JPanel implements RobotStateEventListener {
             SwingUtilities.invokeLater(new Runnable() {
                 @Override
                 public void run() {
-                    teamLogo.setIcon(TeamLogoLoader.getInstance().getScaledSemiTransparentTeamLogoIcon(robot.getTeamNumber(), Math.min((PANEL_WIDTH * 3) >> 2, Math.max(PANEL_WIDTH >> 2, foregroundPanel.getWidth())), Math.min((PANEL_HEIGHT * 3) >> 2, Math.max(PANEL_HEIGHT >> 2, foregroundPanel.getHeight()))));
+                    teamLogoVisible = true;
+                    TeamLogoLoader.getInstance().setScaledSemiTransparentTeamLogoIcon(teamLogo, robot.getTeamNumber(), Math.min((PANEL_WIDTH * 3) >> 2, Math.max(PANEL_WIDTH >> 2, foregroundPanel.getWidth())), Math.min((PANEL_HEIGHT * 3) >> 2, Math.max(PANEL_HEIGHT >> 2, foregroundPanel.getHeight())));
                 }
             });
         } else {
             SwingUtilities.invokeLater(new Runnable() {
                 @Override
                 public void run() {
-                    teamLogo.setIcon(null);
+                    teamLogoVisible = false;
+                    TeamLogoLoader.getInstance().clearTeamLogoIcon(teamLogo);
                 }
             });
         }
@@ -3,13 +3,24 @@ package teamcomm.gui;
 import com.jogamp.opengl.GL2;
 import data.Teams;
 import java.awt.Graphics;
-import java.awt.Image;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+import teamcomm.gui.drawings.Preloader;
 import teamcomm.gui.drawings.TextureLoader;
 
 /**
@@ -21,10 +32,65 @@ public class TeamLogoLoader {
 
     private static final int OPAQUENESS = (int) ((1 - 0.6) * 0xFF);
 
+    /**
+     * Maximum number of scaled logos which are cached. All robot panels of a
+     * team show the logo in the same size, so this only has to hold a few
+     * sizes of the logos of the teams currently shown.
+     */
+    private static final int MAX_SCALED_LOGOS = 32;
+
     private static final TeamLogoLoader instance = new TeamLogoLoader();
     private final Map<Integer, BufferedImage> logos = new HashMap<>();
     private final Map<Integer, BufferedImage> semiTransparentLogos = new HashMap<>();
     private final Map<Integer, ImageIcon> panelIcons = new HashMap<>();
+    private final ExecutorService scaler = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "TeamLogoLoader scaler");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+    private final Map<ScaledLogoKey, CompletableFuture<ImageIcon>> scaledLogos = new LinkedHashMap<ScaledLogoKey, CompletableFuture<ImageIcon>>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<ScaledLogoKey, CompletableFuture<ImageIcon>> eldest) {
+            return size() > MAX_SCALED_LOGOS;
+        }
+    };
+
+    /**
+     * Key of a scaled logo in the cache.
+     */
+    private static class ScaledLogoKey {
+
+        final int team;
+        final int width;
+        final int height;
+        final boolean semiTransparent;
+
+        ScaledLogoKey(final int team, final int width, final int height, final boolean semiTransparent) {
+            this.team = team;
+            this.width = width;
+            this.height = height;
+            this.semiTransparent = semiTransparent;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof ScaledLogoKey)) {
+                return false;
+            }
+            final ScaledLogoKey k = (ScaledLogoKey) o;
+            return team == k.team && width == k.width && height == k.height && semiTransparent == k.semiTransparent;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((team * 31 + width) * 31 + height) * 2 + (semiTransparent ? 1 : 0);
+        }
+    }
 
     private TeamLogoLoader() {
     }
@@ -44,7 +110,7 @@ public class TeamLogoLoader {
      * @param team team number
      * @return logo
      */
-    public BufferedImage getTeamLogo(final int team) {
+    public synchronized BufferedImage getTeamLogo(final int team) {
         BufferedImage image = logos.get(team);
         if (image == null) {
             try {
@@ -68,6 +134,24 @@ public class TeamLogoLoader {
         return image;
     }
 
+    /**
+     * Starts reading the logo of the given team in the background, so that
+     * getTeamLogoTexture() only has to upload it.
+     *
+     * @param team team number
+     */
+    public void preloadTeamLogoTexture(final int team) {
+        final File path;
+        try {
+            path = Teams.getIconPath(team);
+        } catch (final NullPointerException | ArrayIndexOutOfBoundsException e) {
+            return;
+        }
+        if (path != null) {
+            Preloader.getInstance().preloadTexture(path);
+        }
+    }
+
     public TextureLoader.Texture getTeamLogoTexture(final GL2 gl, final int team) throws IOException {
         final File path;
         try {
@@ -98,16 +182,7 @@ public class TeamLogoLoader {
      * @return icon
      */
     public ImageIcon getScaledTeamLogoIcon(final int team, final int width, final int height) {
-        final BufferedImage image = getTeamLogo(team);
-        if (image == null) {
-            return null;
-        } else {
-            final double scaleFactor = Math.min((double) width / image.getWidth(null), (double) height / image.getHeight(null));;
-            return new ImageIcon(image.getScaledInstance(
-                    (int) (image.getWidth(null) * scaleFactor),
-                    (int) (image.getHeight(null) * scaleFactor),
-                    Image.SCALE_SMOOTH));
-        }
+        return getScaledIcon(new ScaledLogoKey(team, width, height, false)).join();
     }
 
     /**
@@ -120,27 +195,131 @@ public class TeamLogoLoader {
      * @return icon
      */
     public ImageIcon getScaledSemiTransparentTeamLogoIcon(final int team, final int width, final int height) {
+        return getScaledIcon(new ScaledLogoKey(team, width, height, true)).join();
+    }
+
+    /**
+     * Sets a semi-transparent scaled icon containing the logo of the given
+     * team as the icon of the given label. If the logo was not yet scaled to
+     * the given size, this is done in the background and the icon is set
+     * afterwards, unless another icon was requested for the label in the
+     * meantime. Must be called from the event dispatch thread.
+     *
+     * @param label label
+     * @param team team number
+     * @param width width to scale the logo to
+     * @param height height to scale the logo to
+     */
+    public void setScaledSemiTransparentTeamLogoIcon(final JLabel label, final int team, final int width, final int height) {
+        final ScaledLogoKey key = new ScaledLogoKey(team, width, height, true);
+        final CompletableFuture<ImageIcon> icon = getScaledIcon(key);
+        label.putClientProperty(ScaledLogoKey.class, key);
+        if (icon.isDone()) {
+            label.setIcon(icon.join());
+        } else {
+            icon.thenAccept(new Consumer<ImageIcon>() {
+                @Override
+                public void accept(final ImageIcon i) {
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (key.equals(label.getClientProperty(ScaledLogoKey.class))) {
+                                label.setIcon(i);
+                            }
+                        }
+                    });
+                }
+            });
+        }
+    }
+
+    /**
+     * Removes the icon of a label which was set with
+     * setScaledSemiTransparentTeamLogoIcon(), including icons which are still
+     * being scaled. Must be called from the event dispatch thread.
+     *
+     * @param label label
+     */
+    public void clearTeamLogoIcon(final JLabel label) {
+        label.putClientProperty(ScaledLogoKey.class, null);
+        label.setIcon(null);
+    }
+
+    /**
+     * Returns the cached scaled logo for the given key or starts scaling it on
+     * the scaler thread.
+     */
+    private CompletableFuture<ImageIcon> getScaledIcon(final ScaledLogoKey key) {
+        synchronized (scaledLogos) {
+            CompletableFuture<ImageIcon> icon = scaledLogos.get(key);
+            if (icon == null) {
+                icon = CompletableFuture.supplyAsync(new Supplier<ImageIcon>() {
+                    @Override
+                    public ImageIcon get() {
+                        final BufferedImage image = key.semiTransparent ? getSemiTransparentTeamLogo(key.team) : getTeamLogo(key.team);
+                        if (image == null) {
+                            return null;
+                        }
+                        final double scaleFactor = Math.min((double) key.width / image.getWidth(), (double) key.height / image.getHeight());
+                        return new ImageIcon(scale(image, (int) (image.getWidth() * scaleFactor), (int) (image.getHeight() * scaleFactor)));
+                    }
+                }, scaler);
+                scaledLogos.put(key, icon);
+            }
+            return icon;
+        }
+    }
+
+    /**
+     * Returns a semi-transparent copy of the logo of the given team.
+     */
+    private synchronized BufferedImage getSemiTransparentTeamLogo(final int team) {
         BufferedImage image = semiTransparentLogos.get(team);
         if (image == null) {
-            image = getTeamLogo(team);
-            if (image == null) {
+            final BufferedImage logo = getTeamLogo(team);
+            if (logo == null) {
                 return null;
             }
 
-            final int[] imagePixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+            final int[] imagePixels = logo.getRGB(0, 0, logo.getWidth(), logo.getHeight(), null, 0, logo.getWidth());
             for (int i = 0; i < imagePixels.length; i++) {
                 final int argb = imagePixels[i];
                 imagePixels[i] = (argb & 0x00FFFFFF) | (Math.max(0, (argb >>> 24) - OPAQUENESS) << 24);
             }
-            image.setRGB(0, 0, image.getWidth(), image.getHeight(), imagePixels, 0, image.getWidth());
+            image = new BufferedImage(logo.getWidth(), logo.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            image.setRGB(0, 0, logo.getWidth(), logo.getHeight(), imagePixels, 0, logo.getWidth());
             semiTransparentLogos.put(team, image);
         }
 
-        final double scaleFactor = Math.min((double) width / image.getWidth(null), (double) height / image.getHeight(null));;
-        return new ImageIcon(image.getScaledInstance(
-                (int) (image.getWidth(null) * scaleFactor),
-                (int) (image.getHeight(null) * scaleFactor),
-                Image.SCALE_SMOOTH));
+        return image;
+    }
+
+    /**
+     * Scales the given image to the given size. Images are scaled down in
+     * steps of at most half their size with bilinear interpolation, which
+     * looks as smooth as area averaging but is much faster.
+     *
+     * @param image image of type TYPE_INT_ARGB
+     * @param width target width
+     * @param height target height
+     * @return scaled image
+     */
+    private static BufferedImage scale(final BufferedImage image, final int width, final int height) {
+        BufferedImage result = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        while (w != width || h != height) {
+            w = w > width ? Math.max(width, w / 2) : width;
+            h = h > height ? Math.max(height, h / 2) : height;
+            final BufferedImage step = new BufferedImage(Math.max(1, w), Math.max(1, h), BufferedImage.TYPE_INT_ARGB);
+            final Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(result, 0, 0, step.getWidth(), step.getHeight(), null);
+            g.dispose();
+            result = step;
+        }
+
+        return result;
     }
 
     /**
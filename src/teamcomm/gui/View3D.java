@@ -6,9 +6,11 @@ import com.jogamp.opengl.GL2;
 import com.jogamp.opengl.GLAutoDrawable;
 import com.jogamp.opengl.GLEventListener;
 import com.jogamp.opengl.awt.GLCanvas;
-import com.jogamp.opengl.util.AnimatorBase;
 import common.Log;
+import common.profiling.FrameEvent;
+import common.profiling.Profiling;
 import java.nio.FloatBuffer;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -16,12 +18,26 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import teamcomm.PluginLoader;
 import teamcomm.data.GameState;
 import teamcomm.data.RobotState;
+import teamcomm.data.event.GameControlDataEvent;
+import teamcomm.data.event.GameControlDataEventListener;
+import teamcomm.data.event.GameControlDataTimeoutEvent;
+import teamcomm.data.event.RobotStateEvent;
+import teamcomm.data.event.RobotStateEventListener;
 import teamcomm.data.event.TeamEvent;
 import teamcomm.data.event.TeamEventListener;
 import teamcomm.gui.drawings.Drawing;
+import teamcomm.gui.drawings.Instanced;
+import teamcomm.gui.drawings.Mesh;
+import teamcomm.gui.drawings.MeshRenderer;
 import teamcomm.gui.drawings.PerPlayer;
 import teamcomm.gui.drawings.PerPlayerWithTeam;
 import teamcomm.gui.drawings.Static;
@@ -34,9 +50,12 @@ import teamcomm.gui.drawings.Text;
  */
 public abstract class View3D implements GLEventListener, TeamEventListener {
 
+    /**
+     * Maximum number of frames per second. Frames are only drawn when
+     * something shown in the view changed (see requestRender()).
+     */
     public static final int ANIMATION_FPS = 10;
 
-    protected AnimatorBase animator;
     protected GLAutoDrawable autoDrawable;
     protected final Camera camera = new Camera();
 
@@ -47,6 +66,52 @@ public abstract class View3D implements GLEventListener, TeamEventListener {
     private int width = 0;
     private int height = 0;
 
+    private MeshRenderer meshRenderer;
+    private final float[] transform = new float[16];
+
+    private final ScheduledExecutorService renderScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "View3D renderer");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+    private final AtomicBoolean renderRequested = new AtomicBoolean(false);
+    private volatile long lastRenderTime = 0;
+    private final Runnable renderTask = new Runnable() {
+        @Override
+        public void run() {
+            // Requests arriving while the frame is drawn cause another frame
+            renderRequested.set(false);
+            lastRenderTime = System.currentTimeMillis();
+            autoDrawable.display();
+        }
+    };
+
+    private final RobotStateEventListener robotListener = new RobotStateEventListener() {
+        @Override
+        public void robotStateChanged(final RobotStateEvent e) {
+            requestRender();
+        }
+
+        @Override
+        public void connectionStatusChanged(final RobotStateEvent e) {
+            requestRender();
+        }
+    };
+    private final GameControlDataEventListener gameControlDataListener = new GameControlDataEventListener() {
+        @Override
+        public void gameControlDataChanged(final GameControlDataEvent e) {
+            requestRender();
+        }
+
+        @Override
+        public void gameControlDataTimeout(final GameControlDataTimeoutEvent e) {
+            requestRender();
+        }
+    };
+
     protected static final Comparator<Drawing> drawingComparator = new Comparator<Drawing>() {
         @Override
         public int compare(final Drawing o1, final Drawing o2) {
@@ -69,12 +134,39 @@ public abstract class View3D implements GLEventListener, TeamEventListener {
      */
     public void terminate() {
         GameState.getInstance().removeListener(this);
-        leftRobots.clear();
-        rightRobots.clear();
-        animator.stop();
+        GameState.getInstance().removeListener(gameControlDataListener);
+        synchronized (leftRobots) {
+            for (final RobotState r : leftRobots) {
+                r.removeListener(robotListener);
+            }
+            leftRobots.clear();
+        }
+        synchronized (rightRobots) {
+            for (final RobotState r : rightRobots) {
+                r.removeListener(robotListener);
+            }
+            rightRobots.clear();
+        }
+        renderScheduler.shutdownNow();
         Text.resetRenderer();
     }
 
+    /**
+     * Requests the field view to be drawn again. This is called whenever
+     * something shown in the view changed. Frames are drawn at most
+     * ANIMATION_FPS times per second, all requests in between are handled by
+     * a single frame.
+     */
+    public void requestRender() {
+        if (renderRequested.compareAndSet(false, true)) {
+            try {
+                renderScheduler.schedule(renderTask, Math.max(0, lastRenderTime + 1000 / ANIMATION_FPS - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (final RejectedExecutionException e) {
+                // The view was terminated
+            }
+        }
+    }
+
     /**
      * Initializes the field view.
      *
@@ -135,6 +227,9 @@ public abstract class View3D implements GLEventListener, TeamEventListener {
         // Set clear color
         gl.glClearColor(0.6f, 0.6f, 0.65f, 1.0f);
 
+        // Setup drawing of robot models
+        meshRenderer = new MeshRenderer(gl);
+
         // Setup common drawings
         drawings.addAll(PluginLoader.getInstance().getCommonDrawings());
         Collections.sort(drawings, drawingComparator);
@@ -144,6 +239,7 @@ public abstract class View3D implements GLEventListener, TeamEventListener {
 
         // Listen for robot events
         GameState.getInstance().addListener(this);
+        GameState.getInstance().addListener(gameControlDataListener);
     }
 
     /**
@@ -162,6 +258,7 @@ public abstract class View3D implements GLEventListener, TeamEventListener {
      */
     @Override
     public final void display(final GLAutoDrawable glad) {
+        final FrameEvent event = Profiling.ENABLED ? new FrameEvent() : null;
         final GL2 gl = glad.getGL().getGL2();
 
         // Clear buffers
@@ -169,6 +266,11 @@ public abstract class View3D implements GLEventListener, TeamEventListener {
 
         // Draw
         draw(gl);
+
+        if (event != null) {
+            event.view = getClass().getSimpleName();
+            event.commit();
+        }
     }
 
     protected void draw(final GL2 gl) {
@@ -199,6 +301,19 @@ public abstract class View3D implements GLEventListener, TeamEventListener {
                         } catch (final Throwable e) {
                             Log.error(e.getClass().getSimpleName() + " was thrown while drawing custom drawing " + d.getClass().getName() + ": " + e.getMessage());
                         }
+                    } else if (d instanceof Instanced) {
+                        if (d.getTeamNumber() == PluginLoader.TEAMNUMBER_COMMON || d.getTeamNumber() == teamNumbers[GameState.TEAM_LEFT]) {
+                            synchronized (leftRobots) {
+                                drawInstances(gl, (Instanced) d, leftRobots);
+                            }
+                        }
+                        if (d.getTeamNumber() == PluginLoader.TEAMNUMBER_COMMON || d.getTeamNumber() == teamNumbers[GameState.TEAM_RIGHT]) {
+                            camera.flip(gl);
+                            synchronized (rightRobots) {
+                                drawInstances(gl, (Instanced) d, rightRobots);
+                            }
+                            camera.flip(gl);
+                        }
                     } else if (d instanceof PerPlayer || d instanceof PerPlayerWithTeam) {
                         if (d.getTeamNumber() == PluginLoader.TEAMNUMBER_COMMON || d.getTeamNumber() == teamNumbers[GameState.TEAM_LEFT]) {
                             synchronized (leftRobots) {
@@ -238,6 +353,27 @@ public abstract class View3D implements GLEventListener, TeamEventListener {
         }
     }
 
+    /**
+     * Draws the meshes of an instanced drawing for the given robots at once.
+     *
+     * @param gl OpenGL context
+     * @param d drawing
+     * @param robots robots
+     */
+    private void drawInstances(final GL2 gl, final Instanced d, final Collection<RobotState> robots) {
+        for (final RobotState r : robots) {
+            try {
+                final Mesh mesh = d.getMesh(gl, r, transform);
+                if (mesh != null) {
+                    meshRenderer.add(mesh, transform);
+                }
+            } catch (final Throwable e) {
+                Log.error(e.getClass().getSimpleName() + " was thrown while drawing custom drawing " + d.getClass().getName() + ": " + e.getMessage());
+            }
+        }
+        meshRenderer.flush(gl);
+    }
+
     /**
      * Method that gets called on a reshape event of the window / AWT canvas.
      * Adjusts the viewing frustum of the field view for the new shape.
@@ -262,15 +398,23 @@ public abstract class View3D implements GLEventListener, TeamEventListener {
     @Override
     public void teamChanged(final TeamEvent e) {
         if (e.side == GameState.TEAM_LEFT) {
-            synchronized (leftRobots) {
-                leftRobots.clear();
-                leftRobots.addAll(e.players);
-            }
+            updateRobots(leftRobots, e.players);
         } else if (e.side == GameState.TEAM_RIGHT) {
-            synchronized (rightRobots) {
-                rightRobots.clear();
-                rightRobots.addAll(e.players);
+            updateRobots(rightRobots, e.players);
+        }
+    }
+
+    private void updateRobots(final Set<RobotState> robots, final Collection<RobotState> players) {
+        synchronized (robots) {
+            for (final RobotState r : robots) {
+                r.removeListener(robotListener);
+            }
+            robots.clear();
+            robots.addAll(players);
+            for (final RobotState r : robots) {
+                r.addListener(robotListener);
             }
         }
+        requestRender();
     }
 }
@@ -4,7 +4,6 @@ import com.jogamp.opengl.GLAutoDrawable;
 import com.jogamp.opengl.GLCapabilities;
 import com.jogamp.opengl.GLProfile;
 import com.jogamp.opengl.awt.GLJPanel;
-import com.jogamp.opengl.util.FPSAnimator;
 import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
 import java.awt.event.MouseEvent;
@@ -34,7 +33,7 @@ public class View3DCanvas extends View3D {
      * Constructor.
      */
     public View3DCanvas() {
-        // Initialize GL canvas and animator
+        // Initialize GL canvas
         final GLProfile glp = GLProfile.get(GLProfile.GL2);
         final GLCapabilities caps = new GLCapabilities(glp);
         caps.setSampleBuffers(true);
@@ -69,6 +68,7 @@ public class View3DCanvas extends View3D {
                     camera.addPhi((e.getX() - lastPos[0]) * factor);
                     camera.addTheta(-(e.getY() - lastPos[1]) * factor);
                     lastPos = new int[]{e.getX(), e.getY()};
+                    requestRender();
                 }
             }
 
@@ -79,12 +79,9 @@ public class View3DCanvas extends View3D {
             @Override
             public void mouseWheelMoved(final MouseWheelEvent e) {
                 camera.addRadius((float) (-e.getPreciseWheelRotation() * 0.05));
+                requestRender();
             }
         });
-
-        // Start rendering
-        animator = new FPSAnimator(autoDrawable, ANIMATION_FPS);
-        animator.start();
     }
 
     @Override
@@ -127,6 +124,7 @@ public class View3DCanvas extends View3D {
                 @Override
                 public void itemStateChanged(final ItemEvent e) {
                     d.setActive(e.getStateChange() == ItemEvent.SELECTED);
+                    requestRender();
                 }
             });
             final JMenu submenu = submenus.get(d.getTeamNumber());
@@ -7,7 +7,6 @@ import com.jogamp.opengl.GLProfile;
 import com.jogamp.opengl.awt.GLJPanel;
 import com.jogamp.opengl.glu.GLU;
 import com.jogamp.opengl.glu.GLUquadric;
-import com.jogamp.opengl.util.FPSAnimator;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import data.AdvancedData;
 import data.GameControlData;
@@ -119,6 +118,7 @@ public class View3DGSV extends View3D {
                     public void mouseWheelMoved(final MouseWheelEvent me) {
                         camera.addRadius((float) (-me.getPreciseWheelRotation() * 0.05));
                         camera.shiftToBottom(NEAR_FIELD_BORDER_Y);
+                        requestRender();
                     }
                 });
                 canvas.addKeyListener(new KeyAdapter() {
@@ -137,11 +137,13 @@ public class View3DGSV extends View3D {
                             case KeyEvent.VK_PLUS:
                                 camera.addRadius(-0.05f * ((ke.getModifiersEx() & KeyEvent.SHIFT_DOWN_MASK) != 0 ? 2 : 1));
                                 camera.shiftToBottom(NEAR_FIELD_BORDER_Y);
+                                requestRender();
                                 break;
                             case KeyEvent.VK_DOWN:
                             case KeyEvent.VK_MINUS:
                                 camera.addRadius(0.05f * ((ke.getModifiersEx() & KeyEvent.SHIFT_DOWN_MASK) != 0 ? 2 : 1));
                                 camera.shiftToBottom(NEAR_FIELD_BORDER_Y);
+                                requestRender();
                                 break;
                         }
                     }
@@ -158,7 +160,6 @@ public class View3DGSV extends View3D {
                                             break;
                                         }
                                     }
-                                    animator.pause();
                                     currentScreenDevice.setFullScreenWindow(null);
                                     currentScreenDevice = devices[(i + (ke.getKeyCode() == KeyEvent.VK_LEFT ? -1 : 1) + devices.length) % devices.length];
                                     final Rectangle bounds = currentScreenDevice.getDefaultConfiguration().getBounds();
@@ -166,7 +167,7 @@ public class View3DGSV extends View3D {
                                     canvas.setPreferredSize(bounds.getSize());
                                     currentScreenDevice.setFullScreenWindow(window);
                                     window.pack();
-                                    animator.resume();
+                                    requestRender();
                                 }
                             }
                         }
@@ -179,10 +180,6 @@ public class View3DGSV extends View3D {
                     }
                 });
 
-                // Start rendering
-                animator = new FPSAnimator(autoDrawable, ANIMATION_FPS);
-                animator.start();
-
                 // Pack the window
                 window.add(canvas, BorderLayout.CENTER);
                 window.pack();
@@ -0,0 +1,37 @@
+package teamcomm.gui.drawings;
+
+import com.jogamp.opengl.GL2;
+import teamcomm.data.RobotState;
+import teamcomm.gui.Camera;
+
+/**
+ * Abstract base class for drawings that draw a mesh for each robot. Instead of
+ * drawing the mesh itself, the drawing only determines which mesh is drawn for
+ * a robot and where, so that the field views can draw the meshes of all robots
+ * at once (see MeshRenderer).
+ */
+public abstract class Instanced extends PerPlayer {
+
+    /**
+     * Returns the mesh to draw for the given robot.
+     *
+     * @param gl OpenGL context
+     * @param player robot state of the robot for which this drawing is drawn
+     * @param transform array of 16 floats in which the column-major
+     * transformation of the mesh is stored
+     * @return the mesh or null if nothing is drawn for the robot
+     */
+    public abstract Mesh getMesh(final GL2 gl, final RobotState player, final float[] transform);
+
+    @Override
+    public void draw(final GL2 gl, final RobotState player, final Camera camera) {
+        final float[] transform = new float[16];
+        final Mesh mesh = getMesh(gl, player, transform);
+        if (mesh != null) {
+            gl.glPushMatrix();
+            gl.glMultMatrixf(transform, 0);
+            mesh.draw(gl);
+            gl.glPopMatrix();
+        }
+    }
+}
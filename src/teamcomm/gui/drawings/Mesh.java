@@ -0,0 +1,368 @@
+package teamcomm.gui.drawings;
+
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.opengl.GL;
+import com.jogamp.opengl.GL2;
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Model from a ros2 file flattened into a single vertex buffer object of
+ * triangles. All transformations of the scene elements are applied to the
+ * vertices, and the triangles are grouped by their surfaces, so that the whole
+ * model can be drawn with one draw call per surface. Meshes are created by the
+ * RoSi2Loader, either from the scene file or from its MeshCache, and drawn for
+ * many robots at once by the MeshRenderer.
+ */
+public class Mesh {
+
+    /**
+     * Number of floats per vertex: position, normal and texture coordinate.
+     */
+    static final int VERTEX_SIZE = 8;
+
+    /**
+     * Number of bytes per vertex.
+     */
+    static final int STRIDE = VERTEX_SIZE * Buffers.SIZEOF_FLOAT;
+
+    /**
+     * Number of slices and stacks of spheres and cylinders, as used by the GLU
+     * quadrics of the immediate mode drawings.
+     */
+    private static final int SLICES = 16;
+
+    /**
+     * Range of vertices which are drawn with the same surface.
+     */
+    static class Part {
+
+        final RoSi2Element.Surface surface;
+        final int first;
+        int count;
+
+        Part(final RoSi2Element.Surface surface, final int first) {
+            this(surface, first, 0);
+        }
+
+        Part(final RoSi2Element.Surface surface, final int first, final int count) {
+            this.surface = surface;
+            this.first = first;
+            this.count = count;
+        }
+    }
+
+    private final List<Part> parts;
+    private float[] vertices;
+    private int numOfVertices = 0;
+    private boolean generateTexCoords = false;
+    private FloatBuffer data;
+    private int buffer = 0;
+
+    /**
+     * Constructor. Vertices are added by the elements of the model, which
+     * call complete() afterwards.
+     */
+    Mesh() {
+        parts = new ArrayList<>();
+        vertices = new float[VERTEX_SIZE * 1024];
+    }
+
+    /**
+     * Constructor for a mesh whose vertices are already known.
+     *
+     * @param data the vertices
+     * @param parts ranges of vertices drawn with the same surface
+     */
+    Mesh(final FloatBuffer data, final List<Part> parts) {
+        this.parts = parts;
+        this.data = data;
+        numOfVertices = data.remaining() / VERTEX_SIZE;
+    }
+
+    /**
+     * Sets the surface of the vertices added next.
+     *
+     * @param surface surface
+     * @param generateTexCoords whether the texture coordinates should be
+     * generated from the x and y coordinates of the vertices like the default
+     * texture coordinate generation of Surface#set does
+     */
+    void setSurface(final RoSi2Element.Surface surface, final boolean generateTexCoords) {
+        this.generateTexCoords = generateTexCoords && surface.textureFile != null;
+        if (parts.isEmpty() || parts.get(parts.size() - 1).surface != surface) {
+            parts.add(new Part(surface, numOfVertices));
+        }
+    }
+
+    /**
+     * Adds a vertex with a generated texture coordinate.
+     *
+     * @param transform transformation of the element the vertex belongs to
+     * @param x x-coordinate in the coordinate system of the element
+     * @param y y-coordinate in the coordinate system of the element
+     * @param z z-coordinate in the coordinate system of the element
+     * @param nx x-component of the normal
+     * @param ny y-component of the normal
+     * @param nz z-component of the normal
+     */
+    void addVertex(final float[] transform, final float x, final float y, final float z, final float nx, final float ny, final float nz) {
+        addVertex(transform, x, y, z, nx, ny, nz, generateTexCoords ? x : 0, generateTexCoords ? y : 0);
+    }
+
+    /**
+     * Adds a vertex.
+     *
+     * @param transform transformation of the element the vertex belongs to
+     * @param x x-coordinate in the coordinate system of the element
+     * @param y y-coordinate in the coordinate system of the element
+     * @param z z-coordinate in the coordinate system of the element
+     * @param nx x-component of the normal
+     * @param ny y-component of the normal
+     * @param nz z-component of the normal
+     * @param s s-component of the texture coordinate
+     * @param t t-component of the texture coordinate
+     */
+    void addVertex(final float[] transform, final float x, final float y, final float z, final float nx, final float ny, final float nz, final float s, final float t) {
+        if ((numOfVertices + 1) * VERTEX_SIZE > vertices.length) {
+            vertices = Arrays.copyOf(vertices, vertices.length * 2);
+        }
+        final int i = numOfVertices++ * VERTEX_SIZE;
+        vertices[i] = transform[0] * x + transform[4] * y + transform[8] * z + transform[12];
+        vertices[i + 1] = transform[1] * x + transform[5] * y + transform[9] * z + transform[13];
+        vertices[i + 2] = transform[2] * x + transform[6] * y + transform[10] * z + transform[14];
+        vertices[i + 3] = transform[0] * nx + transform[4] * ny + transform[8] * nz;
+        vertices[i + 4] = transform[1] * nx + transform[5] * ny + transform[9] * nz;
+        vertices[i + 5] = transform[2] * nx + transform[6] * ny + transform[10] * nz;
+        vertices[i + 6] = s;
+        vertices[i + 7] = t;
+    }
+
+    /**
+     * Adds a sphere like gluSphere.
+     *
+     * @param transform transformation of the element the sphere belongs to
+     * @param radius radius
+     * @param z z-coordinate of the center
+     */
+    void addSphere(final float[] transform, final float radius, final float z) {
+        for (int i = 0; i < SLICES; ++i) {
+            final double phi0 = Math.PI * i / SLICES;
+            final double phi1 = Math.PI * (i + 1) / SLICES;
+            for (int j = 0; j < SLICES; ++j) {
+                final double theta0 = 2 * Math.PI * j / SLICES;
+                final double theta1 = 2 * Math.PI * (j + 1) / SLICES;
+                addSphereVertex(transform, radius, z, phi0, theta0);
+                addSphereVertex(transform, radius, z, phi1, theta0);
+                addSphereVertex(transform, radius, z, phi1, theta1);
+                addSphereVertex(transform, radius, z, phi0, theta0);
+                addSphereVertex(transform, radius, z, phi1, theta1);
+                addSphereVertex(transform, radius, z, phi0, theta1);
+            }
+        }
+    }
+
+    private void addSphereVertex(final float[] transform, final float radius, final float z, final double phi, final double theta) {
+        final float nx = (float) (Math.sin(phi) * Math.cos(theta));
+        final float ny = (float) (Math.sin(phi) * Math.sin(theta));
+        final float nz = (float) Math.cos(phi);
+        addVertex(transform, nx * radius, ny * radius, nz * radius + z, nx, ny, nz);
+    }
+
+    /**
+     * Adds a cylinder around the z-axis like gluCylinder, optionally closed by
+     * disks like gluDisk.
+     *
+     * @param transform transformation of the element the cylinder belongs to
+     * @param radius radius
+     * @param height height, the cylinder is centered at the origin
+     * @param closed whether the ends should be closed
+     */
+    void addCylinder(final float[] transform, final float radius, final float height, final boolean closed) {
+        final float top = height * 0.5f;
+        final float bottom = -top;
+        for (int j = 0; j < SLICES; ++j) {
+            final double theta0 = 2 * Math.PI * j / SLICES;
+            final double theta1 = 2 * Math.PI * (j + 1) / SLICES;
+            final float x0 = (float) Math.cos(theta0);
+            final float y0 = (float) Math.sin(theta0);
+            final float x1 = (float) Math.cos(theta1);
+            final float y1 = (float) Math.sin(theta1);
+
+            addVertex(transform, x0 * radius, y0 * radius, top, x0, y0, 0);
+            addVertex(transform, x0 * radius, y0 * radius, bottom, x0, y0, 0);
+            addVertex(transform, x1 * radius, y1 * radius, bottom, x1, y1, 0);
+            addVertex(transform, x0 * radius, y0 * radius, top, x0, y0, 0);
+            addVertex(transform, x1 * radius, y1 * radius, bottom, x1, y1, 0);
+            addVertex(transform, x1 * radius, y1 * radius, top, x1, y1, 0);
+
+            if (closed) {
+                addVertex(transform, 0, 0, top, 0, 0, 1);
+                addVertex(transform, x0 * radius, y0 * radius, top, 0, 0, 1);
+                addVertex(transform, x1 * radius, y1 * radius, top, 0, 0, 1);
+                addVertex(transform, 0, 0, bottom, 0, 0, -1);
+                addVertex(transform, x1 * radius, y1 * radius, bottom, 0, 0, -1);
+                addVertex(transform, x0 * radius, y0 * radius, bottom, 0, 0, -1);
+            }
+        }
+    }
+
+    /**
+     * Finishes adding vertices.
+     */
+    void complete() {
+        for (int i = 0; i < parts.size(); ++i) {
+            parts.get(i).count = (i + 1 < parts.size() ? parts.get(i + 1).first : numOfVertices) - parts.get(i).first;
+        }
+        parts.removeIf(part -> part.count == 0);
+
+        data = FloatBuffer.wrap(vertices, 0, numOfVertices * VERTEX_SIZE);
+        vertices = null;
+    }
+
+    /**
+     * Returns the vertices of this mesh, as long as it was not uploaded.
+     *
+     * @return buffer containing VERTEX_SIZE floats per vertex
+     */
+    FloatBuffer getVertices() {
+        return data.duplicate();
+    }
+
+    /**
+     * Copies the vertices into a vertex buffer object of the given OpenGL
+     * context and loads the textures of the surfaces.
+     *
+     * @param gl OpenGL context
+     * @throws IOException if a texture could not be loaded
+     */
+    void upload(final GL2 gl) throws IOException {
+        for (final Part part : parts) {
+            part.surface.loadTexture(gl);
+        }
+
+        final int[] ids = new int[1];
+        gl.glGenBuffers(1, ids, 0);
+        buffer = ids[0];
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, buffer);
+        gl.glBufferData(GL.GL_ARRAY_BUFFER, (long) numOfVertices * STRIDE, data.isDirect() ? data : Buffers.copyFloatBuffer(data), GL.GL_STATIC_DRAW);
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+        data = null;
+    }
+
+    /**
+     * Returns the ranges of vertices drawn with the same surface.
+     *
+     * @return parts
+     */
+    List<Part> getParts() {
+        return Collections.unmodifiableList(parts);
+    }
+
+    /**
+     * Sets up the vertex, normal and texture coordinate arrays to be read from
+     * the vertex buffer object of this mesh.
+     *
+     * @param gl OpenGL context
+     */
+    void bind(final GL2 gl) {
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, buffer);
+        gl.glEnableClientState(GL2.GL_VERTEX_ARRAY);
+        gl.glEnableClientState(GL2.GL_NORMAL_ARRAY);
+        gl.glEnableClientState(GL2.GL_TEXTURE_COORD_ARRAY);
+        gl.glVertexPointer(3, GL.GL_FLOAT, STRIDE, 0);
+        gl.glNormalPointer(GL.GL_FLOAT, STRIDE, 3 * Buffers.SIZEOF_FLOAT);
+        gl.glTexCoordPointer(2, GL.GL_FLOAT, STRIDE, 6 * Buffers.SIZEOF_FLOAT);
+    }
+
+    /**
+     * Resets the state changed by bind().
+     *
+     * @param gl OpenGL context
+     */
+    void unbind(final GL2 gl) {
+        gl.glDisableClientState(GL2.GL_VERTEX_ARRAY);
+        gl.glDisableClientState(GL2.GL_NORMAL_ARRAY);
+        gl.glDisableClientState(GL2.GL_TEXTURE_COORD_ARRAY);
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+    }
+
+    /**
+     * Draws this mesh with the current transformation.
+     *
+     * @param gl OpenGL context
+     */
+    public void draw(final GL2 gl) {
+        bind(gl);
+        for (final Part part : parts) {
+            part.surface.set(gl, false);
+            gl.glDrawArrays(GL.GL_TRIANGLES, part.first, part.count);
+            part.surface.unset(gl, false);
+        }
+        unbind(gl);
+    }
+
+    /**
+     * Multiplies the given column-major transformation matrix with a
+     * translation like glTranslatef.
+     *
+     * @param m matrix
+     * @param x x-component of the translation
+     * @param y y-component of the translation
+     * @param z z-component of the translation
+     */
+    public static void translate(final float[] m, final float x, final float y, final float z) {
+        m[12] += m[0] * x + m[4] * y + m[8] * z;
+        m[13] += m[1] * x + m[5] * y + m[9] * z;
+        m[14] += m[2] * x + m[6] * y + m[10] * z;
+        m[15] += m[3] * x + m[7] * y + m[11] * z;
+    }
+
+    /**
+     * Multiplies the given column-major transformation matrix with a rotation
+     * around the x-axis.
+     *
+     * @param m matrix
+     * @param angle angle in radians
+     */
+    public static void rotateX(final float[] m, final double angle) {
+        rotate(m, 1, 2, angle);
+    }
+
+    /**
+     * Multiplies the given column-major transformation matrix with a rotation
+     * around the y-axis.
+     *
+     * @param m matrix
+     * @param angle angle in radians
+     */
+    public static void rotateY(final float[] m, final double angle) {
+        rotate(m, 2, 0, angle);
+    }
+
+    /**
+     * Multiplies the given column-major transformation matrix with a rotation
+     * around the z-axis.
+     *
+     * @param m matrix
+     * @param angle angle in radians
+     */
+    public static void rotateZ(final float[] m, final double angle) {
+        rotate(m, 0, 1, angle);
+    }
+
+    private static void rotate(final float[] m, final int a, final int b, final double angle) {
+        final float c = (float) Math.cos(angle);
+        final float s = (float) Math.sin(angle);
+        for (int row = 0; row < 4; ++row) {
+            final float ma = m[a * 4 + row];
+            final float mb = m[b * 4 + row];
+            m[a * 4 + row] = ma * c + mb * s;
+            m[b * 4 + row] = mb * c - ma * s;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package teamcomm.gui.drawings;
+
+import common.Log;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * Binary cache for the meshes of the models in a ros2 scene file. When a model
+ * is loaded from a scene file the first time, the meshes of all models of the
+ * scene are compiled and written into a file next to the scene file. On later
+ * starts, this file is memory-mapped and the vertices are uploaded from it
+ * directly, as long as none of the files the scene consists of changed.
+ */
+class MeshCache {
+
+    /**
+     * Suffix appended to the path of the scene file.
+     */
+    private static final String SUFFIX = ".cache";
+
+    /**
+     * Identifies the format of the file.
+     */
+    private static final int MAGIC = 0x4d455348;
+    private static final int VERSION = 1;
+
+    private MeshCache() {
+    }
+
+    /**
+     * Returns the meshes of the given models of the given scene file. The
+     * meshes still have to be uploaded. This may be called from any thread;
+     * concurrent calls are serialized so that the cache file is written only
+     * once.
+     *
+     * @param filename path to the scene file
+     * @param modelnames names of the models
+     * @return the meshes by the names of their models; models which do not
+     * exist are missing
+     * @throws teamcomm.gui.drawings.RoSi2Element.RoSi2ParseException if the
+     * file could not be parsed as a ros2 file
+     * @throws javax.xml.stream.XMLStreamException if the file could not be
+     * parsed as a XML file
+     * @throws java.io.IOException on other IO errors
+     */
+    static synchronized Map<String, Mesh> load(final String filename, final Collection<String> modelnames) throws RoSi2Element.RoSi2ParseException, XMLStreamException, IOException {
+        final File cacheFile = new File(filename + SUFFIX);
+        final Map<String, Mesh> meshes = read(cacheFile);
+        if (meshes != null && meshes.keySet().containsAll(modelnames)) {
+            return meshes;
+        }
+
+        return compile(filename, modelnames, cacheFile);
+    }
+
+    /**
+     * Parses the scene file, creates the meshes of the given models and all
+     * other models of the scene, and writes them into the cache file.
+     */
+    private static Map<String, Mesh> compile(final String filename, final Collection<String> modelnames, final File cacheFile) throws RoSi2Element.RoSi2ParseException, XMLStreamException, IOException {
+        final List<File> files = new ArrayList<>();
+        final RoSi2Element scene = RoSi2Element.parseFile(filename, files);
+
+        final Set<String> names = new HashSet<>(modelnames);
+        for (final RoSi2Element e : scene.getNamedChildren()) {
+            names.add(e.getName());
+        }
+        final Map<String, Mesh> meshes = new HashMap<>();
+        for (final RoSi2Element e : scene.findElements(names)) {
+            meshes.put(e.getName(), e.instantiate(null).createMesh());
+        }
+
+        write(cacheFile, files, meshes);
+        return meshes;
+    }
+
+    /**
+     * Reads all meshes from the cache file.
+     *
+     * @param cacheFile the cache file
+     * @return the meshes by the names of their models or null if the file
+     * does not exist or is outdated
+     */
+    private static Map<String, Mesh> read(final File cacheFile) {
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+
+        // The mapping stays valid after the channel is closed
+        final ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            return null;
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.get() != getByteOrder()) {
+                return null;
+            }
+
+            // Check whether the files of the scene changed
+            for (int n = buffer.getInt(); n > 0; n--) {
+                final File file = new File(readString(buffer));
+                if (file.length() != buffer.getLong() || file.lastModified() != buffer.getLong()) {
+                    return null;
+                }
+            }
+
+            // Read the descriptions of the meshes
+            final int numOfMeshes = buffer.getInt();
+            final String[] names = new String[numOfMeshes];
+            final int[] numsOfVertices = new int[numOfMeshes];
+            final List<List<Mesh.Part>> parts = new ArrayList<>(numOfMeshes);
+            for (int i = 0; i < numOfMeshes; ++i) {
+                names[i] = readString(buffer);
+                numsOfVertices[i] = buffer.getInt();
+                final int numOfParts = buffer.getInt();
+                final List<Mesh.Part> meshParts = new ArrayList<>(numOfParts);
+                for (int j = 0; j < numOfParts; ++j) {
+                    final int first = buffer.getInt();
+                    final int count = buffer.getInt();
+                    meshParts.add(new Mesh.Part(readSurface(buffer), first, count));
+                }
+                parts.add(meshParts);
+            }
+
+            // Map the vertices
+            final Map<String, Mesh> meshes = new HashMap<>();
+            int position = align(buffer.position());
+            for (int i = 0; i < numOfMeshes; ++i) {
+                buffer.position(position);
+                final ByteBuffer slice = buffer.slice();
+                slice.limit(numsOfVertices[i] * Mesh.STRIDE);
+                meshes.put(names[i], new Mesh(slice.order(ByteOrder.nativeOrder()).asFloatBuffer(), parts.get(i)));
+                position += numsOfVertices[i] * Mesh.STRIDE;
+            }
+            return meshes;
+        } catch (RuntimeException e) {
+            Log.error("Ignoring broken mesh cache " + cacheFile.getPath());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the given meshes into the cache file. Failing to do so is not
+     * fatal, the scene is parsed again on the next start then.
+     */
+    private static void write(final File cacheFile, final List<File> files, final Map<String, Mesh> meshes) {
+        final File tmpFile = new File(cacheFile.getPath() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeByte(getByteOrder());
+
+                out.writeInt(files.size());
+                for (final File file : files) {
+                    writeString(out, file.getPath());
+                    out.writeLong(file.length());
+                    out.writeLong(file.lastModified());
+                }
+
+                final List<FloatBuffer> vertices = new ArrayList<>(meshes.size());
+                out.writeInt(meshes.size());
+                for (final Map.Entry<String, Mesh> entry : meshes.entrySet()) {
+                    final FloatBuffer v = entry.getValue().getVertices();
+                    vertices.add(v);
+                    writeString(out, entry.getKey());
+                    out.writeInt(v.remaining() / Mesh.VERTEX_SIZE);
+                    out.writeInt(entry.getValue().getParts().size());
+                    for (final Mesh.Part part : entry.getValue().getParts()) {
+                        out.writeInt(part.first);
+                        out.writeInt(part.count);
+                        writeSurface(out, part.surface);
+                    }
+                }
+
+                while (out.size() != align(out.size())) {
+                    out.writeByte(0);
+                }
+                for (final FloatBuffer v : vertices) {
+                    final ByteBuffer bytes = ByteBuffer.allocate(v.remaining() * Float.BYTES).order(ByteOrder.nativeOrder());
+                    bytes.asFloatBuffer().put(v);
+                    out.write(bytes.array());
+                }
+            }
+            Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Log.error("Could not write mesh cache " + cacheFile.getPath() + ": " + e.getMessage());
+            tmpFile.delete();
+        }
+    }
+
+    private static RoSi2Element.Surface readSurface(final ByteBuffer buffer) {
+        final float[] diffuseColor = readColor(buffer);
+        final float[] ambientColor = buffer.get() != 0 ? readColor(buffer) : null;
+        final float[] specularColor = readColor(buffer);
+        final float[] emissionColor = readColor(buffer);
+        final float shininess = buffer.getFloat();
+        final File textureFile = buffer.get() != 0 ? new File(readString(buffer)) : null;
+        return new RoSi2Element.Surface(diffuseColor, ambientColor, specularColor, emissionColor, shininess, textureFile, null);
+    }
+
+    private static void writeSurface(final DataOutputStream out, final RoSi2Element.Surface surface) throws IOException {
+        writeColor(out, surface.diffuseColor);
+        out.writeBoolean(surface.ambientColor != null);
+        if (surface.ambientColor != null) {
+            writeColor(out, surface.ambientColor);
+        }
+        writeColor(out, surface.specularColor);
+        writeColor(out, surface.emissionColor);
+        out.writeFloat(surface.shininess);
+        out.writeBoolean(surface.textureFile != null);
+        if (surface.textureFile != null) {
+            writeString(out, surface.textureFile.getPath());
+        }
+    }
+
+    private static float[] readColor(final ByteBuffer buffer) {
+        return new float[]{buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat()};
+    }
+
+    private static void writeColor(final DataOutputStream out, final float[] color) throws IOException {
+        for (int i = 0; i < 4; ++i) {
+            out.writeFloat(color[i]);
+        }
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(final DataOutputStream out, final String s) throws IOException {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte getByteOrder() {
+        return (byte) (ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ? 1 : 0);
+    }
+
+    private static int align(final int position) {
+        return (position + Float.BYTES - 1) / Float.BYTES * Float.BYTES;
+    }
+}
@@ -0,0 +1,274 @@
+package teamcomm.gui.drawings;
+
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.opengl.GL;
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.GL2ES2;
+import common.Log;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class for drawing many instances of meshes. The instances of a frame are
+ * collected with add() and drawn with flush(), so that the surfaces of each
+ * mesh only have to be set up once for all of its instances. If the OpenGL
+ * context supports instanced arrays, all instances of a mesh are drawn with a
+ * single draw call per surface by a shader which reads the transformations of
+ * the instances from a buffer. Otherwise, each instance is drawn with its own
+ * draw call from the vertex buffer object of the mesh.
+ */
+public class MeshRenderer {
+
+    /**
+     * Vertex shader. It applies the transformation of the instance and
+     * computes the lighting like the fixed function pipeline does for the
+     * single light of the field views. As GL_COLOR_MATERIAL is enabled, the
+     * diffuse color (and the ambient color if the surface has none of its
+     * own) is the current color, which Surface.set sets.
+     */
+    private static final String VERTEX_SHADER = "#version 120\n"
+            + "attribute mat4 transform;\n"
+            + "uniform bool ambientFromColor;\n"
+            + "varying vec4 color;\n"
+            + "void main() {\n"
+            + "    vec4 ambientColor = ambientFromColor ? gl_Color : gl_FrontMaterial.ambient;\n"
+            + "    vec4 position = gl_ModelViewMatrix * (transform * gl_Vertex);\n"
+            + "    vec3 normal = normalize(gl_NormalMatrix * (mat3(transform[0].xyz, transform[1].xyz, transform[2].xyz) * gl_Normal));\n"
+            + "    vec3 light = gl_LightSource[0].position.xyz - position.xyz * gl_LightSource[0].position.w;\n"
+            + "    float distance = length(light);\n"
+            + "    light /= distance;\n"
+            + "    float attenuation = gl_LightSource[0].position.w == 0.0 ? 1.0 : 1.0 / (gl_LightSource[0].constantAttenuation\n"
+            + "            + gl_LightSource[0].linearAttenuation * distance\n"
+            + "            + gl_LightSource[0].quadraticAttenuation * distance * distance);\n"
+            + "    float diffuse = max(dot(normal, light), 0.0);\n"
+            + "    float specular = diffuse > 0.0 ? pow(max(dot(normal, normalize(light - normalize(position.xyz))), 0.0), gl_FrontMaterial.shininess) : 0.0;\n"
+            + "    color = gl_FrontMaterial.emission + gl_LightModel.ambient * ambientColor\n"
+            + "            + attenuation * (gl_LightSource[0].ambient * ambientColor\n"
+            + "            + diffuse * gl_LightSource[0].diffuse * gl_Color\n"
+            + "            + specular * gl_LightSource[0].specular * gl_FrontMaterial.specular);\n"
+            + "    color.a = gl_Color.a;\n"
+            + "    gl_TexCoord[0] = gl_MultiTexCoord0;\n"
+            + "    gl_Position = gl_ProjectionMatrix * position;\n"
+            + "}\n";
+
+    /**
+     * Fragment shader. It modulates the color with the texture of the surface
+     * like the default texture environment does.
+     */
+    private static final String FRAGMENT_SHADER = "#version 120\n"
+            + "uniform sampler2D surfaceTexture;\n"
+            + "uniform bool textured;\n"
+            + "varying vec4 color;\n"
+            + "void main() {\n"
+            + "    gl_FragColor = textured ? color * texture2D(surfaceTexture, gl_TexCoord[0].st) : color;\n"
+            + "}\n";
+
+    /**
+     * Transformations of the instances of a mesh.
+     */
+    private static class Instances {
+
+        float[] transforms = new float[16 * 16];
+        int count = 0;
+    }
+
+    private final Map<Mesh, Instances> instances = new LinkedHashMap<>();
+    private int program = 0;
+    /**
+     * Index of the first of the four vertex attributes holding the columns of
+     * the transformation of an instance. It is chosen by the linker, because
+     * fixed indices may be aliased to the fixed function attributes (e.g. 8 to
+     * 15 to the texture coordinates on NVIDIA's compatibility profiles).
+     */
+    private int transformLocation;
+    private int texturedLocation;
+    private int ambientFromColorLocation;
+    private int instanceBuffer;
+    private FloatBuffer instanceData = Buffers.newDirectFloatBuffer(16 * 16);
+
+    /**
+     * Constructor. Sets up the instanced drawing if the given OpenGL context
+     * supports it.
+     *
+     * @param gl OpenGL context
+     */
+    public MeshRenderer(final GL2 gl) {
+        if (gl.isFunctionAvailable("glDrawArraysInstanced")
+                && gl.isFunctionAvailable("glVertexAttribDivisor")
+                && gl.isFunctionAvailable("glCreateShader")) {
+            program = createProgram(gl);
+            if (program != 0) {
+                transformLocation = gl.glGetAttribLocation(program, "transform");
+                if (transformLocation < 0) {
+                    Log.error("The shader for instanced drawing has no transform attribute, falling back to drawing each robot separately");
+                    gl.glDeleteProgram(program);
+                    program = 0;
+                    return;
+                }
+                texturedLocation = gl.glGetUniformLocation(program, "textured");
+                ambientFromColorLocation = gl.glGetUniformLocation(program, "ambientFromColor");
+                final int[] ids = new int[1];
+                gl.glGenBuffers(1, ids, 0);
+                instanceBuffer = ids[0];
+            }
+        }
+    }
+
+    /**
+     * Returns whether all instances of a mesh are drawn with a single draw
+     * call per surface.
+     *
+     * @return boolean
+     */
+    public boolean isInstanced() {
+        return program != 0;
+    }
+
+    /**
+     * Adds an instance of a mesh to be drawn by the next call of flush().
+     *
+     * @param mesh mesh
+     * @param transform column-major transformation matrix of the instance
+     */
+    public void add(final Mesh mesh, final float[] transform) {
+        Instances inst = instances.get(mesh);
+        if (inst == null) {
+            inst = new Instances();
+            instances.put(mesh, inst);
+        }
+        if ((inst.count + 1) * 16 > inst.transforms.length) {
+            inst.transforms = Arrays.copyOf(inst.transforms, inst.transforms.length * 2);
+        }
+        System.arraycopy(transform, 0, inst.transforms, inst.count++ * 16, 16);
+    }
+
+    /**
+     * Draws all instances added since the last call with the current
+     * transformation.
+     *
+     * @param gl OpenGL context
+     */
+    public void flush(final GL2 gl) {
+        if (program != 0) {
+            gl.glUseProgram(program);
+        }
+
+        for (final Map.Entry<Mesh, Instances> entry : instances.entrySet()) {
+            final Mesh mesh = entry.getKey();
+            final Instances inst = entry.getValue();
+            if (inst.count == 0) {
+                continue;
+            }
+
+            if (program != 0) {
+                // Upload the transformations of the instances
+                if (instanceData.capacity() < inst.count * 16) {
+                    instanceData = Buffers.newDirectFloatBuffer(inst.transforms.length);
+                }
+                instanceData.clear();
+                instanceData.put(inst.transforms, 0, inst.count * 16);
+                instanceData.flip();
+                gl.glBindBuffer(GL.GL_ARRAY_BUFFER, instanceBuffer);
+                gl.glBufferData(GL.GL_ARRAY_BUFFER, inst.count * 16 * Buffers.SIZEOF_FLOAT, instanceData, GL2ES2.GL_STREAM_DRAW);
+                for (int i = 0; i < 4; ++i) {
+                    gl.glEnableVertexAttribArray(transformLocation + i);
+                    gl.glVertexAttribPointer(transformLocation + i, 4, GL.GL_FLOAT, false, 16 * Buffers.SIZEOF_FLOAT, i * 4 * Buffers.SIZEOF_FLOAT);
+                    gl.glVertexAttribDivisor(transformLocation + i, 1);
+                }
+
+                mesh.bind(gl);
+                for (final Mesh.Part part : mesh.getParts()) {
+                    part.surface.set(gl, false);
+                    gl.glUniform1i(texturedLocation, part.surface.textureFile != null ? 1 : 0);
+                    gl.glUniform1i(ambientFromColorLocation, part.surface.ambientColor == null ? 1 : 0);
+                    gl.glDrawArraysInstanced(GL.GL_TRIANGLES, part.first, part.count, inst.count);
+                    part.surface.unset(gl, false);
+                }
+                mesh.unbind(gl);
+
+                for (int i = 0; i < 4; ++i) {
+                    gl.glVertexAttribDivisor(transformLocation + i, 0);
+                    gl.glDisableVertexAttribArray(transformLocation + i);
+                }
+            } else {
+                mesh.bind(gl);
+                for (final Mesh.Part part : mesh.getParts()) {
+                    part.surface.set(gl, false);
+                    for (int i = 0; i < inst.count; ++i) {
+                        gl.glPushMatrix();
+                        gl.glMultMatrixf(inst.transforms, i * 16);
+                        gl.glDrawArrays(GL.GL_TRIANGLES, part.first, part.count);
+                        gl.glPopMatrix();
+                    }
+                    part.surface.unset(gl, false);
+                }
+                mesh.unbind(gl);
+            }
+
+            inst.count = 0;
+        }
+
+        if (program != 0) {
+            gl.glUseProgram(0);
+        }
+    }
+
+    /**
+     * Compiles and links the shader program for instanced drawing.
+     *
+     * @param gl OpenGL context
+     * @return id of the program or 0 if it could not be created
+     */
+    private static int createProgram(final GL2 gl) {
+        final int vertexShader = createShader(gl, GL2ES2.GL_VERTEX_SHADER, VERTEX_SHADER);
+        final int fragmentShader = createShader(gl, GL2ES2.GL_FRAGMENT_SHADER, FRAGMENT_SHADER);
+        if (vertexShader == 0 || fragmentShader == 0) {
+            gl.glDeleteShader(vertexShader);
+            gl.glDeleteShader(fragmentShader);
+            return 0;
+        }
+
+        final int program = gl.glCreateProgram();
+        gl.glAttachShader(program, vertexShader);
+        gl.glAttachShader(program, fragmentShader);
+        gl.glLinkProgram(program);
+        gl.glDeleteShader(vertexShader);
+        gl.glDeleteShader(fragmentShader);
+
+        final int[] status = new int[1];
+        gl.glGetProgramiv(program, GL2ES2.GL_LINK_STATUS, status, 0);
+        if (status[0] == GL.GL_FALSE) {
+            final int[] length = new int[1];
+            gl.glGetProgramiv(program, GL2ES2.GL_INFO_LOG_LENGTH, length, 0);
+            final byte[] log = new byte[Math.max(length[0], 1)];
+            gl.glGetProgramInfoLog(program, log.length, length, 0, log, 0);
+            Log.error("Could not link the shader for instanced drawing, falling back to drawing each robot separately: "
+                    + new String(log, 0, length[0]).trim());
+            gl.glDeleteProgram(program);
+            return 0;
+        }
+        return program;
+    }
+
+    private static int createShader(final GL2 gl, final int type, final String source) {
+        final int shader = gl.glCreateShader(type);
+        gl.glShaderSource(shader, 1, new String[]{source}, null, 0);
+        gl.glCompileShader(shader);
+
+        final int[] status = new int[1];
+        gl.glGetShaderiv(shader, GL2ES2.GL_COMPILE_STATUS, status, 0);
+        if (status[0] == GL.GL_FALSE) {
+            final int[] length = new int[1];
+            gl.glGetShaderiv(shader, GL2ES2.GL_INFO_LOG_LENGTH, length, 0);
+            final byte[] log = new byte[Math.max(length[0], 1)];
+            gl.glGetShaderInfoLog(shader, log.length, length, 0, log, 0);
+            Log.error("Could not compile the shader for instanced drawing, falling back to drawing each robot separately: "
+                    + new String(log, 0, length[0]).trim());
+            gl.glDeleteShader(shader);
+            return 0;
+        }
+        return shader;
+    }
+}
@@ -0,0 +1,20 @@
+package teamcomm.gui.drawings;
+
+import java.util.EventListener;
+
+/**
+ * Interface for listeners for the progress of the Preloader.
+ */
+public interface PreloadListener extends EventListener {
+
+    /**
+     * Called from a thread of the Preloader whenever a preloading task was
+     * started or finished. When all tasks are finished, this is called with a
+     * total of 0.
+     *
+     * @param finished number of finished tasks
+     * @param total number of tasks started since the last time all tasks were
+     * finished
+     */
+    void preloadProgressChanged(int finished, int total);
+}
@@ -0,0 +1,287 @@
+package teamcomm.gui.drawings;
+
+import java.io.File;
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import javax.swing.event.EventListenerList;
+
+/**
+ * Singleton class for loading models and textures before they are needed by
+ * the drawings. Scene files are parsed and images are decoded on a pool of
+ * background threads, so that RoSi2Loader and TextureLoader only have to
+ * upload them when they are used on the OpenGL thread. Each preloaded object
+ * is handed out once; when it is needed again, e.g. for another OpenGL
+ * context, it is loaded as usual. Finished results are only softly
+ * referenced until they are taken, so that objects no drawing asks for (e.g.
+ * logos of teams that are not drawn or scenes of unused plugins) can be
+ * reclaimed. They are preloaded again when they are requested again.
+ */
+public class Preloader {
+
+    private static final Preloader instance = new Preloader();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "Preloader");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }
+    });
+    private final Map<String, Future<SoftReference<RoSi2Element>>> scenes = new ConcurrentHashMap<>();
+    private final Map<String, Future<SoftReference<Map<String, Mesh>>>> meshes = new ConcurrentHashMap<>();
+    private final Map<String, Future<SoftReference<TextureLoader.ImageData>>> images = new ConcurrentHashMap<>();
+    /** Guards checking whether an object is already being preloaded. */
+    private final Object requestMutex = new Object();
+    private final EventListenerList listeners = new EventListenerList();
+    private volatile boolean enabled = false;
+    private int started = 0;
+    private int finished = 0;
+
+    private Preloader() {
+    }
+
+    /**
+     * Returns the only instance of the Preloader.
+     *
+     * @return instance
+     */
+    public static Preloader getInstance() {
+        return instance;
+    }
+
+    /**
+     * Enables preloading and starts preloading the common scene file. Until
+     * this is called, all requests for preloading are ignored, so that nothing
+     * is loaded if no 3D view is shown.
+     */
+    public void enable() {
+        enabled = true;
+        preloadScene(RoSi2Loader.COMMON_SCENE_FILE);
+    }
+
+    /**
+     * Starts preloading the models of the given scene file and the textures
+     * used by them. Nothing is done if the file is already being preloaded or
+     * its preloaded models were not yet taken.
+     *
+     * @param filename path to the scene file
+     */
+    public void preloadScene(final String filename) {
+        if (!enabled) {
+            return;
+        }
+        final String key = key(new File(filename));
+        synchronized (requestMutex) {
+            purge();
+            if (scenes.containsKey(key) || meshes.containsKey(key)) {
+                return;
+            }
+            submitScene(key, filename);
+        }
+    }
+
+    private void submitScene(final String key, final String filename) {
+        // Parse the scene for display lists
+        scenes.put(key, submit(new Callable<RoSi2Element>() {
+            @Override
+            public RoSi2Element call() throws Exception {
+                return RoSi2Element.parseFile(filename);
+            }
+        }));
+
+        // Load the meshes of all models from the mesh cache and then the
+        // textures of their surfaces
+        meshes.put(key, submit(new Callable<Map<String, Mesh>>() {
+            @Override
+            public Map<String, Mesh> call() throws Exception {
+                final Map<String, Mesh> result = MeshCache.load(filename, Collections.<String>emptySet());
+                for (final Mesh mesh : result.values()) {
+                    for (final Mesh.Part part : mesh.getParts()) {
+                        if (part.surface.textureFile != null) {
+                            preloadTexture(part.surface.textureFile);
+                        }
+                    }
+                }
+                return result;
+            }
+        }));
+    }
+
+    /**
+     * Starts reading the given image file for a texture. Nothing is done if
+     * the file is already being read or its preloaded pixels were not yet
+     * taken.
+     *
+     * @param file path of the image file
+     */
+    public void preloadTexture(final File file) {
+        if (!enabled) {
+            return;
+        }
+        final String key = key(file);
+        synchronized (requestMutex) {
+            purge();
+            if (images.containsKey(key)) {
+                return;
+            }
+            submitImage(key, file);
+        }
+    }
+
+    private void submitImage(final String key, final File file) {
+        images.put(key, submit(new Callable<TextureLoader.ImageData>() {
+            @Override
+            public TextureLoader.ImageData call() throws Exception {
+                return TextureLoader.readImage(file);
+            }
+        }));
+    }
+
+    /**
+     * Returns the parsed scene of the given file if it was preloaded. Waits
+     * for the parser if it is not yet finished.
+     *
+     * @param filename path to the scene file
+     * @return scene element or null if the file was not preloaded or could not
+     * be parsed
+     */
+    RoSi2Element takeScene(final String filename) {
+        return take(scenes, key(new File(filename)));
+    }
+
+    /**
+     * Returns the meshes of all models of the given scene file if they were
+     * preloaded. Waits for the loader if it is not yet finished.
+     *
+     * @param filename path to the scene file
+     * @return the meshes by the names of their models or null if the file was
+     * not preloaded or could not be loaded
+     */
+    Map<String, Mesh> takeMeshes(final String filename) {
+        return take(meshes, key(new File(filename)));
+    }
+
+    /**
+     * Returns the pixels of the given image file if it was preloaded. Waits
+     * for the loader if it is not yet finished.
+     *
+     * @param file path of the image file
+     * @return pixels or null if the file was not preloaded or could not be
+     * read
+     */
+    TextureLoader.ImageData takeImage(final File file) {
+        return take(images, key(file));
+    }
+
+    /**
+     * Adds a listener for the progress of preloading. The listener is notified
+     * about the current progress immediately.
+     *
+     * @param listener listener
+     */
+    public synchronized void addListener(final PreloadListener listener) {
+        listeners.add(PreloadListener.class, listener);
+        listener.preloadProgressChanged(finished, started);
+    }
+
+    /**
+     * Removes a listener for the progress of preloading.
+     *
+     * @param listener listener
+     */
+    public void removeListener(final PreloadListener listener) {
+        listeners.remove(PreloadListener.class, listener);
+    }
+
+    private static String key(final File file) {
+        return file.getAbsoluteFile().toPath().normalize().toString();
+    }
+
+    private <T> Future<SoftReference<T>> submit(final Callable<T> task) {
+        taskStarted();
+        return executor.submit(new Callable<SoftReference<T>>() {
+            @Override
+            public SoftReference<T> call() throws Exception {
+                try {
+                    return new SoftReference<>(task.call());
+                } finally {
+                    taskFinished();
+                }
+            }
+        });
+    }
+
+    /**
+     * Removes the entries whose results were reclaimed or could not be
+     * loaded, so that they are preloaded again when they are requested.
+     */
+    private void purge() {
+        purge(scenes);
+        purge(meshes);
+        purge(images);
+    }
+
+    private static <T> void purge(final Map<String, Future<SoftReference<T>>> futures) {
+        final Iterator<Future<SoftReference<T>>> it = futures.values().iterator();
+        while (it.hasNext()) {
+            final Future<SoftReference<T>> future = it.next();
+            if (future.isDone() && getNow(future) == null) {
+                it.remove();
+            }
+        }
+    }
+
+    private static <T> T getNow(final Future<SoftReference<T>> future) {
+        try {
+            return future.get().get();
+        } catch (ExecutionException | InterruptedException | CancellationException e) {
+            return null;
+        }
+    }
+
+    private static <T> T take(final Map<String, Future<SoftReference<T>>> futures, final String key) {
+        final Future<SoftReference<T>> future = futures.remove(key);
+        if (future == null) {
+            return null;
+        }
+
+        try {
+            return future.get().get();
+        } catch (ExecutionException e) {
+            // The caller loads it again and reports the error
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private synchronized void taskStarted() {
+        fireProgressChanged(finished, ++started);
+    }
+
+    private synchronized void taskFinished() {
+        if (++finished == started) {
+            started = finished = 0;
+        }
+        fireProgressChanged(finished, started);
+    }
+
+    private void fireProgressChanged(final int finished, final int total) {
+        for (final PreloadListener listener : listeners.getListeners(PreloadListener.class)) {
+            listener.preloadProgressChanged(finished, total);
+        }
+    }
+}
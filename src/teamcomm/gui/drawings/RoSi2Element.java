@@ -4,6 +4,7 @@ import com.jogamp.opengl.GL;
 import com.jogamp.opengl.GL2;
 import com.jogamp.opengl.glu.GLU;
 import com.jogamp.opengl.glu.GLUquadric;
+import com.jogamp.opengl.math.FloatUtil;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -13,6 +14,7 @@ import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.ParsePosition;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashMap;
@@ -116,6 +118,23 @@ public class RoSi2Element {
         return name;
     }
 
+    /**
+     * Returns the immediate child elements of this element which have a name,
+     * i.e. the models if this is a scene element.
+     *
+     * @return List containing the named children
+     */
+    public List<RoSi2Element> getNamedChildren() {
+        final List<RoSi2Element> namedChildren = new ArrayList<>();
+        for (final RoSi2Element child : children) {
+            if (child.name != null) {
+                namedChildren.add(child);
+            }
+        }
+
+        return namedChildren;
+    }
+
     /**
      * Returns the child element with the given name from the element. Elements
      * are searched via breadth-first search.
@@ -300,45 +319,16 @@ public class RoSi2Element {
             case "Vertices": {
                 final double unit = getUnit(varBindings, "unit", false, 1.0f);
                 final ArrayList<Vertices.Vertex> vs = new ArrayList<>();
-                final String str = content.toString();
-                final DecimalFormat fmt = new DecimalFormat();
-                fmt.setGroupingUsed(false);
-                final DecimalFormatSymbols sym = (DecimalFormatSymbols) DecimalFormatSymbols.getInstance().clone();
-                sym.setDecimalSeparator('.');
-                fmt.setDecimalFormatSymbols(sym);
-                int pos = 0;
+                final NumberScanner scanner = new NumberScanner(content);
                 final double[] vertex = new double[3];
                 int i = 0;
                 // parse vertices
-                parsing:
-                while (pos < str.length()) {
-                    while (Character.isWhitespace(str.charAt(pos))) {
-                        pos++;
-                        if (pos == str.length()) {
-                            break parsing;
-                        }
-                    }
-                    while (str.charAt(pos) == '#') {
-                        do {
-                            pos++;
-                            if (pos == str.length()) {
-                                break parsing;
-                            }
-                        } while (str.charAt(pos) != '\n' && str.charAt(pos) != '\r');
-                        while (Character.isWhitespace(str.charAt(pos))) {
-                            pos++;
-                            if (pos == str.length()) {
-                                break parsing;
-                            }
-                        }
+                while (scanner.hasNext()) {
+                    final double n = scanner.next(false);
+                    if (Double.isNaN(n)) {
+                        throw new RoSi2ParseException("Vertex coordinate is not a number: " + scanner.peek());
                     }
-                    final ParsePosition p = new ParsePosition(pos);
-                    final Number n = fmt.parse(str, p);
-                    if (n == null) {
-                        throw new RoSi2ParseException("Vertex coordinate is not a number: " + str.substring(pos, pos + 1));
-                    }
-                    pos = p.getIndex();
-                    vertex[i++] = n.doubleValue();
+                    vertex[i++] = n;
 
                     if (i == 3) {
                         vs.add(new Vertices.Vertex((float) (vertex[0] * unit), (float) (vertex[1] * unit), (float) (vertex[2] * unit)));
@@ -351,45 +341,16 @@ public class RoSi2Element {
             }
             case "Normals": {
                 final ArrayList<Normals.Normal> ns = new ArrayList<>();
-                final String str = content.toString();
-                final DecimalFormat fmt = new DecimalFormat();
-                fmt.setGroupingUsed(false);
-                final DecimalFormatSymbols sym = (DecimalFormatSymbols) DecimalFormatSymbols.getInstance().clone();
-                sym.setDecimalSeparator('.');
-                fmt.setDecimalFormatSymbols(sym);
-                int pos = 0;
+                final NumberScanner scanner = new NumberScanner(content);
                 final float[] normal = new float[3];
                 int i = 0;
                 // parse normals
-                parsing:
-                while (pos < str.length()) {
-                    while (Character.isWhitespace(str.charAt(pos))) {
-                        pos++;
-                        if (pos == str.length()) {
-                            break parsing;
-                        }
-                    }
-                    while (str.charAt(pos) == '#') {
-                        do {
-                            pos++;
-                            if (pos == str.length()) {
-                                break parsing;
-                            }
-                        } while (str.charAt(pos) != '\n' && str.charAt(pos) != '\r');
-                        while (Character.isWhitespace(str.charAt(pos))) {
-                            pos++;
-                            if (pos == str.length()) {
-                                break parsing;
-                            }
-                        }
-                    }
-                    final ParsePosition p = new ParsePosition(pos);
-                    final Number n = fmt.parse(str, p);
-                    if (n == null) {
+                while (scanner.hasNext()) {
+                    final double n = scanner.next(false);
+                    if (Double.isNaN(n)) {
                         throw new RoSi2ParseException("Normal coordinate is not a number");
                     }
-                    normal[i++] = n.floatValue();
-                    pos = p.getIndex();
+                    normal[i++] = (float) n;
 
                     if (i == 3) {
                         ns.add(new Normals.Normal(normal[0], normal[1], normal[2], 1));
@@ -402,45 +363,16 @@ public class RoSi2Element {
             }
             case "TexCoords": {
                 final ArrayList<TexCoords.TexCoord> ts = new ArrayList<>();
-                final String str = content.toString();
-                final DecimalFormat fmt = new DecimalFormat();
-                fmt.setGroupingUsed(false);
-                final DecimalFormatSymbols sym = (DecimalFormatSymbols) DecimalFormatSymbols.getInstance().clone();
-                sym.setDecimalSeparator('.');
-                fmt.setDecimalFormatSymbols(sym);
-                int pos = 0;
+                final NumberScanner scanner = new NumberScanner(content);
                 final float[] coord = new float[2];
                 int i = 0;
                 // parse texture coordinates
-                parsing:
-                while (pos < str.length()) {
-                    while (Character.isWhitespace(str.charAt(pos))) {
-                        pos++;
-                        if (pos == str.length()) {
-                            break parsing;
-                        }
-                    }
-                    while (str.charAt(pos) == '#') {
-                        do {
-                            pos++;
-                            if (pos == str.length()) {
-                                break parsing;
-                            }
-                        } while (str.charAt(pos) != '\n' && str.charAt(pos) != '\r');
-                        while (Character.isWhitespace(str.charAt(pos))) {
-                            pos++;
-                            if (pos == str.length()) {
-                                break parsing;
-                            }
-                        }
-                    }
-                    final ParsePosition p = new ParsePosition(pos);
-                    final Number n = fmt.parse(str, p);
-                    if (n == null) {
+                while (scanner.hasNext()) {
+                    final double n = scanner.next(false);
+                    if (Double.isNaN(n)) {
                         throw new RoSi2ParseException("Texture coordinate is not a number");
                     }
-                    coord[i++] = n.floatValue();
-                    pos = p.getIndex();
+                    coord[i++] = (float) n;
 
                     if (i == 2) {
                         ts.add(new TexCoords.TexCoord(coord[0], coord[1]));
@@ -453,53 +385,35 @@ public class RoSi2Element {
             }
             case "Triangles":
             case "Quads": {
-                final LinkedList<Integer> vs = new LinkedList<>();
-                final String str = content.toString();
-                final DecimalFormat fmt = new DecimalFormat();
-                fmt.setParseIntegerOnly(true);
-                int pos = 0;
+                final ArrayList<Integer> vs = new ArrayList<>();
+                final NumberScanner scanner = new NumberScanner(content);
                 // parse vertex indices
-                parsing:
-                while (pos < str.length()) {
-                    while (Character.isWhitespace(str.charAt(pos))) {
-                        pos++;
-                        if (pos == str.length()) {
-                            break parsing;
-                        }
-                    }
-                    while (str.charAt(pos) == '#') {
-                        do {
-                            pos++;
-                            if (pos == str.length()) {
-                                break parsing;
-                            }
-                        } while (str.charAt(pos) != '\n' && str.charAt(pos) != '\r');
-                        while (Character.isWhitespace(str.charAt(pos))) {
-                            pos++;
-                            if (pos == str.length()) {
-                                break parsing;
-                            }
-                        }
-                    }
-                    final ParsePosition p = new ParsePosition(pos);
-                    final Number n = fmt.parse(str, p);
-                    if (n == null) {
+                while (scanner.hasNext()) {
+                    final double n = scanner.next(true);
+                    if (Double.isNaN(n)) {
                         throw new RoSi2ParseException("Vertex index is not a number");
                     }
-                    vs.add(n.intValue());
-                    pos = p.getIndex();
+                    vs.add((int) n);
                 }
+                vs.trimToSize();
                 instance = new PrimitiveGroup(tag.equals("Triangles") ? GL.GL_TRIANGLES : GL2.GL_QUADS, vs);
                 break;
             }
             case "Surface":
                 final String texturePath = getAttributeValue(varBindings, "diffuseTexture", false);
+                final File textureFile = texturePath == null ? null : new File(filepath.getParentFile(), texturePath);
                 final Texture texture;
-                if (texturePath == null) {
+                if (textureFile == null) {
+                    texture = null;
+                } else if (gl == null) {
+                    // The texture is loaded when the mesh is uploaded
+                    if (!textureFile.isFile()) {
+                        throw new RoSi2ParseException("Texture not found: " + texturePath);
+                    }
                     texture = null;
                 } else {
                     try {
-                        texture = TextureLoader.getInstance().loadTexture(gl, new File(filepath.getParentFile(), texturePath));
+                        texture = TextureLoader.getInstance().loadTexture(gl, textureFile);
                     } catch (IOException ex) {
                         throw new RoSi2ParseException("Texture not found: " + texturePath);
                     }
@@ -524,6 +438,7 @@ public class RoSi2Element {
                         getColor(varBindings, "specularColor", false),
                         getColor(varBindings, "emissionColor", false),
                         shininess,
+                        textureFile,
                         texture);
                 break;
             default:
@@ -879,6 +794,60 @@ public class RoSi2Element {
 
             return listId;
         }
+
+        /**
+         * Creates a mesh which contains the element and its children. This
+         * does not need an OpenGL context, so the element may have been
+         * instantiated without one. The mesh has to be uploaded before it can
+         * be drawn.
+         *
+         * @return the created mesh
+         */
+        public final Mesh createMesh() {
+            final Mesh mesh = new Mesh();
+            addTo(mesh, FloatUtil.makeIdentity(new float[16]));
+            mesh.complete();
+
+            return mesh;
+        }
+
+        /**
+         * Adds this element and its children to the given mesh.
+         *
+         * @param mesh mesh
+         * @param parent transformation of the parent element
+         */
+        private void addTo(final Mesh mesh, final float[] parent) {
+            // Apply transformation
+            final float[] transform = Arrays.copyOf(parent, 16);
+            if (translation != null) {
+                Mesh.translate(transform, translation.translation[0], translation.translation[1], translation.translation[2]);
+            }
+            if (rotation != null) {
+                Mesh.rotateX(transform, rotation.rotation[0]);
+                Mesh.rotateY(transform, rotation.rotation[1]);
+                Mesh.rotateZ(transform, rotation.rotation[2]);
+            }
+
+            // Add this element
+            build(mesh, transform);
+
+            // Add children
+            for (final RoSi2Drawable child : children) {
+                child.addTo(mesh, transform);
+            }
+        }
+
+        /**
+         * Adds the triangles of this element to the given mesh. This is the
+         * equivalent of render() for elements which draw something.
+         *
+         * @param mesh mesh
+         * @param transform transformation of this element
+         */
+        protected void build(final Mesh mesh, final float[] transform) {
+            // Do nothing
+        }
     }
 
     private static class Compound extends RoSi2Drawable {
@@ -1058,6 +1027,63 @@ public class RoSi2Element {
             surface.unset(gl);
         }
 
+        @Override
+        protected void build(final Mesh mesh, final float[] transform) {
+            mesh.setSurface(surface, true);
+
+            final float lx = depth * 0.5f;
+            final float ly = width * 0.5f;
+            final float lz = height * 0.5f;
+
+            // -y-side
+            addQuad(mesh, transform, 0, -1, 0,
+                    lx, -ly, -lz,
+                    lx, -ly, lz,
+                    -lx, -ly, lz,
+                    -lx, -ly, -lz);
+
+            // y-side
+            addQuad(mesh, transform, 0, 1, 0,
+                    -lx, ly, lz,
+                    lx, ly, lz,
+                    lx, ly, -lz,
+                    -lx, ly, -lz);
+
+            // -x-side
+            addQuad(mesh, transform, -1, 0, 0,
+                    -lx, -ly, -lz,
+                    -lx, -ly, lz,
+                    -lx, ly, lz,
+                    -lx, ly, -lz);
+
+            // x-side
+            addQuad(mesh, transform, 1, 0, 0,
+                    lx, -ly, -lz,
+                    lx, ly, -lz,
+                    lx, ly, lz,
+                    lx, -ly, lz);
+
+            // bottom
+            addQuad(mesh, transform, 0, 0, -1,
+                    -lx, -ly, -lz,
+                    -lx, ly, -lz,
+                    lx, ly, -lz,
+                    lx, -ly, -lz);
+
+            // top
+            addQuad(mesh, transform, 0, 0, 1,
+                    -lx, -ly, lz,
+                    lx, -ly, lz,
+                    lx, ly, lz,
+                    -lx, ly, lz);
+        }
+
+        private static void addQuad(final Mesh mesh, final float[] transform, final float nx, final float ny, final float nz, final float... v) {
+            for (final int i : new int[]{0, 1, 2, 0, 2, 3}) {
+                mesh.addVertex(transform, v[i * 3], v[i * 3 + 1], v[i * 3 + 2], nx, ny, nz);
+            }
+        }
+
     }
 
     private static class SphereAppearance extends Appearance {
@@ -1086,6 +1112,12 @@ public class RoSi2Element {
             surface.unset(gl);
         }
 
+        @Override
+        protected void build(final Mesh mesh, final float[] transform) {
+            mesh.setSurface(surface, true);
+            mesh.addSphere(transform, radius, 0);
+        }
+
     }
 
     private static class CylinderAppearance extends Appearance {
@@ -1127,6 +1159,12 @@ public class RoSi2Element {
             surface.unset(gl);
         }
 
+        @Override
+        protected void build(final Mesh mesh, final float[] transform) {
+            mesh.setSurface(surface, true);
+            mesh.addCylinder(transform, radius, height, true);
+        }
+
     }
 
     private static class CapsuleAppearance extends Appearance {
@@ -1166,6 +1204,15 @@ public class RoSi2Element {
             surface.unset(gl);
         }
 
+        @Override
+        protected void build(final Mesh mesh, final float[] transform) {
+            final float cylinderHeight = height - radius - radius;
+            mesh.setSurface(surface, true);
+            mesh.addCylinder(transform, radius, cylinderHeight, false);
+            mesh.addSphere(transform, radius, cylinderHeight * -0.5f);
+            mesh.addSphere(transform, radius, cylinderHeight * 0.5f);
+        }
+
     }
 
     private static class ComplexAppearance extends Appearance {
@@ -1327,6 +1374,56 @@ public class RoSi2Element {
             surface.unset(gl, texCoords == null);
         }
 
+        @Override
+        protected void build(final Mesh mesh, final float[] transform) {
+            mesh.setSurface(surface, texCoords == null);
+
+            final int[] corners = new int[4];
+            final Normals.Normal[] cornerNormals = new Normals.Normal[4];
+            for (final PrimitiveGroup primitiveGroup : primitiveGroups) {
+                final int numOfCorners = primitiveGroup.mode == GL2.GL_QUADS ? 4 : 3;
+                int corner = 0;
+                final Iterator<Integer> iter = primitiveGroup.vertices.iterator();
+
+                while (iter.hasNext()) {
+                    corners[corner] = iter.next();
+                    if (normalsDefined) {
+                        if (iter.hasNext()) {
+                            cornerNormals[corner] = normals.normals.get(iter.next());
+                        } else {
+                            break;
+                        }
+                    } else {
+                        cornerNormals[corner] = normals.normals.get(corners[corner]);
+                    }
+
+                    if (++corner == numOfCorners) {
+                        // Split quads into two triangles
+                        addCorner(mesh, transform, corners[0], cornerNormals[0]);
+                        addCorner(mesh, transform, corners[1], cornerNormals[1]);
+                        addCorner(mesh, transform, corners[2], cornerNormals[2]);
+                        if (numOfCorners == 4) {
+                            addCorner(mesh, transform, corners[0], cornerNormals[0]);
+                            addCorner(mesh, transform, corners[2], cornerNormals[2]);
+                            addCorner(mesh, transform, corners[3], cornerNormals[3]);
+                        }
+                        corner = 0;
+                    }
+                }
+            }
+        }
+
+        private void addCorner(final Mesh mesh, final float[] transform, final int i, final Normals.Normal n) {
+            final Vertices.Vertex v = vertices.vertices.get(i);
+            if (texCoords == null) {
+                mesh.addVertex(transform, v.x, v.y, v.z, n.x, n.y, n.z);
+            } else if (i < texCoords.coords.size()) {
+                mesh.addVertex(transform, v.x, v.y, v.z, n.x, n.y, n.z, texCoords.coords.get(i).x, texCoords.coords.get(i).y);
+            } else {
+                mesh.addVertex(transform, v.x, v.y, v.z, n.x, n.y, n.z, 0, 0);
+            }
+        }
+
     }
 
     private static class Vertices extends RoSi2Drawable {
@@ -1456,16 +1553,17 @@ public class RoSi2Element {
 
     }
 
-    private static class Surface extends RoSi2Drawable {
+    static class Surface extends RoSi2Drawable {
 
         public final float[] diffuseColor;
         public final float[] ambientColor;
         public final float[] specularColor;
         public final float[] emissionColor;
         public final float shininess;
-        public final Texture texture;
+        public final File textureFile;
+        private Texture texture;
 
-        public Surface(final float[] diffuseColor, final float[] ambientColor, final float[] specularColor, final float[] emissionColor, final Float shininess, final Texture texture) {
+        public Surface(final float[] diffuseColor, final float[] ambientColor, final float[] specularColor, final float[] emissionColor, final Float shininess, final File textureFile, final Texture texture) {
             this.diffuseColor = diffuseColor;
             this.ambientColor = ambientColor;
 
@@ -1487,6 +1585,7 @@ public class RoSi2Element {
                 this.shininess = 0.0f;
             }
 
+            this.textureFile = textureFile;
             this.texture = texture;
         }
 
@@ -1495,6 +1594,19 @@ public class RoSi2Element {
             // Do nothing
         }
 
+        /**
+         * Loads the texture of this surface into the given OpenGL context if
+         * this has not been done when the surface was instantiated.
+         *
+         * @param gl OpenGL context
+         * @throws IOException if the texture could not be loaded
+         */
+        public void loadTexture(final GL2 gl) throws IOException {
+            if (textureFile != null && texture == null) {
+                texture = TextureLoader.getInstance().loadTexture(gl, textureFile);
+            }
+        }
+
         public void set(final GL2 gl) {
             set(gl, true);
         }
@@ -1568,6 +1680,25 @@ public class RoSi2Element {
      * @throws java.io.IOException on other IO errors
      */
     public static RoSi2Element parseFile(final String filename) throws RoSi2ParseException, XMLStreamException, FileNotFoundException, IOException {
+        return parseFile(filename, new ArrayList<File>());
+    }
+
+    /**
+     * Parses the given ros2 file and returns its scene element. In case no
+     * scene element exists, the &lt;Simulation&gt; root element is returned.
+     *
+     * @param filename path to the file to parse
+     * @param files collection to which the paths of the given file and all
+     * files included by it are added
+     * @return Element representing the scene
+     * @throws teamcomm.gui.drawings.RoSi2Element.RoSi2ParseException if the
+     * file could not be parsed as a ros2 file
+     * @throws javax.xml.stream.XMLStreamException if the file could not be
+     * parsed as a XML file
+     * @throws java.io.FileNotFoundException if the file could not be found
+     * @throws java.io.IOException on other IO errors
+     */
+    public static RoSi2Element parseFile(final String filename, final Collection<File> files) throws RoSi2ParseException, XMLStreamException, FileNotFoundException, IOException {
         // XML parser factory
         final XMLInputFactory factory = XMLInputFactory.newFactory();
         factory.setProperty(XMLInputFactory.IS_COALESCING, true);
@@ -1587,6 +1718,7 @@ public class RoSi2Element {
 
         // Open the given file
         inputFileStack.addFirst(new InputFileState(factory, new File(filename)));
+        files.add(inputFileStack.getFirst().path);
 
         // Create the root element
         parentStack.addFirst(new RoSi2Element(inputFileStack.getFirst().path, "Simulation", namedElements));
@@ -1607,6 +1739,7 @@ public class RoSi2Element {
                     } else if (tag.equals("Include")) {
                         // Open the included file
                         inputFileStack.addFirst(new InputFileState(factory, new File(inputFileStack.getFirst().path.getParentFile(), getXmlAttribute(e, "href", true))));
+                        files.add(inputFileStack.getFirst().path);
                     } else if (inputFileStack.getFirst().simulationTagPassed) {
                         if (tag.equals("Set")) {
                             // Set variable binding
@@ -1695,6 +1828,125 @@ public class RoSi2Element {
 
     }
 
+    /**
+     * Scanner for the numbers in the textual content of Vertices, Normals,
+     * TexCoords, Triangles and Quads elements. Numbers are separated by
+     * whitespace and comments start with a '#' and end with the line. This is
+     * a lot faster than parsing each number with a DecimalFormat, which matters
+     * for the large meshes of the robot models.
+     */
+    private static class NumberScanner {
+
+        /**
+         * Number of decimal digits which always fit into a long.
+         */
+        private static final int MAX_DIGITS = 18;
+
+        private final CharSequence str;
+        private int pos = 0;
+
+        public NumberScanner(final CharSequence str) {
+            this.str = str;
+        }
+
+        /**
+         * Skips whitespace and comments.
+         *
+         * @return whether there is another token
+         */
+        public boolean hasNext() {
+            while (pos < str.length()) {
+                final char c = str.charAt(pos);
+                if (c == '#') {
+                    do {
+                        pos++;
+                    } while (pos < str.length() && str.charAt(pos) != '\n' && str.charAt(pos) != '\r');
+                } else if (Character.isWhitespace(c)) {
+                    pos++;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns the character at the current position.
+         *
+         * @return character
+         */
+        public char peek() {
+            return str.charAt(pos);
+        }
+
+        /**
+         * Parses the number at the current position.
+         *
+         * @param integer whether only the integer part should be parsed
+         * @return the number or NaN if there is no number at the current
+         * position
+         */
+        public double next(final boolean integer) {
+            final int start = pos;
+            final boolean negative = pos < str.length() && str.charAt(pos) == '-';
+            if (negative) {
+                pos++;
+            }
+
+            // Digits beyond the precision of a long only affect the exponent
+            long mantissa = 0;
+            int exponent = 0;
+            int digits = 0;
+            while (pos < str.length() && isDigit(str.charAt(pos))) {
+                if (digits++ < MAX_DIGITS) {
+                    mantissa = mantissa * 10 + (str.charAt(pos) - '0');
+                } else {
+                    exponent++;
+                }
+                pos++;
+            }
+            if (!integer && pos < str.length() && str.charAt(pos) == '.') {
+                pos++;
+                while (pos < str.length() && isDigit(str.charAt(pos))) {
+                    if (digits++ < MAX_DIGITS) {
+                        mantissa = mantissa * 10 + (str.charAt(pos) - '0');
+                        exponent--;
+                    }
+                    pos++;
+                }
+            }
+            if (digits == 0) {
+                pos = start;
+                return Double.NaN;
+            }
+
+            // Optional exponent
+            if (!integer && pos + 1 < str.length() && (str.charAt(pos) == 'e' || str.charAt(pos) == 'E')) {
+                int p = pos + 1;
+                final boolean negativeExponent = str.charAt(p) == '-';
+                if (negativeExponent || str.charAt(p) == '+') {
+                    p++;
+                }
+                if (p < str.length() && isDigit(str.charAt(p))) {
+                    int e = 0;
+                    while (p < str.length() && isDigit(str.charAt(p))) {
+                        e = Math.min(e * 10 + (str.charAt(p) - '0'), 1000);
+                        p++;
+                    }
+                    exponent += negativeExponent ? -e : e;
+                    pos = p;
+                }
+            }
+
+            final double value = exponent >= 0 ? mantissa * Math.pow(10, exponent) : mantissa / Math.pow(10, -exponent);
+            return negative ? -value : value;
+        }
+
+        private static boolean isDigit(final char c) {
+            return c >= '0' && c <= '9';
+        }
+    }
+
     private static class InputFileState {
 
         public final XMLEventReader reader;
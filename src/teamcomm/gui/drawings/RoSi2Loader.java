@@ -6,6 +6,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.swing.JOptionPane;
@@ -25,6 +26,7 @@ public class RoSi2Loader {
 
     private static final RoSi2Loader instance = new RoSi2Loader();
     private final Map<GL2, Map<String, Map<String, Integer>>> models = new HashMap<>();
+    private final Map<GL2, Map<String, Map<String, Mesh>>> meshes = new HashMap<>();
     private final Map<GL2, Map<String, Set<String>>> modelsToLoad = new HashMap<>();
 
     private RoSi2Loader() {
@@ -131,24 +133,76 @@ public class RoSi2Loader {
             }
         }
 
-        // Determine models to load from the same file
-        Map<String, Set<String>> loadFileMap = modelsToLoad.get(gl);
-        if (loadFileMap == null) {
-            loadFileMap = new HashMap<>();
-            modelsToLoad.put(gl, loadFileMap);
+        // Load models
+        try {
+            for (final RoSi2Element e : findModels(gl, filename, modelname)) {
+                modelMap.put(e.getName(), e.instantiate(gl).createDisplayList());
+            }
+        } catch (RoSi2Element.RoSi2ParseException | XMLStreamException | IOException ex) {
+            JOptionPane.showMessageDialog(null,
+                    ex.getMessage(),
+                    "Error loading scene",
+                    JOptionPane.ERROR_MESSAGE);
+            System.exit(-1);
         }
-        Set<String> nameSet = loadFileMap.get(filename);
-        if (nameSet == null) {
-            nameSet = new HashSet<>();
-            loadFileMap.put(filename, nameSet);
+
+        return modelMap.get(modelname);
+    }
+
+    /**
+     * Loads the given model from the common scene file into a mesh of the
+     * given OpenGL context.
+     *
+     * @param gl OpenGL context
+     * @param modelname name of the model
+     * @return the mesh
+     */
+    public Mesh loadMesh(final GL2 gl, final String modelname) {
+        return loadMesh(gl, COMMON_SCENE_FILE, modelname);
+    }
+
+    /**
+     * Loads the given model from the given scene file into a mesh of the given
+     * OpenGL context.
+     *
+     * @param gl OpenGL context
+     * @param filename path to the scene file
+     * @param modelname name of the model
+     * @return the mesh
+     */
+    public Mesh loadMesh(final GL2 gl, final String filename, final String modelname) {
+        // Check if the model has already been loaded
+        Map<String, Map<String, Mesh>> fileMap = meshes.get(gl);
+        if (fileMap == null) {
+            fileMap = new HashMap<>();
+            meshes.put(gl, fileMap);
+        }
+        Map<String, Mesh> meshMap = fileMap.get(filename);
+        if (meshMap == null) {
+            meshMap = new HashMap<>();
+            fileMap.put(filename, meshMap);
+        } else {
+            final Mesh mesh = meshMap.get(modelname);
+            if (mesh != null) {
+                return mesh;
+            }
         }
-        nameSet.add(modelname);
 
         // Load models
         try {
-            for (final RoSi2Element e : RoSi2Element.parseFile(filename).findElements(nameSet)) {
-                modelMap.put(e.getName(), e.instantiate(gl).createDisplayList());
+            final Set<String> nameSet = getModelsToLoad(gl, filename, modelname);
+            Map<String, Mesh> loaded = Preloader.getInstance().takeMeshes(filename);
+            if (loaded == null || !loaded.keySet().containsAll(nameSet)) {
+                loaded = MeshCache.load(filename, nameSet);
             }
+            for (final String name : nameSet) {
+                final Mesh mesh = loaded.get(name);
+                if (mesh != null) {
+                    mesh.upload(gl);
+                    meshMap.put(name, mesh);
+                }
+            }
+            nameSet.clear();
         } catch (RoSi2Element.RoSi2ParseException | XMLStreamException | IOException ex) {
             JOptionPane.showMessageDialog(null,
                     ex.getMessage(),
@@ -156,8 +210,55 @@ public class RoSi2Loader {
                     JOptionPane.ERROR_MESSAGE);
             System.exit(-1);
         }
+
+        return meshMap.get(modelname);
+    }
+
+    /**
+     * Parses the given scene file (unless the Preloader already did) and
+     * returns the given model together with all models which were hinted to be
+     * loaded from the same file.
+     *
+     * @param gl OpenGL context
+     * @param filename path to the scene file
+     * @param modelname name of the model
+     * @return the elements of the models
+     */
+    private List<RoSi2Element> findModels(final GL2 gl, final String filename, final String modelname) throws RoSi2Element.RoSi2ParseException, XMLStreamException, IOException {
+        final Set<String> nameSet = getModelsToLoad(gl, filename, modelname);
+        RoSi2Element scene = Preloader.getInstance().takeScene(filename);
+        if (scene == null) {
+            scene = RoSi2Element.parseFile(filename);
+        }
+        final List<RoSi2Element> elements = scene.findElements(nameSet);
         nameSet.clear();
+        return elements;
+    }
 
-        return modelMap.get(modelname);
+    /**
+     * Returns the given model together with all models which were hinted to
+     * be loaded from the same file. The returned set has to be cleared once
+     * the models were loaded.
+     *
+     * @param gl OpenGL context
+     * @param filename path to the scene file
+     * @param modelname name of the model
+     * @return set of the names of the models
+     */
+    private Set<String> getModelsToLoad(final GL2 gl, final String filename, final String modelname) {
+        // Determine models to load from the same file
+        Map<String, Set<String>> loadFileMap = modelsToLoad.get(gl);
+        if (loadFileMap == null) {
+            loadFileMap = new HashMap<>();
+            modelsToLoad.put(gl, loadFileMap);
+        }
+        Set<String> nameSet = loadFileMap.get(filename);
+        if (nameSet == null) {
+            nameSet = new HashSet<>();
+            loadFileMap.put(filename, nameSet);
+        }
+        nameSet.add(modelname);
+
+        return nameSet;
     }
 }
@@ -65,6 +65,25 @@ public class TextureLoader {
 
     }
 
+    /**
+     * Class for storing the pixels of an image which was read from a file but
+     * not yet loaded into an OpenGL context.
+     */
+    static class ImageData {
+
+        final ByteBuffer buffer;
+        final boolean hasAlpha;
+        final int width;
+        final int height;
+
+        ImageData(final ByteBuffer buffer, final boolean hasAlpha, final int width, final int height) {
+            this.buffer = buffer;
+            this.hasAlpha = hasAlpha;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
     private TextureLoader() {
     }
 
@@ -99,8 +118,43 @@ public class TextureLoader {
             return tex;
         }
 
-        // Load the image
+        // Use the image if it was preloaded, otherwise load it now
+        ImageData image = Preloader.getInstance().takeImage(filename);
+        if (image == null) {
+            image = readImage(filename);
+        }
+
+        // Allocate texture
+        final IntBuffer texIds = IntBuffer.allocate(1);
+        gl.glGenTextures(1, texIds);
+        final int textureId = texIds.get(0);
+
+        // Load texture into GL
+        gl.glBindTexture(GL.GL_TEXTURE_2D, textureId);
+        gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MIN_FILTER, GL.GL_LINEAR);
+        gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MAG_FILTER, GL.GL_LINEAR);
+        gl.glTexImage2D(GL.GL_TEXTURE_2D, 0, image.hasAlpha ? GL2.GL_RGBA8 : GL2.GL_RGB8, image.width, image.height, 0, image.hasAlpha ? GL.GL_BGRA : GL2.GL_BGR, GL.GL_UNSIGNED_BYTE, image.buffer);
+        gl.glBindTexture(GL.GL_TEXTURE_2D, 0);
+        tex = new Texture(textureId, image.hasAlpha, image.width, image.height);
+        map.put(filename.getAbsolutePath(), tex);
+
+        return tex;
+    }
+
+    /**
+     * Reads the given image file and converts it into the pixel format of a
+     * texture. This does not need an OpenGL context, so it may be called from
+     * any thread.
+     *
+     * @param filename path of the image file
+     * @return pixels of the image
+     * @throws IOException if the file could not be read as an image
+     */
+    static ImageData readImage(final File filename) throws IOException {
         final BufferedImage img = ImageIO.read(filename);
+        if (img == null) {
+            throw new IOException("Unsupported image format: " + filename.getPath());
+        }
         final int[] imageData = img.getRGB(0, 0, img.getWidth(), img.getHeight(), null, 0, img.getWidth());
         final boolean hasAlpha = img.getColorModel().hasAlpha();
         final ByteBuffer buffer = ByteBuffer.allocate(imageData.length * (hasAlpha ? 4 : 3));
@@ -116,20 +170,6 @@ public class TextureLoader {
         }
         buffer.rewind();
 
-        // Allocate texture
-        final IntBuffer texIds = IntBuffer.allocate(1);
-        gl.glGenTextures(1, texIds);
-        final int textureId = texIds.get(0);
-
-        // Load texture into GL
-        gl.glBindTexture(GL.GL_TEXTURE_2D, textureId);
-        gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MIN_FILTER, GL.GL_LINEAR);
-        gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MAG_FILTER, GL.GL_LINEAR);
-        gl.glTexImage2D(GL.GL_TEXTURE_2D, 0, hasAlpha ? GL2.GL_RGBA8 : GL2.GL_RGB8, img.getWidth(), img.getHeight(), 0, hasAlpha ? GL.GL_BGRA : GL2.GL_BGR, GL.GL_UNSIGNED_BYTE, buffer);
-        gl.glBindTexture(GL.GL_TEXTURE_2D, 0);
-        tex = new Texture(textureId, hasAlpha, img.getWidth(), img.getHeight());
-        map.put(filename.getAbsolutePath(), tex);
-
-        return tex;
+        return new ImageData(buffer, hasAlpha, img.getWidth(), img.getHeight());
     }
 }
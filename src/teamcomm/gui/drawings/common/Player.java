@@ -1,6 +1,7 @@
 package teamcomm.gui.drawings.common;
 
 import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.math.FloatUtil;
 import data.GameControlData;
 import data.PlayerInfo;
 import data.Rules;
@@ -8,8 +9,8 @@ import data.SPL;
 import data.SPLStandardMessage;
 import teamcomm.data.GameState;
 import teamcomm.data.RobotState;
-import teamcomm.gui.Camera;
-import teamcomm.gui.drawings.PerPlayer;
+import teamcomm.gui.drawings.Instanced;
+import teamcomm.gui.drawings.Mesh;
 import teamcomm.gui.drawings.RoSi2Loader;
 
 /**
@@ -17,7 +18,7 @@ import teamcomm.gui.drawings.RoSi2Loader;
  *
  * @author Felix Thielke
  */
-public class Player extends PerPlayer {
+public class Player extends Instanced {
 
     private static String getModelName(final int color) {
         switch (color) {
@@ -52,28 +53,27 @@ public class Player extends PerPlayer {
     }
 
     @Override
-    public void draw(final GL2 gl, final RobotState player, final Camera camera) {
+    public Mesh getMesh(final GL2 gl, final RobotState player, final float[] transform) {
         final SPLStandardMessage msg = player.getLastMessage();
-        if (msg != null && msg.poseValid) {
-            gl.glPushMatrix();
+        if (msg == null || !msg.poseValid) {
+            return null;
+        }
 
-            if (player.getPenalty() != PlayerInfo.PENALTY_NONE && !(Rules.league instanceof SPL && player.getPenalty() == PlayerInfo.PENALTY_SPL_ILLEGAL_MOTION_IN_SET)) {
-                gl.glTranslatef(-msg.playerNum, -3.5f, 0);
-                gl.glRotatef(-90, 0, 0, 1);
-            } else {
-                gl.glTranslatef(msg.pose[0] / 1000.f, msg.pose[1] / 1000.f, 0);
-                gl.glRotatef((float) Math.toDegrees(msg.pose[2]), 0, 0, 1);
+        FloatUtil.makeIdentity(transform);
+        if (player.getPenalty() != PlayerInfo.PENALTY_NONE && !(Rules.league instanceof SPL && player.getPenalty() == PlayerInfo.PENALTY_SPL_ILLEGAL_MOTION_IN_SET)) {
+            Mesh.translate(transform, -msg.playerNum, -3.5f, 0);
+            Mesh.rotateZ(transform, -Math.PI / 2);
+        } else {
+            Mesh.translate(transform, msg.pose[0] / 1000.f, msg.pose[1] / 1000.f, 0);
+            Mesh.rotateZ(transform, msg.pose[2]);
 
-                if (msg.fallenValid && msg.fallen) {
-                    gl.glTranslatef(0, 0, 0.05f);
-                    gl.glRotatef(90, 0, 1, 0);
-                }
+            if (msg.fallenValid && msg.fallen) {
+                Mesh.translate(transform, 0, 0, 0.05f);
+                Mesh.rotateY(transform, Math.PI / 2);
             }
-
-            gl.glCallList(RoSi2Loader.getInstance().loadModel(gl, getModelName(GameState.getInstance().getTeamColor(player.getTeamNumber()))));
-
-            gl.glPopMatrix();
         }
+
+        return RoSi2Loader.getInstance().loadMesh(gl, getModelName(GameState.getInstance().getTeamColor(player.getTeamNumber())));
     }
 
     @Override
@@ -4,13 +4,15 @@ import common.Log;
 import data.GameControlData;
 import data.TrueDataRequest;
 import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
-import java.net.SocketException;
-import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Arrays;
 import java.util.EventObject;
 import javax.swing.event.EventListenerList;
 import teamcomm.data.event.GameControlDataEvent;
@@ -20,6 +22,13 @@ import teamcomm.data.event.GameControlDataTimeoutEvent;
 /**
  * Class for the thread which receives messages from the GameController.
  *
+ * The packets are received through a non-blocking channel into a buffer that
+ * is reused and decoded into a GameControlData instance that is reused as
+ * long as it is not sent to the listeners. Listeners are only sent a packet if
+ * its content (except for the packet number) differs from the one sent to
+ * them before. The instance is then handed over to them and never modified
+ * afterwards, so they may keep it and read it from other threads.
+ *
  * @author Felix Thielke
  */
 public class GameControlDataReceiver extends Thread {
@@ -28,20 +37,64 @@ public class GameControlDataReceiver extends Thread {
 
     private static final int REQUEST_TRUE_DATA_AFTER = 1000;
 
-    private final DatagramSocket datagramSocket;
+    /**
+     * Interval in which the request for true data is repeated while true data
+     * is received, because the GameController forgets about receivers that do
+     * not renew their request (see TrueDataSender.LEASE_DURATION).
+     */
+    private static final int RENEW_TRUE_DATA_REQUEST_AFTER = 3000;
+
+    /**
+     * Offset of the packet number in a packet, which is ignored when deciding
+     * whether the content changed.
+     */
+    private static final int PACKET_NUMBER_OFFSET = 5;
+
+    private final DatagramChannel channel;
+
+    private final Selector selector;
+
+    /**
+     * Channel through which true data is requested. It is only opened if true
+     * data should be requested.
+     */
+    private final DatagramChannel requestChannel;
+
+    private final ByteBuffer request;
+
+    /** Address to which true data is requested, i.e. the last GameController. */
+    private InetSocketAddress requestAddress;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(GameControlData.SIZE);
+
+    /** Content of the packet that was sent to the listeners last. */
+    private final byte[] publishedPacket = new byte[GameControlData.SIZE];
+
+    /** The instance into which the next packet is decoded. */
+    private GameControlData decoded = new GameControlData();
+
+    /**
+     * Whether the next packet is sent to the listeners regardless of its
+     * content, because nothing was sent since the last timeout.
+     */
+    private boolean forcePublish = true;
 
     private final EventListenerList listeners = new EventListenerList();
 
     private final boolean tryToGetTrueData;
 
+    private long timestampOfLastGameControlData = 0;
+
     private long timestampOfLastTrueGameControlData = 0;
 
+    private long timestampOfLastTrueDataRequest = 0;
+
     /**
      * Constructor.
      *
-     * @throws SocketException if the socket cannot be bound
+     * @throws IOException if the socket cannot be bound
      */
-    public GameControlDataReceiver() throws SocketException {
+    public GameControlDataReceiver() throws IOException {
         this(false);
     }
 
@@ -50,16 +103,31 @@ public class GameControlDataReceiver extends Thread {
      *
      * @param tryToGetTrueData set to true to request true game state data from
      * the GameController
-     * @throws SocketException if the socket cannot be bound
+     * @throws IOException if the socket cannot be bound
      */
-    public GameControlDataReceiver(final boolean tryToGetTrueData) throws SocketException {
+    public GameControlDataReceiver(final boolean tryToGetTrueData) throws IOException {
         setName("GameControlDataReceiver");
         this.tryToGetTrueData = tryToGetTrueData;
 
-        datagramSocket = new DatagramSocket(null);
-        datagramSocket.setReuseAddress(true);
-        datagramSocket.setSoTimeout(GAMECONTROLLER_TIMEOUT);
-        datagramSocket.bind(new InetSocketAddress(GameControlData.GAMECONTROLLER_GAMEDATA_PORT));
+        channel = DatagramChannel.open(StandardProtocolFamily.INET);
+        try {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            channel.bind(new InetSocketAddress(GameControlData.GAMECONTROLLER_GAMEDATA_PORT));
+            selector = Selector.open();
+            channel.register(selector, SelectionKey.OP_READ);
+            if (tryToGetTrueData) {
+                requestChannel = DatagramChannel.open(StandardProtocolFamily.INET);
+                requestChannel.configureBlocking(false);
+                request = ByteBuffer.wrap(TrueDataRequest.createRequest().toByteArray());
+            } else {
+                requestChannel = null;
+                request = null;
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
     }
 
     public void addListener(final GameControlDataEventListener listener) {
@@ -87,46 +155,97 @@ public class GameControlDataReceiver extends Thread {
      * @throws IOException if an error occurred while sending
      */
     private void requestTrueData(final InetAddress gameControllerAddress) throws IOException {
-        final byte[] request = TrueDataRequest.createRequest().toByteArray();
-        final DatagramSocket ds = new DatagramSocket();
-        ds.send(new DatagramPacket(request, request.length, gameControllerAddress, TrueDataRequest.GAMECONTROLLER_TRUEDATAREQUEST_PORT));
-        ds.close();
+        if (requestAddress == null || !requestAddress.getAddress().equals(gameControllerAddress)) {
+            requestAddress = new InetSocketAddress(gameControllerAddress, TrueDataRequest.GAMECONTROLLER_TRUEDATAREQUEST_PORT);
+        }
+        request.rewind();
+        requestChannel.send(request, requestAddress);
+    }
+
+    /**
+     * Returns whether the received packet differs from the one that was sent
+     * to the listeners last.
+     *
+     * @return whether the content changed
+     */
+    private boolean packetChanged() {
+        if (forcePublish) {
+            return true;
+        }
+        final byte[] packet = buffer.array();
+        for (int i = 0; i < packet.length; i++) {
+            if (packet[i] != publishedPacket[i] && i != PACKET_NUMBER_OFFSET) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     public void run() {
         while (!isInterrupted()) {
             try {
-                final ByteBuffer buffer = ByteBuffer.wrap(new byte[GameControlData.SIZE]);
-                final DatagramPacket packet = new DatagramPacket(buffer.array(), buffer.array().length);
-                datagramSocket.receive(packet);
+                if (selector.select(GAMECONTROLLER_TIMEOUT) == 0) {
+                    if (System.currentTimeMillis() - timestampOfLastGameControlData >= GAMECONTROLLER_TIMEOUT) {
+                        timestampOfLastGameControlData = System.currentTimeMillis();
+                        forcePublish = true;
+                        fireEvent(new GameControlDataTimeoutEvent(this));
+                    }
+                    continue;
+                }
+                selector.selectedKeys().clear();
 
+                buffer.clear();
+                final InetSocketAddress address = (InetSocketAddress) channel.receive(buffer);
+                if (address == null) {
+                    continue;
+                }
+                // Shorter packets are padded with zeros
+                Arrays.fill(buffer.array(), buffer.position(), buffer.capacity(), (byte) 0);
                 buffer.rewind();
-                final GameControlData data = new GameControlData();
+
+                timestampOfLastGameControlData = System.currentTimeMillis();
+                final GameControlData data = decoded;
                 if (data.fromByteArray(buffer)) {
-                    if (tryToGetTrueData == data.isTrueData || (tryToGetTrueData && System.currentTimeMillis() - timestampOfLastTrueGameControlData > 2 * REQUEST_TRUE_DATA_AFTER)) {
+                    if ((tryToGetTrueData == data.isTrueData || (tryToGetTrueData && System.currentTimeMillis() - timestampOfLastTrueGameControlData > 2 * REQUEST_TRUE_DATA_AFTER))
+                            && packetChanged()) {
+                        System.arraycopy(buffer.array(), 0, publishedPacket, 0, publishedPacket.length);
+                        forcePublish = false;
+                        decoded = new GameControlData();
                         fireEvent(new GameControlDataEvent(this, data));
                     }
 
                     if (tryToGetTrueData) {
+                        final long now = System.currentTimeMillis();
                         if (data.isTrueData) {
-                            timestampOfLastTrueGameControlData = System.currentTimeMillis();
-                        } else if (System.currentTimeMillis() - timestampOfLastTrueGameControlData >= REQUEST_TRUE_DATA_AFTER) {
+                            timestampOfLastTrueGameControlData = now;
+                        }
+                        if (data.isTrueData
+                                ? now - timestampOfLastTrueDataRequest >= RENEW_TRUE_DATA_REQUEST_AFTER
+                                : now - timestampOfLastTrueGameControlData >= REQUEST_TRUE_DATA_AFTER) {
+                            timestampOfLastTrueDataRequest = now;
                             try {
-                                requestTrueData(packet.getAddress());
+                                requestTrueData(address.getAddress());
                             } catch (IOException e) {
                                 Log.error("something went wrong trying to request true game data : " + e.getMessage());
                             }
                         }
                     }
                 }
-            } catch (SocketTimeoutException e) {
-                fireEvent(new GameControlDataTimeoutEvent(this));
             } catch (IOException e) {
-                Log.error("something went wrong while receiving the game controller packages : " + e.getMessage());
+                if (!isInterrupted()) {
+                    Log.error("something went wrong while receiving the game controller packages : " + e.getMessage());
+                }
             }
         }
 
-        datagramSocket.close();
+        try {
+            selector.close();
+            channel.close();
+            if (requestChannel != null) {
+                requestChannel.close();
+            }
+        } catch (IOException e) {
+        }
     }
 }
@@ -8,6 +8,7 @@ import java.net.InetAddress;
 import java.nio.ByteBuffer;
 import javax.swing.JOptionPane;
 import teamcomm.data.GameState;
+import teamcomm.net.logging.Capture;
 import teamcomm.net.logging.LogReplayer;
 
 /**
@@ -51,13 +52,20 @@ public class GameControlReturnDataReceiverTCM extends GameControlReturnDataRecei
 
     @Override
     protected void handleMessage(final GameControlReturnDataPackage p) {
+        // When capturing, the package was logged and only needs to be counted
+        final Capture capture = Capture.getInstance();
+        if (capture != null) {
+            capture.returnDataReceived();
+            return;
+        }
+
         final GameControlReturnData message = new GameControlReturnData();
         message.fromByteArray(ByteBuffer.wrap(p.message));
         if (!(message.headerValid && message.versionValid && message.playerNumValid && message.teamNumValid)) {
             return;
         }
 
-        GameState.getInstance().receiveMessage(p.host, message);
+        GameState.getInstance().receiveMessage(p.address, message);
     }
 
 }
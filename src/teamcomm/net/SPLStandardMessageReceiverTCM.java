@@ -3,7 +3,11 @@ package teamcomm.net;
 import common.Log;
 import common.net.SPLStandardMessagePackage;
 import common.net.SPLStandardMessageReceiver;
+import common.profiling.DecodeEvent;
+import common.profiling.PluginEvent;
+import common.profiling.Profiling;
 import data.SPLStandardMessage;
+import data.SPLStandardMessageView;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.ByteBuffer;
@@ -11,6 +15,7 @@ import javax.swing.JOptionPane;
 import teamcomm.PluginLoader;
 import teamcomm.data.AdvancedMessage;
 import teamcomm.data.GameState;
+import teamcomm.net.logging.Capture;
 import teamcomm.net.logging.LogReplayer;
 
 /**
@@ -64,12 +69,25 @@ public class SPLStandardMessageReceiverTCM extends SPLStandardMessageReceiver {
 
     @Override
     protected void handleMessage(final SPLStandardMessagePackage p) {
+        // When capturing, the package was logged and only needs to be counted
+        final Capture capture = Capture.getInstance();
+        if (capture != null) {
+            capture.messageReceived(p.team);
+            return;
+        }
+
         final SPLStandardMessage message;
-        final Class<? extends SPLStandardMessage> c = PluginLoader.getInstance().getMessageClass(p.team);
+        final DecodeEvent decodeEvent = Profiling.ENABLED ? new DecodeEvent() : null;
+        // The received array is not reused, so messages can keep a view of it
+        final SPLStandardMessageView view = new SPLStandardMessageView().wrap(ByteBuffer.wrap(p.message));
+        // Plugins can only interpret valid messages, so others are decoded as plain SPLStandardMessages
+        final Class<? extends SPLStandardMessage> c = view.isValid() && view.getTeamNum() == p.team
+                ? PluginLoader.getInstance().getMessageClass(p.team) : SPLStandardMessage.class;
 
         try {
             message = c.getDeclaredConstructor().newInstance();
-            message.fromByteArray(ByteBuffer.wrap(p.message));
+            // Only plugins need a copy of the custom data
+            message.fromView(view, !(message instanceof AdvancedMessage));
             if (message.teamNumValid && message.teamNum != p.team) {
                 message.teamNumValid = false;
                 message.valid = false;
@@ -77,19 +95,25 @@ public class SPLStandardMessageReceiverTCM extends SPLStandardMessageReceiver {
 
             SPLStandardMessage m = message;
             if (message instanceof AdvancedMessage) {
-                if (message.valid) {
-                    try {
-                        ((AdvancedMessage) message).init();
-                    } catch (final Throwable e) {
-                        m = SPLStandardMessage.createFrom(message);
-                        Log.error(e.getClass().getSimpleName() + " was thrown while initializing custom message class " + c.getSimpleName() + ": " + e.getMessage());
+                final PluginEvent initEvent = Profiling.ENABLED ? new PluginEvent("init") : null;
+                try {
+                    ((AdvancedMessage) message).init();
+                    if (initEvent != null) {
+                        initEvent.pluginClass = c.getName();
+                        initEvent.commit();
                     }
-                } else {
+                } catch (final Throwable e) {
                     m = SPLStandardMessage.createFrom(message);
+                    Log.error(e.getClass().getSimpleName() + " was thrown while initializing custom message class " + c.getSimpleName() + ": " + e.getMessage());
                 }
             }
+            if (decodeEvent != null) {
+                decodeEvent.messageClass = m.getClass().getName();
+                decodeEvent.team = p.team;
+                decodeEvent.commit();
+            }
 
-            GameState.getInstance().receiveMessage(p.host, p.team, m);
+            GameState.getInstance().receiveMessage(p.address, p.team, m);
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException ex) {
             Log.error("a problem occured while instantiating custom message class " + c.getSimpleName() + ": " + ex.getMessage());
         }
@@ -0,0 +1,185 @@
+package teamcomm.net.logging;
+
+import common.ApplicationLock;
+import common.net.logging.Logger;
+import data.GameControlData;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import teamcomm.data.event.GameControlDataEvent;
+import teamcomm.data.event.GameControlDataEventListener;
+import teamcomm.data.event.GameControlDataTimeoutEvent;
+
+/**
+ * Singleton class for capturing all packets to the log files without
+ * interpreting them, which is used in silent mode. The receivers only log the
+ * raw packages and count them here, so neither the messages are decoded nor
+ * the GameState is updated. The numbers of packets received are printed
+ * periodically.
+ */
+public class Capture implements GameControlDataEventListener {
+
+    /**
+     * Interval in seconds in which the numbers of packets are printed.
+     */
+    private static final long REPORT_INTERVAL = 10;
+
+    /**
+     * Number of team numbers for which packets are counted.
+     */
+    private static final int MAX_TEAMS = 256;
+
+    private static volatile Capture instance;
+
+    private final AtomicLongArray messages = new AtomicLongArray(MAX_TEAMS);
+    private final AtomicLong returnData = new AtomicLong();
+    private final AtomicLong gameControlData = new AtomicLong();
+
+    private final long[] reportedMessages = new long[MAX_TEAMS];
+    private long reportedReturnData = 0;
+    private long reportedGameControlData = 0;
+    private long reportTimestamp = System.currentTimeMillis();
+
+    private GameControlData lastGameControlData;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "Capture");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private Capture() {
+        scheduler.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                checkForGameController();
+                report();
+            }
+        }, REPORT_INTERVAL, REPORT_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Starts capturing. From then on, the receivers only log and count the
+     * packets.
+     *
+     * @return the instance
+     */
+    public static synchronized Capture start() {
+        if (instance == null) {
+            instance = new Capture();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns whether packets are being captured.
+     *
+     * @return boolean
+     */
+    public static boolean isActive() {
+        return instance != null;
+    }
+
+    /**
+     * Returns the instance if packets are being captured.
+     *
+     * @return instance or null
+     */
+    public static Capture getInstance() {
+        return instance;
+    }
+
+    /**
+     * Stops printing the numbers of packets and prints them a last time. To
+     * be called before the program exits.
+     */
+    public synchronized void shutdown() {
+        if (!scheduler.isShutdown()) {
+            scheduler.shutdownNow();
+            report();
+        }
+    }
+
+    /**
+     * Counts a message received on the port of the given team.
+     *
+     * @param team team number
+     */
+    public void messageReceived(final int team) {
+        if (team >= 0 && team < MAX_TEAMS) {
+            messages.incrementAndGet(team);
+        }
+    }
+
+    /**
+     * Counts a GameController return message.
+     */
+    public void returnDataReceived() {
+        returnData.incrementAndGet();
+    }
+
+    @Override
+    public void gameControlDataChanged(final GameControlDataEvent e) {
+        gameControlData.incrementAndGet();
+        LogRotation.update(e.data, lastGameControlData);
+        lastGameControlData = e.data;
+        Logger.getInstance().log(e.data);
+    }
+
+    @Override
+    public void gameControlDataTimeout(final GameControlDataTimeoutEvent e) {
+        if (lastGameControlData != null) {
+            Logger.getInstance().createLogfile();
+        }
+        lastGameControlData = null;
+    }
+
+    private void checkForGameController() {
+        try {
+            final ApplicationLock lock = new ApplicationLock("GameController");
+            if (!lock.acquire()) {
+                // Do not log messages if a GameController is running on the same system
+                Logger.getInstance().disableLogging();
+            } else {
+                Logger.getInstance().enableLogging();
+                lock.release();
+            }
+        } catch (IOException e) {
+        }
+    }
+
+    private synchronized void report() {
+        final long now = System.currentTimeMillis();
+        final StringBuilder sb = new StringBuilder(new SimpleDateFormat("HH:mm:ss").format(new Date(now)));
+        sb.append(" packets in the last ").append((now - reportTimestamp + 500) / 1000).append(" s: messages:");
+        reportTimestamp = now;
+        boolean any = false;
+        for (int team = 0; team < MAX_TEAMS; team++) {
+            final long count = messages.get(team);
+            if (count != reportedMessages[team]) {
+                sb.append(" team ").append(team).append('=').append(count - reportedMessages[team]);
+                reportedMessages[team] = count;
+                any = true;
+            }
+        }
+        if (!any) {
+            sb.append(" none");
+        }
+        final long returnDataCount = returnData.get();
+        final long gameControlDataCount = gameControlData.get();
+        sb.append(", return data: ").append(returnDataCount - reportedReturnData);
+        sb.append(", GameController: ").append(gameControlDataCount - reportedGameControlData);
+        reportedReturnData = returnDataCount;
+        reportedGameControlData = gameControlDataCount;
+        System.out.println(sb);
+    }
+}
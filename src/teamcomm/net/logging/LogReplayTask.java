@@ -142,7 +142,7 @@ class LogReplayTask implements Runnable {
         return false;
     }
 
-    private boolean next() {
+    boolean next() {
         LoggedObject obj = nextObjects.pollFirst();
         if (obj == null && stream != null) {
             try {
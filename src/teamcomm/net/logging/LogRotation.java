@@ -0,0 +1,55 @@
+package teamcomm.net.logging;
+
+import common.net.logging.Logger;
+import data.GameControlData;
+import data.Rules;
+import data.Teams;
+
+/**
+ * Opens a new log file for each game and half based on the messages of the
+ * GameController.
+ */
+public class LogRotation {
+
+    private LogRotation() {
+    }
+
+    /**
+     * Opens a new log file for the current GameController state if the state
+     * changed from or to initial/finished.
+     *
+     * @param data the message just received from the GameController
+     * @param previous the message received before (null if there was none)
+     */
+    public static void update(final GameControlData data, final GameControlData previous) {
+        final StringBuilder logfileName = new StringBuilder();
+        if (Rules.league.competitionType == GameControlData.COMPETITION_TYPE_7V7) {
+            logfileName.append("7v7_");
+        }
+        if (data.firstHalf == GameControlData.C_TRUE) {
+            logfileName.append(getTeamName(data.team[0].teamNumber)).append("_").append(getTeamName(data.team[1].teamNumber));
+        } else {
+            logfileName.append(getTeamName(data.team[1].teamNumber)).append("_").append(getTeamName(data.team[0].teamNumber));
+        }
+        if (!Rules.league.startWithPenalty) {
+            logfileName.append(data.firstHalf == GameControlData.C_TRUE ? "_1st" : "_2nd").append("Half");
+        }
+        if (data.gameState == GameControlData.STATE_READY && (previous == null || previous.gameState == GameControlData.STATE_INITIAL)) {
+            Logger.getInstance().createLogfile(logfileName.toString());
+        } else if (data.gameState == GameControlData.STATE_INITIAL && (previous == null || previous.gameState != GameControlData.STATE_INITIAL)) {
+            Logger.getInstance().createLogfile(logfileName.append("_initial").toString());
+        } else if (data.gameState == GameControlData.STATE_FINISHED && (previous == null || previous.gameState != GameControlData.STATE_FINISHED)) {
+            Logger.getInstance().createLogfile(logfileName.append("_finished").toString());
+        }
+    }
+
+    private static String getTeamName(final int teamNumber) {
+        final String[] teamNames;
+        try {
+            teamNames = Teams.getNames(false);
+        } catch (final NullPointerException | ArrayIndexOutOfBoundsException e) {
+            return null;
+        }
+        return teamNumber < teamNames.length && teamNames[teamNumber] != null ? teamNames[teamNumber] : "Unknown";
+    }
+}
@@ -1,7 +1,7 @@
 package tester;
 
 import common.Log;
-import java.net.SocketException;
+import java.io.IOException;
 import teamcomm.net.GameControlDataReceiver;
 
 /**
@@ -24,7 +24,7 @@ public class GameControllerTester {
         GameControlDataReceiver receiver = null;
         try {
             receiver = new GameControlDataReceiver();
-        } catch (SocketException ex) {
+        } catch (IOException ex) {
             Log.error("Could not setup receiver!");
             System.exit(-1);
         }